@@ -0,0 +1,38 @@
+package com.enfint.application.benchmark;
+
+import com.enfint.application.offer.BigDecimalAnnuity;
+import com.enfint.application.offer.FixedPointAnnuity;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One monthly payment in fixed point against the {@code BigDecimal} reference deal uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnnuityBenchmark {
+
+    @Param({"12", "120", "360"})
+    public int term;
+
+    private final FixedPointAnnuity fixedPoint = new FixedPointAnnuity(1_650);
+    private final BigDecimal rate = BigDecimal.valueOf(1_650, 2);
+    private final BigDecimal amount = BigDecimal.valueOf(123_456_78, 2);
+    private final long amountCents = 123_456_78;
+
+    @Benchmark
+    public long fixedPoint() {
+        return fixedPoint.monthlyPaymentCents(amountCents, term);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        return BigDecimalAnnuity.monthlyPayment(amount, rate, term);
+    }
+}
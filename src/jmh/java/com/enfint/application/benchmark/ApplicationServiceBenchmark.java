@@ -0,0 +1,74 @@
+package com.enfint.application.benchmark;
+
+import com.enfint.application.cache.OfferCache;
+import com.enfint.application.cache.OfferCacheProperties;
+import com.enfint.application.config.TaskExecutors;
+import com.enfint.application.config.VirtualThreadProperties;
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.duplicate.DuplicateApplicationIndex;
+import com.enfint.application.duplicate.DuplicateIndexProperties;
+import com.enfint.application.idempotency.IdempotencyProperties;
+import com.enfint.application.idempotency.IdempotencyStore;
+import com.enfint.application.fiegnClient.DealClient;
+import com.enfint.application.fiegnClient.DealClientProperties;
+import com.enfint.application.fiegnClient.OffloadingDealClient;
+import com.enfint.application.exception.PreScoringFailedException;
+import com.enfint.application.service.ApplicationService;
+import com.enfint.application.validation.PreScoringResult;
+import com.enfint.application.validation.PreScoringValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationServiceBenchmark {
+
+    @Param({"VALID", "INVALID_EARLY", "INVALID_LATE"})
+    private RequestShape shape;
+
+    private ApplicationService applicationService;
+    private LoanApplicationRequestDTO request;
+    private PreScoringResult result;
+
+    @Setup
+    public void setUp() {
+        OfferCacheProperties cacheProperties = new OfferCacheProperties();
+        cacheProperties.setEnabled(false);
+        DuplicateIndexProperties duplicateProperties = new DuplicateIndexProperties();
+        duplicateProperties.setMode(DuplicateIndexProperties.Mode.OFF);
+        DealClient dealClient = BenchmarkData.stubDealClient(BenchmarkData.offers());
+        OffloadingDealClient offloadingDealClient = new OffloadingDealClient(dealClient, new DealClientProperties(),
+                new TaskExecutors(new VirtualThreadProperties()));
+        applicationService = new ApplicationService(dealClient, offloadingDealClient,
+                new PreScoringValidator(), new OfferCache(cacheProperties),
+                new DuplicateApplicationIndex(duplicateProperties),
+                new IdempotencyStore(new IdempotencyProperties()), Optional.empty(), Optional.empty(),
+                new SimpleMeterRegistry());
+        request = BenchmarkData.request(shape);
+        result = new PreScoringResult();
+    }
+
+    @Benchmark
+    public Object getLoanOfferDTOList() {
+        try {
+            return applicationService.getLoanOfferDTOList(request);
+        } catch (PreScoringFailedException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object preScoreThenRequestOffers() {
+        if (!applicationService.preScore(request, result).isAccepted()) {
+            return result;
+        }
+        return applicationService.requestLoanOffers(request);
+    }
+}
@@ -0,0 +1,71 @@
+package com.enfint.application.benchmark;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.fiegnClient.DealClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static LoanApplicationRequestDTO request(RequestShape shape) {
+        LoanApplicationRequestDTO request = LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .middleName("Tumi")
+                .email("boitumelotshehla@gmail.com")
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+        switch (shape) {
+            case INVALID_EARLY -> request.setAmount(BigDecimal.valueOf(9_999));
+            case INVALID_LATE -> request.setPassportSeries("42a5");
+            default -> {
+            }
+        }
+        return request;
+    }
+
+    static List<LoanOfferDTO> offers() {
+        return List.of(
+                offer("11132.70", "1113.27", "24", false, false),
+                offer("10747.90", "1074.79", "16", false, true),
+                offer("10652.90", "1065.29", "14", true, false),
+                offer("10277.10", "1027.71", "6", true, true));
+    }
+
+    static DealClient stubDealClient(List<LoanOfferDTO> offers) {
+        return new DealClient() {
+            @Override
+            public List<LoanOfferDTO> getLoanOffers(LoanApplicationRequestDTO loanApplicationRequest) {
+                return offers;
+            }
+
+            @Override
+            public void updateApplication(LoanOfferDTO loanOffer) {
+            }
+        };
+    }
+
+    private static LoanOfferDTO offer(String totalAmount, String monthlyPayment, String rate,
+                                      boolean isInsuranceEnabled, boolean isSalaryClient) {
+        return LoanOfferDTO.builder()
+                .applicationId(1L)
+                .requestedAmount(BigDecimal.valueOf(10_000))
+                .totalAmount(new BigDecimal(totalAmount))
+                .term(10)
+                .monthlyPayment(new BigDecimal(monthlyPayment))
+                .rate(new BigDecimal(rate))
+                .isInsuranceEnabled(isInsuranceEnabled)
+                .isSalaryClient(isSalaryClient)
+                .build();
+    }
+}
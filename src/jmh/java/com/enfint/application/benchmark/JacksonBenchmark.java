@@ -0,0 +1,67 @@
+package com.enfint.application.benchmark;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonBenchmark {
+
+    private ObjectWriter requestWriter;
+    private ObjectReader requestReader;
+    private ObjectWriter offersWriter;
+    private ObjectReader offersReader;
+    private LoanApplicationRequestDTO request;
+    private List<LoanOfferDTO> offers;
+    private byte[] requestJson;
+    private byte[] offersJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        TypeReference<List<LoanOfferDTO>> offersType = new TypeReference<>() {
+        };
+        requestWriter = mapper.writerFor(LoanApplicationRequestDTO.class);
+        requestReader = mapper.readerFor(LoanApplicationRequestDTO.class);
+        offersWriter = mapper.writerFor(offersType);
+        offersReader = mapper.readerFor(offersType);
+        request = BenchmarkData.request(RequestShape.VALID);
+        offers = BenchmarkData.offers();
+        requestJson = requestWriter.writeValueAsBytes(request);
+        offersJson = offersWriter.writeValueAsBytes(offers);
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws IOException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public LoanApplicationRequestDTO deserializeRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] serializeOffers() throws IOException {
+        return offersWriter.writeValueAsBytes(offers);
+    }
+
+    @Benchmark
+    public List<LoanOfferDTO> deserializeOffers() throws IOException {
+        return offersReader.readValue(offersJson);
+    }
+}
@@ -0,0 +1,62 @@
+package com.enfint.application.benchmark;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.validation.HardCodedPreScoringRules;
+import com.enfint.application.validation.PreScoringObserver;
+import com.enfint.application.validation.PreScoringProperties;
+import com.enfint.application.validation.PreScoringResult;
+import com.enfint.application.validation.PreScoringRuleSets;
+import com.enfint.application.validation.PreScoringValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hard-coded rule methods called in sequence against the same rules compiled from configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreScoringPipelineBenchmark {
+
+    @Param({"VALID", "INVALID_EARLY", "INVALID_LATE"})
+    private RequestShape shape;
+
+    private HardCodedPreScoringRules hardCoded;
+    private PreScoringValidator standard;
+    private PreScoringValidator failFast;
+    private LoanApplicationRequestDTO request;
+    private PreScoringResult result;
+
+    @Setup
+    public void setUp() {
+        hardCoded = new HardCodedPreScoringRules();
+        standard = new PreScoringValidator();
+        PreScoringProperties.RuleSet ruleSet = PreScoringRuleSets.standard();
+        ruleSet.setMode(PreScoringProperties.Mode.FAIL_FAST);
+        PreScoringProperties properties = new PreScoringProperties();
+        properties.setRuleSets(Map.of(PreScoringRuleSets.STANDARD, ruleSet));
+        failFast = new PreScoringValidator(PreScoringObserver.NONE, properties);
+        request = BenchmarkData.request(shape);
+        result = new PreScoringResult();
+    }
+
+    @Benchmark
+    public PreScoringResult hardCodedRules() {
+        return hardCoded.validate(request, result.clear());
+    }
+
+    @Benchmark
+    public PreScoringResult standardRuleSet() {
+        return standard.validate(request, result);
+    }
+
+    @Benchmark
+    public PreScoringResult failFastRuleSet() {
+        return failFast.validate(request, result);
+    }
+}
@@ -0,0 +1,54 @@
+package com.enfint.application.benchmark;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.validation.PreScoringField;
+import com.enfint.application.validation.PreScoringObserver;
+import com.enfint.application.validation.PreScoringPipeline;
+import com.enfint.application.validation.PreScoringProperties;
+import com.enfint.application.validation.PreScoringResult;
+import com.enfint.application.validation.PreScoringRuleSets;
+import com.enfint.application.validation.PreScoringValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of each rule of {@link PreScoringRuleSets#standard()} on its own, compiled the way production runs it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreScoringValidatorBenchmark {
+
+    @Param({"AMOUNT", "BIRTHDATE", "FIRST_NAME", "LAST_NAME", "MIDDLE_NAME", "EMAIL", "TERM", "PASSPORT_NUMBER",
+            "PASSPORT_SERIES"})
+    private PreScoringField field;
+
+    private PreScoringValidator validator;
+    private PreScoringPipeline rule;
+    private LoanApplicationRequestDTO request;
+    private PreScoringResult result;
+
+    @Setup
+    public void setUp() {
+        PreScoringProperties.RuleSet ruleSet = PreScoringRuleSets.standard();
+        ruleSet.setRules(ruleSet.getRules().stream().filter(rule -> rule.getField() == field)
+                .collect(Collectors.toList()));
+        PreScoringProperties properties = new PreScoringProperties();
+        properties.setRuleSets(Map.of(PreScoringRuleSets.STANDARD, ruleSet));
+        validator = new PreScoringValidator(PreScoringObserver.NONE, properties);
+        rule = validator.select();
+        request = BenchmarkData.request(RequestShape.VALID);
+        result = new PreScoringResult();
+    }
+
+    @Benchmark
+    public PreScoringResult rule() {
+        return validator.validate(request, result, rule);
+    }
+}
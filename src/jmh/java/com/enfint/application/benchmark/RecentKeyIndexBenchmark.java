@@ -0,0 +1,46 @@
+package com.enfint.application.benchmark;
+
+import com.enfint.application.duplicate.RecentKeyIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup cost of a duplicate index preloaded to its configured size; memory footprint is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class RecentKeyIndexBenchmark {
+
+    @Param({"1000000", "4000000"})
+    public int entries;
+
+    private RecentKeyIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new RecentKeyIndex(entries, 64, Duration.ofHours(1));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < entries; i++) {
+            index.checkAndRecord(random.nextLong(10_000_000_000L));
+        }
+        System.out.printf("%n%d entries: %d occupied, %d MB, %d overflows%n",
+                entries, index.occupied(), index.footprintBytes() >> 20, index.overflows());
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public boolean checkAndRecord(Keys keys) {
+        return index.checkAndRecord(keys.random.nextLong(10_000_000_000L));
+    }
+}
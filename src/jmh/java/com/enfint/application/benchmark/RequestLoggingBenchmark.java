@@ -0,0 +1,133 @@
+package com.enfint.application.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.logging.LogViews;
+import com.enfint.application.logging.RequestSamplingFilter;
+import com.enfint.application.logging.SampledLogFilter;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request logging cost of one loan-offers request: the original fifteen synchronous INFO lines with the
+ * full Lombok {@code toString()}, against the async pipeline with masked views and validator detail at DEBUG,
+ * sampled and unsampled. Both write through a real pattern encoder into a discarding stream.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLoggingBenchmark {
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} %5level --- [%thread] %-40.40logger{39} : %msg%n";
+
+    private LoggerContext legacyContext;
+    private LoggerContext pipelineContext;
+    private Logger legacy;
+    private Logger pipeline;
+    private LoanApplicationRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        request = BenchmarkData.request(RequestShape.VALID);
+
+        legacyContext = new LoggerContext();
+        legacyContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        legacy = legacyContext.getLogger("com.enfint.application.controller.ApplicationController");
+        legacy.addAppender(discarding(legacyContext));
+
+        pipelineContext = new LoggerContext();
+        pipelineContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        pipelineContext.addTurboFilter(new SampledLogFilter());
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(pipelineContext);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(true);
+        async.addAppender(discarding(pipelineContext));
+        async.start();
+        pipeline = pipelineContext.getLogger("com.enfint.application.controller.ApplicationController");
+        pipeline.addAppender(async);
+    }
+
+    @TearDown
+    public void tearDown() {
+        legacyContext.stop();
+        pipelineContext.stop();
+        MDC.clear();
+    }
+
+    @Benchmark
+    public void legacySynchronous() {
+        legacy.info("******************** Getting Loan Offers ********************");
+        legacy.info("applicationRequest {} ", request);
+        legacy.info("************ Validating data ***************");
+        legacy.info("Validating loan Amount...");
+        legacy.info("Valid amount passed!");
+        legacy.info("Validating age...");
+        legacy.info("Valid age passed!");
+        legacy.info("Validating name...{}", request.getFirstName());
+        legacy.info("Valid name passed!");
+        legacy.info("Validating name...{}", request.getLastName());
+        legacy.info("Valid name passed!");
+        legacy.info("Validating email...");
+        legacy.info("Valid email passed!");
+        legacy.info("Validating passport Number...");
+        legacy.info("******************** post request to deal ********************");
+    }
+
+    @Benchmark
+    public void pipelineSampled() {
+        MDC.put(RequestSamplingFilter.SAMPLED, "true");
+        logPipeline();
+    }
+
+    @Benchmark
+    public void pipelineUnsampled() {
+        MDC.put(RequestSamplingFilter.SAMPLED, "false");
+        logPipeline();
+    }
+
+    private void logPipeline() {
+        pipeline.info("******************** Getting Loan Offers ********************");
+        pipeline.info("applicationRequest {} ", LogViews.of(request));
+        pipeline.info("************ Validating data ***************");
+        pipeline.debug("Validating loan Amount...");
+        pipeline.debug("Valid amount passed!");
+        pipeline.debug("Validating age...");
+        pipeline.debug("Valid age passed!");
+        pipeline.debug("Validating name...");
+        pipeline.debug("Valid name passed!");
+        pipeline.debug("Validating name...");
+        pipeline.debug("Valid name passed!");
+        pipeline.debug("Validating email...");
+        pipeline.debug("Valid email passed!");
+        pipeline.debug("Validating passport Number...");
+        pipeline.info("******************** post request to deal ********************");
+    }
+
+    private static Appender<ILoggingEvent> discarding(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
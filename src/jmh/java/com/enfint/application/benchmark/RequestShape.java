@@ -0,0 +1,7 @@
+package com.enfint.application.benchmark;
+
+public enum RequestShape {
+    VALID,
+    INVALID_EARLY,
+    INVALID_LATE
+}
@@ -0,0 +1,73 @@
+package com.enfint.application.benchmark;
+
+import com.enfint.application.ratelimit.TokenBuckets;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit acquire cost under contention, against a single-lock map of buckets. Run with {@code -t} to vary the
+ * number of threads; {@code clients=1} makes every thread hit the same bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TokenBucketsBenchmark {
+
+    @Param({"1", "10000"})
+    public int clients;
+
+    private String[] keys;
+    private TokenBuckets buckets;
+    private GlobalLockBuckets globalLockBuckets;
+
+    @Setup
+    public void setUp() {
+        keys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "ip:10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+        buckets = new TokenBuckets(1_000_000_000, 1_000);
+        globalLockBuckets = new GlobalLockBuckets(1_000_000_000, 1_000);
+    }
+
+    @Benchmark
+    public long tokenBuckets() {
+        return buckets.tryAcquire(keys[ThreadLocalRandom.current().nextInt(clients)]);
+    }
+
+    @Benchmark
+    public long globalLock() {
+        return globalLockBuckets.tryAcquire(keys[ThreadLocalRandom.current().nextInt(clients)]);
+    }
+
+    private static final class GlobalLockBuckets {
+        private final Map<String, double[]> buckets = new HashMap<>();
+        private final double permitsPerNano;
+        private final int burst;
+
+        private GlobalLockBuckets(double permitsPerSecond, int burst) {
+            this.permitsPerNano = permitsPerSecond / 1e9;
+            this.burst = burst;
+        }
+
+        private synchronized long tryAcquire(String key) {
+            long now = System.nanoTime();
+            double[] bucket = buckets.computeIfAbsent(key, k -> new double[]{burst, now});
+            bucket[0] = Math.min(burst, bucket[0] + (now - bucket[1]) * permitsPerNano);
+            bucket[1] = now;
+            if (bucket[0] < 1) {
+                return (long) ((1 - bucket[0]) / permitsPerNano);
+            }
+            bucket[0]--;
+            return 0;
+        }
+    }
+}
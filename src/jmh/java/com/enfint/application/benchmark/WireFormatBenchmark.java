@@ -0,0 +1,75 @@
+package com.enfint.application.benchmark;
+
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.fiegnClient.WireFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offer list encoding cost per wire format; payload sizes are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public WireFormat format;
+
+    @Param({"4", "64"})
+    public int offerCount;
+
+    private ObjectWriter offersWriter;
+    private ObjectReader offersReader;
+    private List<LoanOfferDTO> offers;
+    private byte[] offersBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().factory(factory(format)).build();
+        TypeReference<List<LoanOfferDTO>> offersType = new TypeReference<>() {
+        };
+        offersWriter = mapper.writerFor(offersType);
+        offersReader = mapper.readerFor(offersType);
+        offers = new ArrayList<>(offerCount);
+        List<LoanOfferDTO> template = BenchmarkData.offers();
+        for (int i = 0; i < offerCount; i++) {
+            offers.add(template.get(i % template.size()));
+        }
+        offersBytes = offersWriter.writeValueAsBytes(offers);
+        System.out.printf("%n%s, %d offers: %d bytes%n", format, offerCount, offersBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeOffers() throws IOException {
+        return offersWriter.writeValueAsBytes(offers);
+    }
+
+    @Benchmark
+    public List<LoanOfferDTO> deserializeOffers() throws IOException {
+        return offersReader.readValue(offersBytes);
+    }
+
+    private static JsonFactory factory(WireFormat format) {
+        return switch (format) {
+            case CBOR -> new CBORFactory();
+            case SMILE -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+}
@@ -0,0 +1,216 @@
+package com.enfint.application.loadtest;
+
+import com.enfint.application.Application;
+import com.enfint.application.stub.DealStub;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load test: requests go out on a fixed schedule at the target rate whether or not earlier ones have
+ * answered, and latency is measured from the scheduled send time, so a stalled service shows up in the tail
+ * instead of silently lowering the offered load. {@code POST /application/} and {@code PUT /application/offer}
+ * are mixed by {@code loadtest.offerRatio}. Unless {@code loadtest.target} points at a running instance, the
+ * service is started in-process against a {@link DealStub} with log-normal latency and the given error rate.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args= \
+ *     -Dbenchmark.main=com.enfint.application.loadtest.LoadTest \
+ *     -Dbenchmark.jvmArgs="-Dloadtest.rps=500 -Dloadtest.durationSeconds=30 \
+ *         -Dloadtest.dealLatencyMs=20 -Dloadtest.dealLatencyP99Ms=200 -Dloadtest.dealErrorRate=0.01"
+ * </pre>
+ * Extra service arguments go in {@code loadtest.appArgs}, e.g. {@code -Dloadtest.appArgs=--application.deal.mode=async}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rps = Double.parseDouble(System.getProperty("loadtest.rps", "200"));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30));
+        double offerRatio = Double.parseDouble(System.getProperty("loadtest.offerRatio", "0.2"));
+        int maxInFlight = Integer.getInteger("loadtest.maxInFlight", 10_000);
+        Duration dealMedian = Duration.ofMillis(Long.getLong("loadtest.dealLatencyMs", 20));
+        Duration dealP99 = Duration.ofMillis(Long.getLong("loadtest.dealLatencyP99Ms", dealMedian.toMillis()));
+        double dealErrorRate = Double.parseDouble(System.getProperty("loadtest.dealErrorRate", "0"));
+        String target = System.getProperty("loadtest.target");
+
+        try (DealStub deal = DealStub.start().latency(dealMedian, dealP99).errorRate(dealErrorRate)) {
+            ConfigurableApplicationContext context = target == null ? startApplication(deal) : null;
+            try {
+                URI base = URI.create(target != null ? target
+                        : "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                LoadGenerator generator = new LoadGenerator(base, rps, offerRatio, maxInFlight);
+                generator.run(warmup);
+                List<Report> reports = generator.run(duration);
+                System.out.printf("%ntarget=%s rps=%.0f duration=%ds offerRatio=%.2f", base, rps,
+                        duration.toSeconds(), offerRatio);
+                if (target == null) {
+                    System.out.printf(" deal median=%dms p99=%dms errors=%.3f", dealMedian.toMillis(),
+                            dealP99.toMillis(), dealErrorRate);
+                }
+                System.out.printf("%n%s%n", Report.HEADER);
+                reports.forEach(System.out::println);
+            } finally {
+                if (context != null) {
+                    context.close();
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(DealStub deal) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--application.deal.url=" + deal.url(),
+                "--application.rate-limit.enabled=false",
+                "--logging.level.root=WARN"));
+        String extra = System.getProperty("loadtest.appArgs", "").trim();
+        if (!extra.isEmpty()) {
+            args.addAll(Arrays.asList(extra.split("\\s+")));
+        }
+        return new SpringApplicationBuilder(Application.class).run(args.toArray(String[]::new));
+    }
+
+    private static final class LoadGenerator {
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final URI applicationUri;
+        private final URI offerUri;
+        private final double rps;
+        private final double offerRatio;
+        private final int maxInFlight;
+        private final AtomicLong sequence = new AtomicLong();
+
+        private LoadGenerator(URI base, double rps, double offerRatio, int maxInFlight) {
+            this.applicationUri = base.resolve("/application/");
+            this.offerUri = base.resolve("/application/offer");
+            this.rps = rps;
+            this.offerRatio = offerRatio;
+            this.maxInFlight = maxInFlight;
+        }
+
+        private List<Report> run(Duration duration) throws InterruptedException {
+            Recorder applications = new Recorder("POST /application/");
+            Recorder offers = new Recorder("PUT /application/offer");
+            Semaphore inFlight = new Semaphore(maxInFlight);
+            long intervalNanos = (long) (1e9 / rps);
+            long count = duration.toNanos() / intervalNanos;
+            long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+            for (long i = 0; i < count; i++) {
+                long scheduled = start + i * intervalNanos;
+                for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                boolean offer = ThreadLocalRandom.current().nextDouble() < offerRatio;
+                Recorder recorder = offer ? offers : applications;
+                recorder.sent.increment();
+                if (!inFlight.tryAcquire()) {
+                    recorder.dropped.increment();
+                    continue;
+                }
+                long n = sequence.incrementAndGet();
+                HttpRequest request = offer ? offerRequest(n) : applicationRequest(n);
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                    recorder.record(System.nanoTime() - scheduled, error == null && response.statusCode() / 100 == 2);
+                    inFlight.release();
+                });
+            }
+            if (!inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS)) {
+                System.out.println("Gave up waiting for " + (maxInFlight - inFlight.availablePermits())
+                        + " requests still in flight");
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            return List.of(applications.report(elapsedSeconds), offers.report(elapsedSeconds));
+        }
+
+        private HttpRequest applicationRequest(long n) {
+            String body = "{\"amount\":" + (10_000 + n % 90_000) + ",\"term\":10,\"firstName\":\"Boitumelo\","
+                    + "\"lastName\":\"Tshehla\",\"email\":\"boitumelotshehla@gmail.com\",\"birthdate\":\"1999-01-21\","
+                    + "\"passportSeries\":\"4265\",\"passportNumber\":\"" + String.format("%06d", n % 1_000_000)
+                    + "\"}";
+            return HttpRequest.newBuilder(applicationUri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private HttpRequest offerRequest(long n) {
+            String body = "{\"applicationId\":" + n + ",\"requestedAmount\":10000,\"totalAmount\":11132.70,"
+                    + "\"term\":10,\"monthlyPayment\":1113.27,\"rate\":24,\"isInsuranceEnabled\":false,"
+                    + "\"isSalaryClient\":false}";
+            return HttpRequest.newBuilder(offerUri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+
+    private static final class Recorder {
+        private final String endpoint;
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private long[] latencies = new long[4096];
+        private int count;
+
+        private Recorder(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void record(long latencyNanos, boolean success) {
+            if (!success) {
+                errors.increment();
+            }
+            synchronized (this) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = latencyNanos;
+            }
+        }
+
+        private synchronized Report report(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Report(endpoint, sent.sum(), count, errors.sum(), dropped.sum(),
+                    (count - errors.sum()) / elapsedSeconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            return sorted.length == 0 ? 0 : sorted[(int) Math.ceil(quantile * sorted.length) - 1] / 1e6;
+        }
+    }
+
+    private record Report(String endpoint, long sent, long completed, long errors, long dropped, double throughput,
+                          double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+        static final String HEADER = String.format("%-24s %8s %9s %7s %7s %9s %9s %9s %9s %9s", "endpoint", "sent",
+                "completed", "errors", "dropped", "ok req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+        @Override
+        public String toString() {
+            return String.format("%-24s %8d %9d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f", endpoint, sent, completed,
+                    errors, dropped, throughput, p50Millis, p99Millis, p999Millis, maxMillis);
+        }
+    }
+}
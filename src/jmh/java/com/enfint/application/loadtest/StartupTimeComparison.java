@@ -0,0 +1,132 @@
+package com.enfint.application.loadtest;
+
+import com.enfint.application.Application;
+import com.enfint.application.stub.DealStub;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching a fresh JVM to its first successful {@code POST /application/}, for the default setup and
+ * the {@code fast-startup} profile, each with and without the class-data-sharing archive of the {@code cds} build
+ * profile when it exists. Every variant runs several times in turn and reports min / median / max.
+ * <pre>
+ * mvn -Pcds package -DskipTests
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args= \
+ *     -Dbenchmark.main=com.enfint.application.loadtest.StartupTimeComparison \
+ *     -Dbenchmark.jvmArgs="-Dstartup.runs=5"
+ * </pre>
+ * Without {@code target/cds} the application runs from the build's class directories and only the non-CDS
+ * variants are measured.
+ */
+public final class StartupTimeComparison {
+    private static final String APPLICATION = "{\"amount\":10000,\"term\":10,\"firstName\":\"Boitumelo\","
+            + "\"lastName\":\"Tshehla\",\"email\":\"boitumelotshehla@gmail.com\",\"birthdate\":\"1999-01-21\","
+            + "\"passportSeries\":\"4265\",\"passportNumber\":\"698534\"}";
+
+    private StartupTimeComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        Duration timeout = Duration.ofSeconds(Long.getLong("startup.timeoutSeconds", 120));
+        Path cds = Path.of(System.getProperty("startup.cdsDir", "target/cds"));
+        boolean archived = Files.exists(cds.resolve("application.jsa"));
+        // The archive only maps with the classpath it was recorded with, relative to target/cds.
+        File directory = archived ? cds.toFile() : null;
+        String classpath = archived
+                ? "application.jar" + File.pathSeparator + "lib" + File.separator + "*"
+                : System.getProperty("java.class.path");
+
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("default", List.of(), List.of()));
+        variants.add(new Variant("fast-startup", List.of(), List.of("--spring.profiles.active=fast-startup")));
+        if (archived) {
+            List<String> archive = List.of("-XX:SharedArchiveFile=application.jsa");
+            variants.add(new Variant("cds", archive, List.of()));
+            variants.add(new Variant("cds+fast-startup", archive, List.of("--spring.profiles.active=fast-startup")));
+        } else {
+            System.out.println("No archive in " + cds.toAbsolutePath() + ", run mvn -Pcds package to include CDS");
+        }
+
+        try (DealStub deal = DealStub.start()) {
+            long[][] millis = new long[variants.size()][runs];
+            for (int run = 0; run < runs; run++) {
+                for (int i = 0; i < variants.size(); i++) {
+                    millis[i][run] = timeToFirstRequest(variants.get(i), directory, classpath, deal, timeout);
+                    System.out.printf("run %d %-17s %6d ms%n", run + 1, variants.get(i).name(), millis[i][run]);
+                }
+            }
+            System.out.printf("%n%-17s %8s %8s %8s%n", "variant", "min ms", "median", "max ms");
+            for (int i = 0; i < variants.size(); i++) {
+                long[] sorted = millis[i].clone();
+                Arrays.sort(sorted);
+                System.out.printf("%-17s %8d %8d %8d%n", variants.get(i).name(), sorted[0],
+                        sorted[sorted.length / 2], sorted[sorted.length - 1]);
+            }
+        }
+    }
+
+    private static long timeToFirstRequest(Variant variant, File directory, String classpath, DealStub deal,
+                                           Duration timeout) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.jvmArgs());
+        command.addAll(List.of("-cp", classpath, Application.class.getName(),
+                "--server.port=" + port,
+                "--application.deal.url=" + deal.url(),
+                "--logging.level.root=WARN"));
+        command.addAll(variant.appArgs());
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/application/"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(APPLICATION))
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(directory).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(variant.name() + " did not answer within " + timeout);
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Variant(String name, List<String> jvmArgs, List<String> appArgs) {
+    }
+}
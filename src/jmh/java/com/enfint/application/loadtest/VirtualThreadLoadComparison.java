@@ -0,0 +1,149 @@
+package com.enfint.application.loadtest;
+
+import com.enfint.application.Application;
+import com.enfint.application.config.VirtualThreads;
+import com.enfint.application.stub.DealStub;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop comparison of the platform-thread default against {@code application.virtual-threads.enabled}
+ * while deal answers with a fixed latency. Every client keeps one request outstanding, so with the default
+ * Tomcat pool of 200 threads the platform run saturates at about 200 / latency requests per second.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args= \
+ *     -Dbenchmark.main=com.enfint.application.loadtest.VirtualThreadLoadComparison \
+ *     -Dbenchmark.jvmArgs="-Dloadtest.concurrency=1000 -Dloadtest.dealLatencyMs=200 -Dloadtest.durationSeconds=20"
+ * </pre>
+ */
+public final class VirtualThreadLoadComparison {
+
+    private VirtualThreadLoadComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException("Run on Java 21+ or Java 19/20 with --enable-preview");
+        }
+        int concurrency = Integer.getInteger("loadtest.concurrency", 1000);
+        Duration dealLatency = Duration.ofMillis(Long.getLong("loadtest.dealLatencyMs", 200));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 20));
+
+        try (DealStub deal = DealStub.start().latency(dealLatency)) {
+            Report platform = run("platform", false, deal, concurrency, warmup, duration);
+            Report virtual = run("virtual", true, deal, concurrency, warmup, duration);
+            System.out.printf("%nclients=%d dealLatency=%dms duration=%ds%n",
+                    concurrency, dealLatency.toMillis(), duration.toSeconds());
+            System.out.println(Report.HEADER);
+            System.out.println(platform);
+            System.out.println(virtual);
+        }
+    }
+
+    private static Report run(String mode, boolean virtualThreads, DealStub deal, int concurrency,
+                              Duration warmup, Duration duration) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .run("--server.port=0",
+                        "--application.deal.url=" + deal.url(),
+                        "--application.virtual-threads.enabled=" + virtualThreads,
+                        "--application.offer-cache.enabled=false",
+                        "--logging.level.root=WARN");
+        try {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/application/");
+            drive(uri, concurrency, warmup);
+            return drive(uri, concurrency, duration).named(mode);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Report drive(URI uri, int concurrency, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<long[]> latencies = new CopyOnWriteArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        AtomicInteger amounts = new AtomicInteger(10_000);
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = VirtualThreads.newExecutor();
+        for (int i = 0; i < concurrency; i++) {
+            clients.execute(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .timeout(Duration.ofSeconds(30))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body(amounts.incrementAndGet())))
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                latencies.add(Arrays.copyOf(samples, count));
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        return Report.of(latencies, errors.get(), duration);
+    }
+
+    private static String body(int amount) {
+        return "{\"amount\":" + amount + ",\"term\":10,\"firstName\":\"Boitumelo\",\"lastName\":\"Tshehla\","
+                + "\"email\":\"boitumelotshehla@gmail.com\",\"birthdate\":\"1999-01-21\","
+                + "\"passportSeries\":\"4265\",\"passportNumber\":\"698534\"}";
+    }
+
+    private record Report(String mode, long requests, long errors, double throughput, double meanMillis,
+                          double p50Millis, double p99Millis) {
+        static final String HEADER = String.format("%-9s %9s %7s %10s %12s %9s %9s",
+                "mode", "requests", "errors", "req/s", "concurrency", "p50 ms", "p99 ms");
+
+        static Report of(List<long[]> latencies, long errors, Duration duration) {
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            double mean = all.length == 0 ? 0 : Arrays.stream(all).average().orElse(0) / 1e6;
+            return new Report("", all.length, errors, all.length / (double) duration.toSeconds(), mean,
+                    percentile(all, 0.50), percentile(all, 0.99));
+        }
+
+        Report named(String mode) {
+            return new Report(mode, requests, errors, throughput, meanMillis, p50Millis, p99Millis);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            return sorted.length == 0 ? 0 : sorted[(int) Math.ceil(quantile * sorted.length) - 1] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            // Little's law: requests actually in service = throughput x mean latency.
+            return String.format("%-9s %9d %7d %10.1f %12.1f %9.1f %9.1f", mode, requests, errors, throughput,
+                    throughput * meanMillis / 1000, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.enfint.application.admission;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "application.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionFilter admissionFilter(AdmissionProperties properties) {
+        return new AdmissionFilter(properties);
+    }
+
+    /**
+     * Right after request sampling, so shed requests are still logged, and before any other work.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilterRegistration(AdmissionFilter admissionFilter) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(admissionFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+}
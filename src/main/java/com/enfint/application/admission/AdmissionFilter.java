@@ -0,0 +1,166 @@
+package com.enfint.application.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the intake requests in flight. A request waits at most {@code maxQueueTime}, and never past its
+ * {@link Deadline}, for a slot and is otherwise answered with a canned {@code 503} before any work is done. Admitted
+ * requests run with their deadline bound to the thread.
+ */
+@Slf4j
+public class AdmissionFilter extends OncePerRequestFilter implements MeterBinder {
+    private static final byte[] SHED_BODY = "{\"message\":\"Server is overloaded\",\"httpStatus\":\"SERVICE_UNAVAILABLE\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final AdmissionProperties properties;
+    private final Set<String> paths;
+    private final Semaphore slots;
+    private final long maxQueueNanos;
+    private final String retryAfterSeconds;
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+
+    public AdmissionFilter(AdmissionProperties properties) {
+        this.properties = properties;
+        this.paths = Set.copyOf(properties.getPaths());
+        this.slots = new Semaphore(properties.getMaxInFlight());
+        this.maxQueueNanos = properties.getMaxQueueTime().toNanos();
+        this.retryAfterSeconds = Long.toString(Math.max(1, properties.getRetryAfter().toSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !paths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Deadline deadline = Deadline.after(timeout(request));
+        if (!admit(deadline)) {
+            shed.increment();
+            log.warn("******************** shedding {} {} ********************", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(SHED_BODY.length);
+            response.getOutputStream().write(SHED_BODY);
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Deadline.bind(deadline);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Deadline.unbind();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(released));
+            } else {
+                release(released);
+            }
+        }
+    }
+
+    public int inFlight() {
+        return properties.getMaxInFlight() - slots.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("admission.inflight", this, AdmissionFilter::inFlight)
+                .description("Intake requests being processed").register(registry);
+        Gauge.builder("admission.queued", slots, Semaphore::getQueueLength)
+                .description("Intake requests waiting for a slot").register(registry);
+        FunctionCounter.builder("admission.shed", shed, LongAdder::sum)
+                .description("Intake requests answered with 503 without being processed").register(registry);
+        FunctionCounter.builder("admission.delayed", queued, LongAdder::sum)
+                .description("Intake requests that had to wait for a slot").register(registry);
+    }
+
+    private boolean admit(Deadline deadline) throws ServletException {
+        if (slots.tryAcquire()) {
+            return true;
+        }
+        queued.increment();
+        long wait = Math.min(maxQueueNanos, deadline.remainingNanos());
+        try {
+            return wait > 0 && slots.tryAcquire(wait, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for admission", e);
+        }
+    }
+
+    private Duration timeout(HttpServletRequest request) {
+        String header = request.getHeader(properties.getDeadlineHeader());
+        if (header != null) {
+            try {
+                long millis = Long.parseLong(header.trim());
+                if (millis >= 0) {
+                    Duration requested = Duration.ofMillis(millis);
+                    return requested.compareTo(properties.getMaxTimeout()) < 0 ? requested : properties.getMaxTimeout();
+                }
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed {} header {}", properties.getDeadlineHeader(), header);
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+
+    private void release(AtomicBoolean released) {
+        if (released.compareAndSet(false, true)) {
+            slots.release();
+        }
+    }
+
+    private class ReleasingListener implements AsyncListener {
+        private final AtomicBoolean released;
+
+        ReleasingListener(AtomicBoolean released) {
+            this.released = released;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(released);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
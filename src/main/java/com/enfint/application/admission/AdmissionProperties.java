@@ -0,0 +1,32 @@
+package com.enfint.application.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "application.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+    /**
+     * Intake requests processed at once; exact paths.
+     */
+    private List<String> paths = List.of("/application/", "/application/offer");
+    private int maxInFlight = 200;
+    /**
+     * Longest a request waits for a free slot before it is shed with {@code 503}.
+     */
+    private Duration maxQueueTime = Duration.ofMillis(100);
+    private Duration retryAfter = Duration.ofSeconds(1);
+    /**
+     * Header with the time in milliseconds the caller is still willing to wait; also sent on to deal.
+     */
+    private String deadlineHeader = Deadline.HEADER;
+    /**
+     * Deadline of requests without the header.
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(15);
+    private Duration maxTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,80 @@
+package com.enfint.application.admission;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Point in time after which the caller no longer waits for the answer. The deadline of the current request is
+ * bound to its thread; work handed to other threads must be wrapped with {@link #propagate}.
+ */
+public final class Deadline {
+    public static final String HEADER = "X-Request-Timeout";
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAt;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * @return the deadline of the current request, or {@code null} outside of one
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    static void bind(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? task : deadline.wrap(task);
+    }
+
+    public static Runnable propagate(Runnable task) {
+        Supplier<Void> supplier = propagate(() -> {
+            task.run();
+            return null;
+        });
+        return supplier::get;
+    }
+
+    /**
+     * Runs {@code task} with this deadline bound to the running thread.
+     */
+    public <T> Supplier<T> wrap(Supplier<T> task) {
+        return () -> {
+            Deadline previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public long remainingNanos() {
+        return expiresAt - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+}
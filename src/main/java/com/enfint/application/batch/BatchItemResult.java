@@ -0,0 +1,33 @@
+package com.enfint.application.batch;
+
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.validation.PreScoringViolation;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private int index;
+    private List<LoanOfferDTO> offers;
+    private List<PreScoringViolation> violations;
+    private String error;
+
+    public static BatchItemResult offers(int index, List<LoanOfferDTO> offers) {
+        return new BatchItemResult(index, offers, null, null);
+    }
+
+    public static BatchItemResult violations(int index, List<PreScoringViolation> violations) {
+        return new BatchItemResult(index, null, violations, null);
+    }
+
+    public static BatchItemResult error(int index, String error) {
+        return new BatchItemResult(index, null, null, error);
+    }
+}
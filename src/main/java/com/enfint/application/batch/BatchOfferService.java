@@ -0,0 +1,161 @@
+package com.enfint.application.batch;
+
+import com.enfint.application.config.TaskExecutors;
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.exception.RateLimitExceededException;
+import com.enfint.application.ratelimit.RateLimiter;
+import com.enfint.application.service.ApplicationService;
+import com.enfint.application.validation.PreScoringPipeline;
+import com.enfint.application.validation.PreScoringResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Streams a batch of applications through pre-scoring and deal. Input is read lazily and at most
+ * {@link BatchProperties#getWindow()} items are in flight per batch, so memory does not grow with batch size.
+ * Results are written as NDJSON lines in completion order, each tagged with the index of its input item.
+ * Each item takes a token from the client's rate limit bucket, and input past {@link BatchProperties#getMaxItems()}
+ * is not read. The pre-scoring rule set is selected once from the batch request and handed to the workers.
+ */
+@Service
+@Slf4j
+public class BatchOfferService {
+    private static final byte NEWLINE = '\n';
+
+    private final ApplicationService applicationService;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final ExecutorService workers;
+    private final int window;
+    private final int maxItems;
+    private final Optional<RateLimiter> rateLimiter;
+    private final ThreadLocal<PreScoringResult> preScoringResults = ThreadLocal.withInitial(PreScoringResult::new);
+
+    public BatchOfferService(ApplicationService applicationService, ObjectMapper objectMapper,
+                             BatchProperties properties, TaskExecutors taskExecutors,
+                             Optional<RateLimiter> rateLimiter) {
+        this.applicationService = applicationService;
+        this.requestReader = objectMapper.readerFor(LoanApplicationRequestDTO.class);
+        this.resultWriter = objectMapper.writerFor(BatchItemResult.class);
+        this.workers = taskExecutors.newExecutor("batch-", properties.getWorkers());
+        this.window = properties.getWindow();
+        this.maxItems = properties.getMaxItems();
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Accepts either a JSON array or a newline-delimited stream of {@link LoanApplicationRequestDTO}s.
+     */
+    public void process(InputStream input, OutputStream output, HttpServletRequest client) throws IOException {
+        BlockingQueue<BatchItemResult> completed = new LinkedBlockingQueue<>();
+        PreScoringPipeline ruleSet = applicationService.preScoringRuleSet();
+        int index = 0;
+        int inFlight = 0;
+        try (MappingIterator<LoanApplicationRequestDTO> items = requestReader.readValues(input)) {
+            while (items.hasNextValue()) {
+                if (index >= maxItems) {
+                    log.info("Batch cut off after {} applications", maxItems);
+                    write(BatchItemResult.error(index, "Batch is limited to " + maxItems + " applications"), output);
+                    break;
+                }
+                LoanApplicationRequestDTO item = items.nextValue();
+                if (!admit(client, item)) {
+                    write(BatchItemResult.error(index++, "Rate limit exceeded"), output);
+                    continue;
+                }
+                for (; inFlight >= window; inFlight--) {
+                    write(take(completed), output);
+                }
+                submit(index++, item, ruleSet, completed);
+                inFlight++;
+                for (BatchItemResult result = completed.poll(); result != null; result = completed.poll()) {
+                    write(result, output);
+                    inFlight--;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.info("Malformed batch item {}: {}", index, e.getOriginalMessage());
+            write(BatchItemResult.error(index, "Malformed application request"), output);
+        }
+        for (; inFlight > 0; inFlight--) {
+            write(take(completed), output);
+        }
+        log.info("Batch of {} applications processed", index);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private boolean admit(HttpServletRequest client, LoanApplicationRequestDTO item) {
+        if (rateLimiter.isEmpty()) {
+            return true;
+        }
+        try {
+            rateLimiter.get().acquire(client, item);
+            return true;
+        } catch (RateLimitExceededException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The result is queued in {@code finally}, so an {@link Error} in a worker cannot leave the batch waiting for it.
+     */
+    private void submit(int index, LoanApplicationRequestDTO item, PreScoringPipeline ruleSet,
+                        BlockingQueue<BatchItemResult> completed) {
+        workers.execute(() -> {
+            BatchItemResult result = BatchItemResult.error(index, "Internal error");
+            try {
+                result = evaluate(index, item, ruleSet);
+            } finally {
+                completed.add(result);
+            }
+        });
+    }
+
+    private BatchItemResult evaluate(int index, LoanApplicationRequestDTO item, PreScoringPipeline ruleSet) {
+        try {
+            PreScoringResult preScoring = applicationService.preScore(item, preScoringResults.get(), ruleSet);
+            if (!preScoring.isAccepted()) {
+                return BatchItemResult.violations(index, preScoring.getViolations());
+            }
+            return BatchItemResult.offers(index, applicationService.requestLoanOffers(item));
+        } catch (RuntimeException e) {
+            log.warn("Batch item {} failed: {}", index, e.getMessage());
+            return BatchItemResult.error(index, e.getMessage());
+        }
+    }
+
+    private void write(BatchItemResult result, OutputStream output) throws IOException {
+        output.write(resultWriter.writeValueAsBytes(result));
+        output.write(NEWLINE);
+        output.flush();
+    }
+
+    private static BatchItemResult take(BlockingQueue<BatchItemResult> completed) throws IOException {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for batch results");
+        }
+    }
+}
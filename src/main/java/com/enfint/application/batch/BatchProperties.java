@@ -0,0 +1,21 @@
+package com.enfint.application.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "application.batch")
+public class BatchProperties {
+    /**
+     * Platform worker threads shared by all batches; ignored when virtual threads are enabled.
+     */
+    private int workers = 16;
+    /**
+     * Items of a single batch that may be in flight at once; further input is not read until one completes.
+     */
+    private int window = 16;
+    /**
+     * Applications read from a single batch; the rest of the input is ignored.
+     */
+    private int maxItems = 1000;
+}
@@ -0,0 +1,64 @@
+package com.enfint.application.cache;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * 128-bit SHA-256 prefix of a normalized {@link LoanApplicationRequestDTO}. Requests that differ only in
+ * case, surrounding whitespace or amount scale map to the same key, and no personal data is retained.
+ */
+@EqualsAndHashCode
+public final class ApplicationRequestKey {
+    private static final char SEPARATOR = '\u001F';
+
+    private final long high;
+    private final long low;
+
+    private ApplicationRequestKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static ApplicationRequestKey of(LoanApplicationRequestDTO request) {
+        StringBuilder normalized = new StringBuilder(128)
+                .append(normalize(request.getEmail())).append(SEPARATOR)
+                .append(normalize(request.getPassportSeries())).append(SEPARATOR)
+                .append(normalize(request.getPassportNumber())).append(SEPARATOR)
+                .append(normalize(request.getAmount())).append(SEPARATOR)
+                .append(request.getTerm()).append(SEPARATOR)
+                .append(normalize(request.getFirstName())).append(SEPARATOR)
+                .append(normalize(request.getLastName())).append(SEPARATOR)
+                .append(normalize(request.getMiddleName())).append(SEPARATOR)
+                .append(request.getBirthdate());
+        ByteBuffer digest = ByteBuffer.wrap(sha256().digest(normalized.toString().getBytes(StandardCharsets.UTF_8)));
+        return new ApplicationRequestKey(digest.getLong(), digest.getLong());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalize(BigDecimal value) {
+        return value == null ? "" : value.stripTrailingZeros().toPlainString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.enfint.application.cache;
+
+import com.enfint.application.dto.LoanOfferDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class OfferCache implements MeterBinder {
+    private final OfferCacheProperties properties;
+    private final Cache<ApplicationRequestKey, List<LoanOfferDTO>> cache;
+    private final Map<Long, ApplicationRequestKey> keysByApplicationId = new ConcurrentHashMap<>();
+
+    public OfferCache(OfferCacheProperties properties) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+    }
+
+    public List<LoanOfferDTO> get(ApplicationRequestKey key) {
+        return properties.isEnabled() ? cache.getIfPresent(key) : null;
+    }
+
+    public void put(ApplicationRequestKey key, List<LoanOfferDTO> offers) {
+        if (!properties.isEnabled() || offers == null || offers.isEmpty()) {
+            return;
+        }
+        List<LoanOfferDTO> cached = List.copyOf(offers);
+        cache.put(key, cached);
+        if (properties.isInvalidateOnSelect()) {
+            Long applicationId = cached.get(0).getApplicationId();
+            if (applicationId != null) {
+                keysByApplicationId.put(applicationId, key);
+            }
+        }
+    }
+
+    public void onOfferSelected(LoanOfferDTO loanOffer) {
+        if (!properties.isEnabled() || !properties.isInvalidateOnSelect() || loanOffer.getApplicationId() == null) {
+            return;
+        }
+        ApplicationRequestKey key = keysByApplicationId.remove(loanOffer.getApplicationId());
+        if (key != null) {
+            log.info("Invalidating cached offers of application {}", loanOffer.getApplicationId());
+            cache.invalidate(key);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "offers");
+    }
+
+    private void onRemoval(ApplicationRequestKey key, List<LoanOfferDTO> offers, RemovalCause cause) {
+        if (cause != RemovalCause.REPLACED && offers != null && !offers.isEmpty()) {
+            Long applicationId = offers.get(0).getApplicationId();
+            if (applicationId != null) {
+                keysByApplicationId.remove(applicationId, key);
+            }
+        }
+    }
+}
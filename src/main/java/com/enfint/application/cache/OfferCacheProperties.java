@@ -0,0 +1,18 @@
+package com.enfint.application.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "application.offer-cache")
+public class OfferCacheProperties {
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofMinutes(5);
+    private long maximumSize = 10_000;
+    /**
+     * Drop the cached offers of an application once one of them has been selected.
+     */
+    private boolean invalidateOnSelect = true;
+}
@@ -0,0 +1,152 @@
+package com.enfint.application.concurrent;
+
+import com.enfint.application.admission.Deadline;
+import com.enfint.application.exception.DeadlineExceededException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the call, everyone arriving while it is
+ * in flight waits for and shares its result or failure. Lookups are lock-free reads of a
+ * {@link ConcurrentHashMap}; registration is a single CAS on an empty bin. Synchronous waiters give up once the
+ * current {@link Deadline} passes, leaving the call running for the others; waiters still within their deadline
+ * try again when the call failed only because the leader's deadline passed.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    public V execute(K key, Supplier<V> call) {
+        while (true) {
+            CompletableFuture<V> existing = inFlight.get(key);
+            if (existing == null) {
+                CompletableFuture<V> flight = new CompletableFuture<>();
+                existing = inFlight.putIfAbsent(key, flight);
+                if (existing == null) {
+                    return lead(key, flight, call);
+                }
+            }
+            try {
+                return await(existing);
+            } catch (DeadlineExceededException e) {
+                if (!leaderRanOutOfTime(existing, Deadline.current())) {
+                    throw e;
+                }
+                inFlight.remove(key, existing);
+            }
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> call) {
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Asynchronous variant: the first caller starts {@code call}, later callers share the outcome of its future.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing != null) {
+            return join(key, existing, call);
+        }
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return join(key, existing, call);
+        }
+        try {
+            call.get().whenComplete((value, failure) -> {
+                inFlight.remove(key, flight);
+                if (failure != null) {
+                    flight.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure);
+                } else {
+                    flight.complete(value);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+        }
+        return flight;
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    private CompletableFuture<V> join(K key, CompletableFuture<V> flight, Supplier<CompletableFuture<V>> call) {
+        coalesced.increment();
+        Deadline deadline = Deadline.current();
+        return flight.exceptionallyCompose(failure -> {
+            if (!leaderRanOutOfTime(flight, deadline)) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            inFlight.remove(key, flight);
+            Supplier<CompletableFuture<V>> retry = () -> executeAsync(key, call);
+            return deadline == null ? retry.get() : deadline.wrap(retry).get();
+        });
+    }
+
+    /**
+     * The shared call runs under the leader's deadline. When that one passes first, callers with time left try
+     * again, possibly leading the next call themselves.
+     */
+    private static boolean leaderRanOutOfTime(CompletableFuture<?> flight, Deadline deadline) {
+        if (!flight.isCompletedExceptionally() || (deadline != null && deadline.isExpired())) {
+            return false;
+        }
+        try {
+            flight.join();
+            return false;
+        } catch (CompletionException e) {
+            return e.getCause() instanceof DeadlineExceededException;
+        } catch (CancellationException e) {
+            return false;
+        }
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        coalesced.increment();
+        Deadline deadline = Deadline.current();
+        try {
+            return deadline == null ? flight.join() : flight.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline passed while waiting for an identical call");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (CompletionException | ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e instanceof CompletionException completion ? completion : new CompletionException(cause);
+        }
+    }
+}
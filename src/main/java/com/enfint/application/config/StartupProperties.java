@@ -0,0 +1,19 @@
+package com.enfint.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "application.startup")
+public class StartupProperties {
+    /**
+     * Build the request path and exercise validation and JSON mapping once before the application reports ready,
+     * so the first real request does not pay for it; meant for {@code spring.main.lazy-initialization}.
+     */
+    private boolean warmUp = false;
+    /**
+     * Shut down once warm-up has finished; used by the {@code cds} build profile to record the classes loaded on
+     * the request path into a class-data-sharing archive.
+     */
+    private boolean exitAfterWarmUp = false;
+}
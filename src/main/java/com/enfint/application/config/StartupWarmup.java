@@ -0,0 +1,92 @@
+package com.enfint.application.config;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.fiegnClient.DealClient;
+import com.enfint.application.service.ApplicationService;
+import com.enfint.application.validation.PreScoringResult;
+import com.enfint.application.validation.PreScoringValidator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Instantiates the beans behind the loan endpoints and runs validation and JSON mapping once, after the context
+ * has started but before it reports ready. Nothing is sent to deal, and validation runs on an unobserved validator
+ * so pre-scoring metrics only count real applications.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(prefix = "application.startup", name = "warm-up", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class StartupWarmup {
+    private static final int VALIDATION_ROUNDS = 100;
+
+    private final ApplicationContext context;
+    private final StartupProperties properties;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() throws IOException {
+        long start = System.nanoTime();
+        context.getBeansWithAnnotation(RestController.class);
+        context.getBeansWithAnnotation(ControllerAdvice.class);
+        context.getBean(ApplicationService.class);
+        context.getBean(DealClient.class);
+        context.getBean(PreScoringValidator.class);
+
+        LoanApplicationRequestDTO request = sampleRequest();
+        PreScoringValidator validator = new PreScoringValidator();
+        for (int i = 0; i < VALIDATION_ROUNDS; i++) {
+            validator.validate(request, new PreScoringResult());
+        }
+
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        objectMapper.readValue(objectMapper.writeValueAsBytes(request), LoanApplicationRequestDTO.class);
+        List<LoanOfferDTO> offers = List.of(LoanOfferDTO.builder()
+                .applicationId(1L)
+                .requestedAmount(request.getAmount())
+                .totalAmount(BigDecimal.valueOf(11132.70))
+                .term(request.getTerm())
+                .monthlyPayment(BigDecimal.valueOf(1113.27))
+                .rate(BigDecimal.valueOf(24))
+                .isInsuranceEnabled(false)
+                .isSalaryClient(false)
+                .build());
+        objectMapper.readValue(objectMapper.writeValueAsBytes(offers), new TypeReference<List<LoanOfferDTO>>() {
+        });
+        log.info("******************** Warm-up finished in {} ms ********************",
+                (System.nanoTime() - start) / 1_000_000);
+        if (properties.isExitAfterWarmUp()) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private static LoanApplicationRequestDTO sampleRequest() {
+        return LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .firstName("Warm")
+                .lastName("Up")
+                .email("warm.up@example.com")
+                .birthdate(LocalDate.of(1990, 1, 1))
+                .passportSeries("0000")
+                .passportNumber("000000")
+                .build();
+    }
+}
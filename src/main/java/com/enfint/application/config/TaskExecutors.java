@@ -0,0 +1,56 @@
+package com.enfint.application.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class TaskExecutors {
+    private final VirtualThreadProperties virtualThreadProperties;
+
+    /**
+     * A thread per task when virtual threads are enabled, otherwise a fixed pool of {@code platformThreads}.
+     */
+    public ExecutorService newExecutor(String threadNamePrefix, int platformThreads) {
+        if (virtualThreadProperties.isEnabled()) {
+            return VirtualThreads.newExecutor();
+        }
+        return Executors.newFixedThreadPool(platformThreads, new ApplicationThreadFactory(threadNamePrefix));
+    }
+
+    /**
+     * Like {@link #newExecutor}, but platform threads take at most {@code queueCapacity} waiting tasks; beyond that
+     * {@code execute} throws {@link java.util.concurrent.RejectedExecutionException}. Virtual threads never queue.
+     */
+    public ExecutorService newBoundedExecutor(String threadNamePrefix, int platformThreads, int queueCapacity) {
+        if (virtualThreadProperties.isEnabled()) {
+            return VirtualThreads.newExecutor();
+        }
+        return new ThreadPoolExecutor(platformThreads, platformThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ApplicationThreadFactory(threadNamePrefix));
+    }
+
+    /**
+     * Pool threads are started lazily, often from a request thread; pinning their context class loader to the
+     * application's keeps them from holding on to Tomcat's webapp loader.
+     */
+    private static class ApplicationThreadFactory extends CustomizableThreadFactory {
+        ApplicationThreadFactory(String threadNamePrefix) {
+            super(threadNamePrefix);
+        }
+
+        @Override
+        public Thread createThread(Runnable runnable) {
+            Thread thread = super.createThread(runnable);
+            thread.setContextClassLoader(TaskExecutors.class.getClassLoader());
+            return thread;
+        }
+    }
+}
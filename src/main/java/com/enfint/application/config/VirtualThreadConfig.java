@@ -0,0 +1,23 @@
+package com.enfint.application.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "application.virtual-threads", name = "enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException(
+                    "application.virtual-threads.enabled requires Java 21+ or Java 19/20 with --enable-preview");
+        }
+        log.info("******************** Handling requests on virtual threads ********************");
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newExecutor());
+    }
+}
@@ -0,0 +1,14 @@
+package com.enfint.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "application.virtual-threads")
+public class VirtualThreadProperties {
+    /**
+     * Run Tomcat request handling, and with it the blocking Feign calls, plus the service's worker pools on
+     * virtual threads.
+     */
+    private boolean enabled = false;
+}
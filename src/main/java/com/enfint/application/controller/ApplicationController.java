@@ -2,14 +2,19 @@ package com.enfint.application.controller;
 
 import com.enfint.application.dto.LoanApplicationRequestDTO;
 import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.exception.PreScoringHandler;
+import com.enfint.application.idempotency.IdempotencyStore;
+import com.enfint.application.logging.LogViews;
 import com.enfint.application.service.ApplicationService;
+import com.enfint.application.validation.PreScoringResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
+@ConditionalOnProperty(prefix = "application.deal", name = "mode", havingValue = "sync", matchIfMissing = true)
 @RequestMapping("/application")
 @RequiredArgsConstructor
 @Slf4j
@@ -18,16 +23,21 @@ public class ApplicationController {
     private final ApplicationService applicationService;
 
     @PostMapping("/")
-    public List<LoanOfferDTO> getLoanOffers(@RequestBody LoanApplicationRequestDTO applicationRequest){
+    public ResponseEntity<Object> getLoanOffers(@RequestBody LoanApplicationRequestDTO applicationRequest){
         log.info("******************** Getting Loan Offers ********************");
-        log.info("applicationRequest {} ",applicationRequest);
-        return applicationService.getLoanOfferDTOList(applicationRequest);
+        log.info("applicationRequest {} ", LogViews.of(applicationRequest));
+        PreScoringResult preScoring = applicationService.preScore(applicationRequest);
+        if (!preScoring.isAccepted()) {
+            return PreScoringHandler.preScoringFailed(preScoring.getViolations());
+        }
+        return ResponseEntity.ok(applicationService.requestLoanOffers(applicationRequest));
     }
 
     @PutMapping("/offer")
-    public void selectOffer(@RequestBody LoanOfferDTO loanOffer){
+    public void selectOffer(@RequestBody LoanOfferDTO loanOffer,
+                            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey){
         log.info("******************** Selected Loan Offer ********************");
-        log.info("loanOffer {} ",loanOffer);
-        applicationService.selectOffer(loanOffer);
+        log.info("loanOffer {} ", LogViews.of(loanOffer));
+        applicationService.selectOffer(loanOffer, idempotencyKey);
     }
 }
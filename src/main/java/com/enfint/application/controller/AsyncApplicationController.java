@@ -0,0 +1,48 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.exception.PreScoringHandler;
+import com.enfint.application.idempotency.IdempotencyStore;
+import com.enfint.application.logging.LogViews;
+import com.enfint.application.service.ApplicationService;
+import com.enfint.application.validation.PreScoringResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Same contract as {@link ApplicationController}, but the servlet thread is released while deal is working.
+ */
+@RestController
+@RequestMapping("/application")
+@ConditionalOnProperty(prefix = "application.deal", name = "mode", havingValue = "async")
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncApplicationController {
+
+    private final ApplicationService applicationService;
+
+    @PostMapping("/")
+    public CompletableFuture<ResponseEntity<Object>> getLoanOffers(@RequestBody LoanApplicationRequestDTO applicationRequest){
+        log.info("******************** Getting Loan Offers ********************");
+        log.info("applicationRequest {} ", LogViews.of(applicationRequest));
+        PreScoringResult preScoring = applicationService.preScore(applicationRequest);
+        if (!preScoring.isAccepted()) {
+            return CompletableFuture.completedFuture(PreScoringHandler.preScoringFailed(preScoring.getViolations()));
+        }
+        return applicationService.requestLoanOffersAsync(applicationRequest).thenApply(ResponseEntity::ok);
+    }
+
+    @PutMapping("/offer")
+    public CompletableFuture<Void> selectOffer(@RequestBody LoanOfferDTO loanOffer,
+                                               @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey){
+        log.info("******************** Selected Loan Offer ********************");
+        log.info("loanOffer {} ", LogViews.of(loanOffer));
+        return applicationService.selectOfferAsync(loanOffer, idempotencyKey);
+    }
+}
@@ -0,0 +1,31 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.batch.BatchOfferService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/application")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchApplicationController {
+
+    private final BatchOfferService batchOfferService;
+
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void getLoanOffersBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("******************** Getting Loan Offers Batch ********************");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        batchOfferService.process(request.getInputStream(), response.getOutputStream(), request);
+    }
+}
@@ -0,0 +1,41 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.exception.PreScoringHandler;
+import com.enfint.application.logging.LogViews;
+import com.enfint.application.offer.LocalOfferEngine;
+import com.enfint.application.service.ApplicationService;
+import com.enfint.application.validation.PreScoringResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Indicative offers computed locally, without creating an application in deal.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "application.offer-engine", name = "enabled", havingValue = "true")
+@RequestMapping("/application")
+@RequiredArgsConstructor
+@Slf4j
+public class OfferPreviewController {
+
+    private final ApplicationService applicationService;
+    private final LocalOfferEngine offerEngine;
+
+    @PostMapping("/preview")
+    public ResponseEntity<Object> previewLoanOffers(@RequestBody LoanApplicationRequestDTO applicationRequest) {
+        log.info("******************** Previewing Loan Offers ********************");
+        log.info("applicationRequest {} ", LogViews.of(applicationRequest));
+        PreScoringResult preScoring = applicationService.preScore(applicationRequest);
+        if (!preScoring.isAccepted()) {
+            return PreScoringHandler.preScoringFailed(preScoring.getViolations());
+        }
+        return ResponseEntity.ok(offerEngine.getLoanOffers(applicationRequest));
+    }
+}
@@ -0,0 +1,123 @@
+package com.enfint.application.duplicate;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.exception.DuplicateApplicationException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the passports of applications deal accepted recently so repeats can be flagged or rejected before they
+ * reach deal.
+ */
+@Component
+@Slf4j
+public class DuplicateApplicationIndex implements MeterBinder {
+    private final DuplicateIndexProperties properties;
+    private final RecentKeyIndex index;
+    private final LongAdder duplicates = new LongAdder();
+
+    public DuplicateApplicationIndex(DuplicateIndexProperties properties) {
+        this.properties = properties;
+        this.index = properties.getMode() == DuplicateIndexProperties.Mode.OFF ? null
+                : new RecentKeyIndex(properties.getMaxEntries(), properties.getStripes(), properties.getWindow());
+        if (index != null) {
+            log.info("Duplicate application index: {} mode, {} window, up to {} passports in {} KB",
+                    properties.getMode(), properties.getWindow(), index.capacity(), index.maxFootprintBytes() / 1024);
+        }
+    }
+
+    /**
+     * Looks the applicant's passport up without recording it; see {@link #record}.
+     *
+     * @return whether the same passport applied within the window
+     * @throws DuplicateApplicationException for a repeat in {@code REJECT} mode
+     */
+    public boolean check(LoanApplicationRequestDTO request) {
+        if (index == null || !index.contains(passportKey(request.getPassportSeries(), request.getPassportNumber()))) {
+            return false;
+        }
+        duplicates.increment();
+        if (properties.getMode() == DuplicateIndexProperties.Mode.REJECT) {
+            throw new DuplicateApplicationException("Application with this passport has already been submitted");
+        }
+        log.warn("Repeated application with the same passport within {}", properties.getWindow());
+        return true;
+    }
+
+    /**
+     * Records the applicant's passport; called once deal has accepted the application, so a failed attempt can be
+     * retried.
+     */
+    public void record(LoanApplicationRequestDTO request) {
+        if (index != null) {
+            index.checkAndRecord(passportKey(request.getPassportSeries(), request.getPassportNumber()));
+        }
+    }
+
+    public long duplicates() {
+        return duplicates.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (index == null) {
+            return;
+        }
+        FunctionCounter.builder("application.duplicates", duplicates, LongAdder::sum)
+                .description("Applications repeating a passport seen within the window")
+                .tag("action", properties.getMode().name().toLowerCase())
+                .register(registry);
+        Gauge.builder("application.duplicates.index.entries", index, RecentKeyIndex::occupied)
+                .description("Passports held by the duplicate index, including expired ones not reclaimed yet")
+                .register(registry);
+        Gauge.builder("application.duplicates.index.capacity", index, RecentKeyIndex::capacity)
+                .description("Passports the duplicate index can hold")
+                .register(registry);
+        Gauge.builder("application.duplicates.index.memory", index, RecentKeyIndex::footprintBytes)
+                .description("Memory allocated by the duplicate index")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        FunctionCounter.builder("application.duplicates.index.overflows", index, RecentKeyIndex::overflows)
+                .description("Applications not indexed because their stripe was full")
+                .register(registry);
+    }
+
+    /**
+     * Packs the 4-digit series and 6-digit number into one key; anything else falls back to a 63-bit string hash.
+     */
+    static long passportKey(String series, String number) {
+        long key = digits(series, 4);
+        long low = digits(number, 6);
+        if (key >= 0 && low >= 0) {
+            return key * 1_000_000 + low;
+        }
+        long hash = 1125899906842597L;
+        String text = series + '/' + number;
+        for (int i = 0; i < text.length(); i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return (hash & Long.MAX_VALUE) | 1L << 62;
+    }
+
+    private static long digits(String value, int length) {
+        if (value == null || value.length() != length) {
+            return -1;
+        }
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.enfint.application.duplicate;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "application.duplicate-index")
+public class DuplicateIndexProperties {
+    public enum Mode {
+        OFF,
+        /**
+         * Log and count repeated applications but still send them to deal.
+         */
+        FLAG,
+        /**
+         * Answer repeated applications with {@code 409} without calling deal.
+         */
+        REJECT
+    }
+
+    /**
+     * Any mode other than {@code OFF} preallocates up to {@link #maxEntries} passports as stripes are touched.
+     */
+    private Mode mode = Mode.OFF;
+    /**
+     * How long an application keeps its passport in the index; resolution is one second.
+     */
+    private Duration window = Duration.ofHours(1);
+    /**
+     * Passports kept at most; memory is preallocated per stripe on first use and reported as
+     * {@code application.duplicates.index.memory}.
+     */
+    private int maxEntries = 1_000_000;
+    private int stripes = 64;
+}
@@ -0,0 +1,202 @@
+package com.enfint.application.duplicate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Set of non-negative {@code long} keys seen within a sliding time window. Keys live in striped open-addressing
+ * tables of primitive arrays, 12 bytes per slot, so memory stays fixed no matter how many keys pass through.
+ * Expired slots are reused in place and reclaimed by rehashing a stripe when it fills up; keys arriving while a
+ * stripe is full of live keys are not recorded and counted as overflows.
+ */
+public class RecentKeyIndex {
+    private static final long EMPTY = 0;
+    private static final int SLOT_BYTES = Long.BYTES + Integer.BYTES;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int slotsPerStripe;
+    private final int maxOccupied;
+    private final int windowSeconds;
+    private final LongSupplier nanoTime;
+    private final long origin;
+    private final LongAdder overflows = new LongAdder();
+
+    public RecentKeyIndex(int maxEntries, int stripes, Duration window) {
+        this(maxEntries, stripes, window, System::nanoTime);
+    }
+
+    RecentKeyIndex(int maxEntries, int stripes, Duration window, LongSupplier nanoTime) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, stripes));
+        int perStripe = (int) Math.ceil(Math.max(1, maxEntries) / (double) stripeCount / LOAD_FACTOR);
+        this.slotsPerStripe = Math.max(4, Integer.highestOneBit(perStripe - 1) << 1);
+        this.maxOccupied = (int) (slotsPerStripe * LOAD_FACTOR);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripeCount - 1;
+        this.windowSeconds = (int) Math.max(1, window.toSeconds());
+        this.nanoTime = nanoTime;
+        this.origin = nanoTime.getAsLong();
+    }
+
+    /**
+     * Records {@code key} as seen now.
+     *
+     * @return whether the key had already been seen within the window
+     */
+    public boolean checkAndRecord(long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key " + key);
+        }
+        long stored = key + 1;
+        long hash = stored * 0x9E3779B97F4A7C15L;
+        Stripe stripe = stripes[(int) (hash >>> 40) & stripeMask];
+        int now = now();
+        int cutoff = now - windowSeconds;
+        synchronized (stripe) {
+            if (stripe.keys == null) {
+                stripe.keys = new long[slotsPerStripe];
+                stripe.seen = new int[slotsPerStripe];
+            } else if (stripe.occupied >= maxOccupied && stripe.purgedAt != now) {
+                stripe.purgedAt = now;
+                stripe.purge(cutoff);
+            }
+            long[] keys = stripe.keys;
+            int mask = keys.length - 1;
+            int i = (int) (hash ^ (hash >>> 32)) & mask;
+            int expired = -1;
+            for (long k = keys[i]; k != EMPTY; k = keys[i]) {
+                if (k == stored) {
+                    boolean duplicate = stripe.seen[i] > cutoff;
+                    stripe.seen[i] = now;
+                    return duplicate;
+                }
+                if (expired < 0 && stripe.seen[i] <= cutoff) {
+                    expired = i;
+                }
+                i = (i + 1) & mask;
+            }
+            if (expired >= 0) {
+                i = expired;
+            } else if (stripe.occupied >= maxOccupied) {
+                overflows.increment();
+                return false;
+            } else {
+                stripe.occupied++;
+            }
+            keys[i] = stored;
+            stripe.seen[i] = now;
+            return false;
+        }
+    }
+
+    /**
+     * Looks {@code key} up without recording it.
+     *
+     * @return whether the key has been seen within the window
+     */
+    public boolean contains(long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key " + key);
+        }
+        long stored = key + 1;
+        long hash = stored * 0x9E3779B97F4A7C15L;
+        Stripe stripe = stripes[(int) (hash >>> 40) & stripeMask];
+        int cutoff = now() - windowSeconds;
+        synchronized (stripe) {
+            long[] keys = stripe.keys;
+            if (keys == null) {
+                return false;
+            }
+            int mask = keys.length - 1;
+            int i = (int) (hash ^ (hash >>> 32)) & mask;
+            for (long k = keys[i]; k != EMPTY; k = keys[i]) {
+                if (k == stored) {
+                    return stripe.seen[i] > cutoff;
+                }
+                i = (i + 1) & mask;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Slots in use, including expired keys not reclaimed yet.
+     */
+    public long occupied() {
+        long occupied = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                occupied += stripe.occupied;
+            }
+        }
+        return occupied;
+    }
+
+    public long capacity() {
+        return (long) maxOccupied * stripes.length;
+    }
+
+    /**
+     * Bytes held by the stripe tables allocated so far.
+     */
+    public long footprintBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (stripe.keys != null) {
+                    bytes += (long) slotsPerStripe * SLOT_BYTES;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Bytes the index holds once every stripe has been touched.
+     */
+    public long maxFootprintBytes() {
+        return (long) slotsPerStripe * SLOT_BYTES * stripes.length;
+    }
+
+    public long overflows() {
+        return overflows.sum();
+    }
+
+    private int now() {
+        return (int) ((nanoTime.getAsLong() - origin) / 1_000_000_000L);
+    }
+
+    private static final class Stripe {
+        private long[] keys;
+        private int[] seen;
+        private int occupied;
+        private int purgedAt = -1;
+
+        private void purge(int cutoff) {
+            long[] oldKeys = keys;
+            int[] oldSeen = seen;
+            keys = new long[oldKeys.length];
+            seen = new int[oldSeen.length];
+            occupied = 0;
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] == EMPTY || oldSeen[j] <= cutoff) {
+                    continue;
+                }
+                long hash = oldKeys[j] * 0x9E3779B97F4A7C15L;
+                int i = (int) (hash ^ (hash >>> 32)) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                seen[i] = oldSeen[j];
+                occupied++;
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.enfint.application.exception;
+
+/**
+ * The caller's deadline passed before deal answered; thrown instead of calling deal once it has passed.
+ */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,22 @@
+package com.enfint.application.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+@ControllerAdvice
+public class DeadlineExceededHandler {
+    @ExceptionHandler(value = {DeadlineExceededException.class})
+    public ResponseEntity<Object> handleDeadlineExceeded(DeadlineExceededException e) {
+        DeadlineExceeded deadlineExceeded = new DeadlineExceeded(
+                e.getMessage(),
+                HttpStatus.GATEWAY_TIMEOUT,
+                ZonedDateTime.now(ZoneId.of("Z"))
+        );
+        return new ResponseEntity<>(deadlineExceeded, HttpStatus.GATEWAY_TIMEOUT);
+    }
+}
@@ -0,0 +1,19 @@
+package com.enfint.application.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown without calling deal when the resilience layer sheds the call.
+ */
+public class DealServiceUnavailableException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public DealServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
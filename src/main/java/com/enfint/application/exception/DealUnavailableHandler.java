@@ -0,0 +1,26 @@
+package com.enfint.application.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+@ControllerAdvice
+public class DealUnavailableHandler {
+    @ExceptionHandler(value = {DealServiceUnavailableException.class})
+    public ResponseEntity<Object> handleDealUnavailable(DealServiceUnavailableException e) {
+        DealUnavailable dealUnavailable = new DealUnavailable(
+                e.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ZonedDateTime.now(ZoneId.of("Z"))
+        );
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(dealUnavailable);
+    }
+}
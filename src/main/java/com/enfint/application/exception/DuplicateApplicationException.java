@@ -0,0 +1,7 @@
+package com.enfint.application.exception;
+
+public class DuplicateApplicationException extends RuntimeException {
+    public DuplicateApplicationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.enfint.application.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+@ControllerAdvice
+public class DuplicateApplicationHandler {
+    @ExceptionHandler(value = {DuplicateApplicationException.class})
+    public ResponseEntity<Object> handleDuplicateApplication(DuplicateApplicationException e) {
+        DuplicateApplication duplicateApplication = new DuplicateApplication(
+                e.getMessage(),
+                HttpStatus.CONFLICT,
+                ZonedDateTime.now(ZoneId.of("Z"))
+        );
+        return new ResponseEntity<>(duplicateApplication, HttpStatus.CONFLICT);
+    }
+}
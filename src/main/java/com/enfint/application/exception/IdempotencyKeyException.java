@@ -0,0 +1,7 @@
+package com.enfint.application.exception;
+
+public class IdempotencyKeyException extends RuntimeException {
+    public IdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.enfint.application.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+@ControllerAdvice
+public class IdempotencyKeyHandler {
+    @ExceptionHandler(value = {IdempotencyKeyException.class})
+    public ResponseEntity<Object> handleIdempotencyKey(IdempotencyKeyException e) {
+        IdempotencyKeyRejected idempotencyKeyRejected = new IdempotencyKeyRejected(
+                e.getMessage(),
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                ZonedDateTime.now(ZoneId.of("Z"))
+        );
+        return new ResponseEntity<>(idempotencyKeyRejected, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+}
@@ -1,10 +1,12 @@
 package com.enfint.application.exception;
 
+import com.enfint.application.validation.PreScoringViolation;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.http.HttpStatus;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
 @Data
 @AllArgsConstructor
@@ -12,4 +14,5 @@ public class PreScoringFailed {
     private String message;
     private HttpStatus httpStatus;
     private ZonedDateTime timestamp;
+    private List<PreScoringViolation> violations;
 }
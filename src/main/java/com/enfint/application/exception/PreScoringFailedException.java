@@ -1,11 +1,28 @@
 package com.enfint.application.exception;
 
+import com.enfint.application.validation.PreScoringViolation;
+
+import java.util.List;
+
 public class PreScoringFailedException extends RuntimeException {
+    private final List<PreScoringViolation> violations;
+
     public PreScoringFailedException(String message) {
         super(message);
+        this.violations = List.of();
     }
 
     public PreScoringFailedException(String message, Throwable cause) {
         super(message, cause);
+        this.violations = List.of();
+    }
+
+    public PreScoringFailedException(List<PreScoringViolation> violations) {
+        super(violations.get(0).getMessage());
+        this.violations = violations;
+    }
+
+    public List<PreScoringViolation> getViolations() {
+        return violations;
     }
 }
@@ -1,5 +1,6 @@
 package com.enfint.application.exception;
 
+import com.enfint.application.validation.PreScoringViolation;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -7,15 +8,25 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 @ControllerAdvice
 public class PreScoringHandler {
     @ExceptionHandler(value = {PreScoringFailedException.class})
     public ResponseEntity<Object> handleRefusalException(PreScoringFailedException e){
+        return preScoringFailed(e.getMessage(), e.getViolations());
+    }
+
+    public static ResponseEntity<Object> preScoringFailed(List<PreScoringViolation> violations) {
+        return preScoringFailed(violations.get(0).getMessage(), violations);
+    }
+
+    private static ResponseEntity<Object> preScoringFailed(String message, List<PreScoringViolation> violations) {
         PreScoringFailed preScoringFailed = new PreScoringFailed(
-                e.getMessage(),
+                message,
                 HttpStatus.UNAUTHORIZED,
-                ZonedDateTime.now(ZoneId.of("Z"))
+                ZonedDateTime.now(ZoneId.of("Z")),
+                violations
         );
         return new ResponseEntity<>(preScoringFailed,HttpStatus.UNAUTHORIZED);
     }
@@ -0,0 +1,19 @@
+package com.enfint.application.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown for every rejected call, so it carries no stack trace and is cheap to create.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    private final long retryAfterNanos;
+
+    public RateLimitExceededException(long retryAfterNanos) {
+        super("Too many applications, please retry later", null, false, false);
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    public Duration getRetryAfter() {
+        return Duration.ofNanos(retryAfterNanos);
+    }
+}
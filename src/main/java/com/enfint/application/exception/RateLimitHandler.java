@@ -0,0 +1,26 @@
+package com.enfint.application.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+@ControllerAdvice
+public class RateLimitHandler {
+    @ExceptionHandler(value = {RateLimitExceededException.class})
+    public ResponseEntity<Object> handleRateLimitExceeded(RateLimitExceededException e) {
+        RateLimitExceeded rateLimitExceeded = new RateLimitExceeded(
+                e.getMessage(),
+                HttpStatus.TOO_MANY_REQUESTS,
+                ZonedDateTime.now(ZoneId.of("Z"))
+        );
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(rateLimitExceeded);
+    }
+}
@@ -0,0 +1,47 @@
+package com.enfint.application.fiegnClient;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * Sends each deal call to the instance {@link DealEndpointBalancer} picks, in place of the configured deal url.
+ * Latency is measured to the response headers; I/O errors and 5xx answers count as failures.
+ */
+public class BalancingClient implements Client {
+    private final Client delegate;
+    private final DealEndpointBalancer balancer;
+    private final String baseUrl;
+
+    public BalancingClient(Client delegate, DealEndpointBalancer balancer, String baseUrl) {
+        this.delegate = delegate;
+        this.balancer = balancer;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (!request.url().startsWith(baseUrl)) {
+            return delegate.execute(request, options);
+        }
+        DealEndpointBalancer.Endpoint endpoint = balancer.choose();
+        String url = endpoint.getUrl() + request.url().substring(baseUrl.length());
+        long start = balancer.onStart(endpoint);
+        Response response;
+        try {
+            response = delegate.execute(Request.create(request.httpMethod(), url, request.headers(), request.body(),
+                    request.charset(), request.requestTemplate()), options);
+        } catch (IOException | RuntimeException e) {
+            balancer.onFailure(endpoint, start);
+            throw e;
+        }
+        if (response.status() >= 500) {
+            balancer.onFailure(endpoint, start);
+        } else {
+            balancer.onSuccess(endpoint, start);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,56 @@
+package com.enfint.application.fiegnClient;
+
+import com.enfint.application.admission.Deadline;
+import com.enfint.application.exception.DeadlineExceededException;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds deal calls by the current {@link Deadline}: calls past it are not sent, others get the remaining time as
+ * their connect and read timeouts and pass it on to deal in {@code deadlineHeader}, the header callers send it in.
+ */
+public class DeadlineClient implements Client {
+    private final Client delegate;
+    private final String deadlineHeader;
+
+    public DeadlineClient(Client delegate, String deadlineHeader) {
+        this.delegate = delegate;
+        this.deadlineHeader = deadlineHeader;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return delegate.execute(request, options);
+        }
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("Request deadline passed before calling deal");
+        }
+        Request.Options bounded = new Request.Options(
+                Math.min(options.connectTimeoutMillis(), remaining), TimeUnit.MILLISECONDS,
+                Math.min(options.readTimeoutMillis(), remaining), TimeUnit.MILLISECONDS,
+                options.isFollowRedirects());
+        Map<String, Collection<String>> headers = new HashMap<>(request.headers());
+        headers.put(deadlineHeader, List.of(Long.toString(remaining)));
+        try {
+            return delegate.execute(Request.create(request.httpMethod(), request.url(), headers, request.body(),
+                    request.charset(), request.requestTemplate()), bounded);
+        } catch (SocketTimeoutException e) {
+            if (deadline.isExpired()) {
+                throw new DeadlineExceededException("Request deadline passed while waiting for deal");
+            }
+            throw e;
+        }
+    }
+}
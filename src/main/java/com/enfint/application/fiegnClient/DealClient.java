@@ -9,7 +9,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
-@FeignClient(value = "conveyorClient",url = "http://localhost:8082/deal" )
+@FeignClient(value = "conveyorClient", qualifiers = "conveyorClient", primary = false,
+        url = "${application.deal.url:http://localhost:8082/deal}")
 public interface DealClient {
 
     @PostMapping("/application")
@@ -0,0 +1,100 @@
+package com.enfint.application.fiegnClient;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "application.deal")
+public class DealClientProperties {
+    private String url = "http://localhost:8082/deal";
+    /**
+     * Deal instances to balance calls across, each a base URL like {@code url}. Empty calls {@code url} only.
+     */
+    private List<String> urls = new ArrayList<>();
+    private Balancer balancer = new Balancer();
+    /**
+     * SYNC keeps the servlet thread for the whole deal round trip; ASYNC releases it and completes the response
+     * from {@link OffloadingDealClient}.
+     */
+    private Mode mode = Mode.SYNC;
+    /**
+     * Platform threads {@link OffloadingDealClient} runs deal calls on, and so the ceiling on concurrent deal calls
+     * in ASYNC mode; further calls wait in its bounded queue. Ignored when virtual threads are enabled.
+     */
+    private int asyncThreads = 64;
+    /**
+     * ASYNC mode deal calls waiting for one of the {@code asyncThreads}; beyond that calls are shed with {@code 503}.
+     * Ignored when virtual threads are enabled.
+     */
+    private int asyncQueueSize = 200;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    /**
+     * Ask deal for gzip-compressed responses and decompress them transparently.
+     */
+    private boolean compression = false;
+    /**
+     * Binary body format to negotiate with deal; JSON disables negotiation.
+     */
+    private WireFormat wireFormat = WireFormat.JSON;
+    private Pool pool = new Pool();
+
+    @Data
+    public static class Pool {
+        private int maxTotal = 200;
+        private int maxPerRoute = 100;
+        /**
+         * Hard limit on a pooled connection's lifetime.
+         */
+        private Duration timeToLive = Duration.ofMinutes(15);
+        /**
+         * How long an idle connection is kept open when deal does not send a Keep-Alive header.
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+        /**
+         * Longest a call waits for a free connection before failing.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(1);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Balancer {
+        /**
+         * Time constant of the per-instance latency average.
+         */
+        private Duration decayTime = Duration.ofSeconds(10);
+        /**
+         * Latency recorded for a failed call that failed faster, so failing fast does not attract traffic.
+         */
+        private Duration failurePenalty = Duration.ofSeconds(1);
+        /**
+         * Consecutive failures, I/O errors or 5xx answers, that eject an instance.
+         */
+        private int consecutiveFailures = 5;
+        /**
+         * Length of a first ejection; an instance ejected again right after returning stays out one period longer
+         * each time, up to {@code maxEjectionTime}.
+         */
+        private Duration baseEjectionTime = Duration.ofSeconds(30);
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+        /**
+         * Most instances ejected at once; at least one always stays in rotation.
+         */
+        private int maxEjectionPercent = 50;
+        /**
+         * An instance back from ejection ramps up linearly from {@code slowStartMinWeight} to full weight over this.
+         */
+        private Duration slowStart = Duration.ofSeconds(30);
+        private double slowStartMinWeight = 0.1;
+    }
+
+    public enum Mode {
+        SYNC,
+        ASYNC
+    }
+}
@@ -0,0 +1,124 @@
+package com.enfint.application.fiegnClient;
+
+import com.enfint.application.admission.AdmissionProperties;
+import feign.Client;
+import feign.Request;
+import feign.codec.Encoder;
+import feign.httpclient.ApacheHttpClient;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled keep-alive Apache HttpClient transport for {@link DealClient}. Declaring the {@link CloseableHttpClient}
+ * here makes Spring Cloud OpenFeign's own Apache client configuration back off, so the Feign {@link Client}
+ * is declared here as well.
+ */
+@Configuration(proxyBeanMethods = false)
+@Slf4j
+public class DealClientTransportConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public InstrumentedConnectionManager dealConnectionManager(DealClientProperties properties) {
+        DealClientProperties.Pool pool = properties.getPool();
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(pool.getTimeToLive());
+        connectionManager.setMaxTotal(pool.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(pool.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) pool.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    @Lazy(false)
+    public ScheduledExecutorService dealConnectionEvictor(InstrumentedConnectionManager dealConnectionManager,
+                                                         DealClientProperties properties) {
+        ScheduledExecutorService evictor =
+                Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("deal-pool-evictor-"));
+        long idleMillis = properties.getPool().getKeepAlive().toMillis();
+        evictor.scheduleWithFixedDelay(() -> {
+            dealConnectionManager.closeExpiredConnections();
+            dealConnectionManager.closeIdleConnections(idleMillis, TimeUnit.MILLISECONDS);
+        }, 5, 5, TimeUnit.SECONDS);
+        return evictor;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient dealHttpClient(InstrumentedConnectionManager dealConnectionManager,
+                                              DealClientProperties properties) {
+        long keepAliveMillis = properties.getPool().getKeepAlive().toMillis();
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                .setConnectionManager(dealConnectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return advertised > 0 ? advertised : keepAliveMillis;
+                })
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout((int) properties.getPool().getAcquireTimeout().toMillis())
+                        .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                        .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                        .setRedirectsEnabled(false)
+                        .build())
+                .disableCookieManagement()
+                .useSystemProperties();
+        if (!properties.isCompression()) {
+            builder.disableContentCompression();
+        }
+        log.info("Deal transport: pool {}/{} per route, connect {} read {} compression {}",
+                properties.getPool().getMaxTotal(), properties.getPool().getMaxPerRoute(),
+                properties.getConnectTimeout(), properties.getReadTimeout(), properties.isCompression());
+        return builder.build();
+    }
+
+    @Bean
+    public DealEndpointBalancer dealEndpointBalancer(DealClientProperties properties) {
+        DealEndpointBalancer balancer = new DealEndpointBalancer(properties);
+        if (balancer.isEnabled()) {
+            log.info("Deal calls balanced over {}", properties.getUrls());
+        }
+        return balancer;
+    }
+
+    @Bean
+    public Client feignClient(CloseableHttpClient dealHttpClient, WireFormatNegotiation negotiation,
+                              DealEndpointBalancer dealEndpointBalancer, DealClientProperties properties,
+                              AdmissionProperties admissionProperties) {
+        Client client = new ApacheHttpClient(dealHttpClient);
+        if (negotiation.isBinaryPreferred()) {
+            client = new NegotiatingClient(client, negotiation);
+        }
+        if (dealEndpointBalancer.isEnabled()) {
+            client = new BalancingClient(client, dealEndpointBalancer, properties.getUrl());
+        }
+        return new DeadlineClient(client, admissionProperties.getDeadlineHeader());
+    }
+
+    /**
+     * Replaces Spring Cloud OpenFeign's default encoder, which only looks at the Content-Type fixed by the mapping.
+     */
+    @Bean
+    public Encoder feignEncoder(ObjectFactory<HttpMessageConverters> messageConverters, WireFormatNegotiation negotiation) {
+        return new NegotiatingEncoder(new SpringEncoder(messageConverters), negotiation);
+    }
+
+    /**
+     * Feign passes its own timeouts with every request, overriding the client defaults above.
+     */
+    @Bean
+    public Request.Options dealRequestOptions(DealClientProperties properties) {
+        return new Request.Options(properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS, false);
+    }
+}
@@ -0,0 +1,238 @@
+package com.enfint.application.fiegnClient;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Spreads deal calls over {@link DealClientProperties#getUrls()}. Each call picks two random instances and takes
+ * the cheaper one, cost being the instance's peak-sensitive latency average times its calls in flight. Instances
+ * failing {@code consecutiveFailures} times in a row are ejected for a while and then slowly ramped back in.
+ */
+@Slf4j
+public class DealEndpointBalancer implements MeterBinder {
+    private final Endpoint[] endpoints;
+    private final LongSupplier clock;
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final int consecutiveFailures;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final int maxEjectionPercent;
+    private final long slowStartNanos;
+    private final double slowStartMinWeight;
+
+    public DealEndpointBalancer(DealClientProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    DealEndpointBalancer(DealClientProperties properties, LongSupplier clock) {
+        DealClientProperties.Balancer balancer = properties.getBalancer();
+        this.endpoints = properties.getUrls().stream().map(DealEndpointBalancer::trimSlash).map(Endpoint::new)
+                .toArray(Endpoint[]::new);
+        this.clock = clock;
+        this.decayNanos = balancer.getDecayTime().toNanos();
+        this.failurePenaltyNanos = balancer.getFailurePenalty().toNanos();
+        this.consecutiveFailures = balancer.getConsecutiveFailures();
+        this.baseEjectionNanos = balancer.getBaseEjectionTime().toNanos();
+        this.maxEjectionNanos = balancer.getMaxEjectionTime().toNanos();
+        this.maxEjectionPercent = balancer.getMaxEjectionPercent();
+        this.slowStartNanos = balancer.getSlowStart().toNanos();
+        this.slowStartMinWeight = balancer.getSlowStartMinWeight();
+    }
+
+    public boolean isEnabled() {
+        return endpoints.length > 0;
+    }
+
+    public List<Endpoint> endpoints() {
+        return List.of(endpoints);
+    }
+
+    public Endpoint choose() {
+        long now = clock.getAsLong();
+        Endpoint[] candidates = available(now);
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.length);
+        int second = random.nextInt(candidates.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = candidates[first];
+        Endpoint b = candidates[second];
+        return a.cost(now) <= b.cost(now) ? a : b;
+    }
+
+    /**
+     * Counts a call against the endpoint; returns the start time to pass to {@link #onSuccess} or {@link #onFailure}.
+     */
+    public long onStart(Endpoint endpoint) {
+        endpoint.outstanding.incrementAndGet();
+        return clock.getAsLong();
+    }
+
+    public void onSuccess(Endpoint endpoint, long startNanos) {
+        long now = clock.getAsLong();
+        endpoint.outstanding.decrementAndGet();
+        synchronized (endpoint) {
+            endpoint.observe(now - startNanos, now);
+            endpoint.failures = 0;
+            if (endpoint.ejections > 0 && now - endpoint.ejectedUntil >= slowStartNanos) {
+                endpoint.ejections = 0;
+            }
+        }
+    }
+
+    public void onFailure(Endpoint endpoint, long startNanos) {
+        long now = clock.getAsLong();
+        endpoint.outstanding.decrementAndGet();
+        boolean eject;
+        synchronized (endpoint) {
+            endpoint.observe(Math.max(now - startNanos, failurePenaltyNanos), now);
+            eject = ++endpoint.failures >= consecutiveFailures && !endpoint.isEjected(now);
+        }
+        if (eject) {
+            eject(endpoint, now);
+        }
+    }
+
+    private synchronized void eject(Endpoint endpoint, long now) {
+        int ejected = 0;
+        for (Endpoint other : endpoints) {
+            if (other.isEjected(now)) {
+                ejected++;
+            }
+        }
+        if (ejected + 1 >= endpoints.length || (ejected + 1) * 100 > maxEjectionPercent * endpoints.length) {
+            return;
+        }
+        long ejection;
+        synchronized (endpoint) {
+            endpoint.ejections++;
+            endpoint.failures = 0;
+            ejection = Math.min(maxEjectionNanos, baseEjectionNanos * endpoint.ejections);
+            endpoint.ejectedUntil = now + ejection;
+            endpoint.recovering = true;
+        }
+        endpoint.totalEjections.incrementAndGet();
+        log.warn("Ejecting deal instance {} for {}", endpoint.url, Duration.ofNanos(ejection));
+    }
+
+    private Endpoint[] available(long now) {
+        int count = 0;
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.isEjected(now)) {
+                count++;
+            }
+        }
+        if (count == endpoints.length || count == 0) {
+            return endpoints;
+        }
+        Endpoint[] available = new Endpoint[count];
+        int i = 0;
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.isEjected(now)) {
+                available[i++] = endpoint;
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Endpoint endpoint : endpoints) {
+            Gauge.builder("deal.endpoint.outstanding", endpoint, e -> e.outstanding.get())
+                    .description("Deal calls in flight per instance").tag("endpoint", endpoint.url).register(registry);
+            TimeGauge.builder("deal.endpoint.latency", endpoint, TimeUnit.NANOSECONDS,
+                            e -> e.latencyNanos(clock.getAsLong()))
+                    .description("Peak-sensitive latency average per deal instance")
+                    .tag("endpoint", endpoint.url).register(registry);
+            Gauge.builder("deal.endpoint.weight", endpoint, e -> e.weight(clock.getAsLong()))
+                    .description("Share of traffic a deal instance gets while ramping up after ejection")
+                    .tag("endpoint", endpoint.url).register(registry);
+            Gauge.builder("deal.endpoint.ejected", endpoint, e -> e.isEjected(clock.getAsLong()) ? 1 : 0)
+                    .description("Whether a deal instance is ejected").tag("endpoint", endpoint.url).register(registry);
+            FunctionCounter.builder("deal.endpoint.ejections", endpoint, e -> e.totalEjections.get())
+                    .description("Times a deal instance was ejected").tag("endpoint", endpoint.url).register(registry);
+        }
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    public final class Endpoint {
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger totalEjections = new AtomicInteger();
+        private double ewmaNanos;
+        private long stampNanos;
+        private int failures;
+        private int ejections;
+        private long ejectedUntil;
+        private boolean recovering;
+
+        private Endpoint(String url) {
+            this.url = url;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+
+        synchronized double latencyNanos(long now) {
+            return ewmaNanos * Math.exp(-(now - stampNanos) / decayNanos);
+        }
+
+        synchronized boolean isEjected(long now) {
+            return recovering && now - ejectedUntil < 0;
+        }
+
+        synchronized double weight(long now) {
+            if (!recovering) {
+                return 1;
+            }
+            long since = now - ejectedUntil;
+            if (since < 0) {
+                return 0;
+            }
+            if (since >= slowStartNanos) {
+                recovering = false;
+                return 1;
+            }
+            return slowStartMinWeight + (1 - slowStartMinWeight) * since / slowStartNanos;
+        }
+
+        double cost(long now) {
+            return (latencyNanos(now) + 1) * (outstanding.get() + 1) / weight(now);
+        }
+
+        /**
+         * Peak EWMA: a slower sample is taken as is, faster ones are averaged in with a weight growing with the
+         * time since the previous sample.
+         */
+        private void observe(long rttNanos, long now) {
+            double decayed = latencyNanos(now);
+            ewmaNanos = rttNanos > decayed ? rttNanos
+                    : decayed + rttNanos * (1 - Math.exp(-(now - stampNanos) / decayNanos));
+            stampNanos = now;
+        }
+    }
+}
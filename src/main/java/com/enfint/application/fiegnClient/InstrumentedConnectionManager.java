@@ -0,0 +1,96 @@
+package com.enfint.application.fiegnClient;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pool for deal that records how long callers wait to lease a connection.
+ */
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager implements MeterBinder {
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder acquireTimeouts = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public InstrumentedConnectionManager(Duration timeToLive) {
+        super(timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit unit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return request.get(timeout, unit);
+                } catch (ConnectionPoolTimeoutException e) {
+                    acquireTimeouts.increment();
+                    throw e;
+                } finally {
+                    long waited = System.nanoTime() - start;
+                    acquisitions.increment();
+                    waitNanos.add(waited);
+                    maxWaitNanos.accumulate(waited);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("deal.pool.connections", this, pool -> pool.getTotalStats().getLeased())
+                .description("Deal connections by state").tag("state", "leased").register(registry);
+        Gauge.builder("deal.pool.connections", this, pool -> pool.getTotalStats().getAvailable())
+                .description("Deal connections by state").tag("state", "idle").register(registry);
+        Gauge.builder("deal.pool.pending", this, pool -> pool.getTotalStats().getPending())
+                .description("Calls waiting for a deal connection").register(registry);
+        Gauge.builder("deal.pool.max", this, pool -> pool.getTotalStats().getMax())
+                .description("Deal connection pool size").register(registry);
+        FunctionTimer.builder("deal.pool.acquire", this, InstrumentedConnectionManager::acquisitions,
+                        InstrumentedConnectionManager::totalWaitNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent waiting to lease a deal connection").register(registry);
+        TimeGauge.builder("deal.pool.acquire.max", this, TimeUnit.NANOSECONDS, InstrumentedConnectionManager::maxWaitNanos)
+                .description("Longest wait to lease a deal connection since startup").register(registry);
+        FunctionCounter.builder("deal.pool.acquire.timeouts", this, InstrumentedConnectionManager::acquireTimeouts)
+                .description("Calls that gave up waiting for a deal connection").register(registry);
+    }
+
+    public long acquisitions() {
+        return acquisitions.sum();
+    }
+
+    public long acquireTimeouts() {
+        return acquireTimeouts.sum();
+    }
+
+    public long totalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    public long maxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+}
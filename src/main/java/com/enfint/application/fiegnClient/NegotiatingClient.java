@@ -0,0 +1,36 @@
+package com.enfint.application.fiegnClient;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * Reports the formats each deal instance answers with to {@link WireFormatNegotiation}, sends JSON to instances
+ * that have not switched to the binary format and resends a call whose binary body got a {@code 415} as JSON.
+ * Sits below {@link BalancingClient}, so it sees the instance a call goes to.
+ */
+public class NegotiatingClient implements Client {
+    private final Client delegate;
+    private final WireFormatNegotiation negotiation;
+
+    public NegotiatingClient(Client delegate, WireFormatNegotiation negotiation) {
+        this.delegate = delegate;
+        this.negotiation = negotiation;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Request outgoing = negotiation.needsJson(request) ? negotiation.toJson(request) : request;
+        Response response = delegate.execute(outgoing, options);
+        if (!negotiation.onResponse(outgoing, response.status(), response.headers())) {
+            return response;
+        }
+        response.close();
+        Request json = negotiation.toJson(outgoing);
+        Response retried = delegate.execute(json, options);
+        negotiation.onResponse(json, retried.status(), retried.headers());
+        return retried;
+    }
+}
@@ -0,0 +1,30 @@
+package com.enfint.application.fiegnClient;
+
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import org.springframework.http.HttpHeaders;
+
+import java.lang.reflect.Type;
+
+/**
+ * Sets the negotiated {@code Content-Type} before the Spring encoder picks a message converter for it.
+ */
+public class NegotiatingEncoder implements Encoder {
+    private final Encoder delegate;
+    private final WireFormatNegotiation negotiation;
+
+    public NegotiatingEncoder(Encoder delegate, WireFormatNegotiation negotiation) {
+        this.delegate = delegate;
+        this.negotiation = negotiation;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        if (negotiation.isBinaryPreferred()) {
+            template.header(HttpHeaders.CONTENT_TYPE, (String) null);
+            template.header(HttpHeaders.CONTENT_TYPE, negotiation.requestContentType().toString());
+        }
+        delegate.encode(object, bodyType, template);
+    }
+}
@@ -0,0 +1,66 @@
+package com.enfint.application.fiegnClient;
+
+import com.enfint.application.admission.Deadline;
+import com.enfint.application.config.TaskExecutors;
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.exception.DealServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Offloads blocking {@link DealClient} calls to a dedicated executor and returns futures, so the caller's thread
+ * is free while deal is working. The calls still block a thread each: on platform threads at most
+ * {@link DealClientProperties#getAsyncThreads()} deal calls run at once and at most
+ * {@link DealClientProperties#getAsyncQueueSize()} wait for a thread; further calls fail right away with
+ * {@link DealServiceUnavailableException}. Only with virtual threads enabled is concurrency left to the
+ * connection pool. The caller's {@link Deadline} travels with the call.
+ */
+@Component
+@Slf4j
+public class OffloadingDealClient {
+    private static final Duration SATURATED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final DealClient dealClient;
+    private final ExecutorService executor;
+
+    public OffloadingDealClient(DealClient dealClient, DealClientProperties properties, TaskExecutors taskExecutors) {
+        this.dealClient = dealClient;
+        this.executor = taskExecutors.newBoundedExecutor("deal-async-", properties.getAsyncThreads(),
+                properties.getAsyncQueueSize());
+    }
+
+    public CompletableFuture<List<LoanOfferDTO>> getLoanOffers(LoanApplicationRequestDTO loanApplicationRequest) {
+        return offload(() -> dealClient.getLoanOffers(loanApplicationRequest));
+    }
+
+    public CompletableFuture<Void> updateApplication(LoanOfferDTO loanOffer) {
+        return offload(() -> {
+            dealClient.updateApplication(loanOffer);
+            return null;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> offload(Supplier<T> dealCall) {
+        try {
+            return CompletableFuture.supplyAsync(Deadline.propagate(dealCall), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("******************** async deal call queue full ********************");
+            return CompletableFuture.failedFuture(
+                    new DealServiceUnavailableException("Too many queued deal calls", SATURATED_RETRY_AFTER));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.enfint.application.fiegnClient;
+
+import com.enfint.application.config.TaskExecutors;
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.exception.DeadlineExceededException;
+import com.enfint.application.exception.DealServiceUnavailableException;
+import com.enfint.application.resilience.AdaptiveLimiter;
+import com.enfint.application.resilience.Bulkhead;
+import com.enfint.application.resilience.CircuitBreaker;
+import com.enfint.application.resilience.DealResilienceProperties;
+import com.enfint.application.resilience.IdempotentCallPolicy;
+import com.enfint.application.resilience.RetryBudget;
+import feign.FeignException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * {@link DealClient} guarded by a circuit breaker, a bulkhead per operation and an adaptive concurrency limit.
+ * Shed calls fail with {@link DealServiceUnavailableException} without touching deal. {@code getLoanOffers} is
+ * idempotent and additionally retried and optionally hedged by an {@link IdempotentCallPolicy}, each attempt passing
+ * the guards on its own; {@code updateApplication} is sent exactly once.
+ */
+@Component
+@Primary
+@Slf4j
+@ConditionalOnProperty(prefix = "application.deal.resilience", name = "enabled", matchIfMissing = true)
+public class ResilientDealClient implements DealClient {
+    private static final Duration LIMITED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final DealClient delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead offersBulkhead;
+    private final Bulkhead updatesBulkhead;
+    private final AdaptiveLimiter limiter;
+    private final ExecutorService hedgeExecutor;
+    private final IdempotentCallPolicy offersPolicy;
+
+    public ResilientDealClient(@Qualifier("conveyorClient") DealClient delegate, DealResilienceProperties properties,
+                               TaskExecutors taskExecutors, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.circuitBreaker = new CircuitBreaker(properties.getCircuitBreaker());
+        this.offersBulkhead = new Bulkhead(properties.getOffers());
+        this.updatesBulkhead = new Bulkhead(properties.getUpdates());
+        this.limiter = new AdaptiveLimiter(properties.getLimiter());
+        this.hedgeExecutor = properties.getHedging().isEnabled()
+                ? taskExecutors.newExecutor("deal-hedge-", properties.getHedging().getThreads())
+                : null;
+        this.offersPolicy = new IdempotentCallPolicy(properties.getRetry(), properties.getHedging(),
+                new RetryBudget(properties.getRetry()), hedgeExecutor);
+        registerGauges(meterRegistry);
+    }
+
+    @Override
+    public List<LoanOfferDTO> getLoanOffers(LoanApplicationRequestDTO loanApplicationRequest) {
+        return offersPolicy.call(
+                () -> call("getLoanOffers", offersBulkhead, () -> delegate.getLoanOffers(loanApplicationRequest)),
+                ResilientDealClient::isRetryable);
+    }
+
+    @Override
+    public void updateApplication(LoanOfferDTO loanOffer) {
+        call("updateApplication", updatesBulkhead, () -> {
+            delegate.updateApplication(loanOffer);
+            return null;
+        });
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getOffersBulkhead() {
+        return offersBulkhead;
+    }
+
+    public Bulkhead getUpdatesBulkhead() {
+        return updatesBulkhead;
+    }
+
+    public AdaptiveLimiter getLimiter() {
+        return limiter;
+    }
+
+    public IdempotentCallPolicy getOffersPolicy() {
+        return offersPolicy;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+    }
+
+    private void registerGauges(MeterRegistry registry) {
+        Gauge.builder("deal.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Deal circuit breaker state: 0 closed, 1 open, 2 half-open").register(registry);
+        Gauge.builder("deal.limiter.limit", limiter, AdaptiveLimiter::getLimit)
+                .description("Current adaptive concurrency limit for deal calls").register(registry);
+        Gauge.builder("deal.limiter.inflight", limiter, AdaptiveLimiter::getInFlight)
+                .description("Deal calls in flight").register(registry);
+        Gauge.builder("deal.bulkhead.in.use", offersBulkhead, Bulkhead::inUse)
+                .description("Bulkhead permits in use").tag("operation", "getLoanOffers").register(registry);
+        Gauge.builder("deal.bulkhead.in.use", updatesBulkhead, Bulkhead::inUse)
+                .description("Bulkhead permits in use").tag("operation", "updateApplication").register(registry);
+        FunctionCounter.builder("deal.retries", offersPolicy, IdempotentCallPolicy::retries)
+                .description("getLoanOffers attempts retried after a failure").register(registry);
+        FunctionCounter.builder("deal.hedges", offersPolicy, IdempotentCallPolicy::hedges)
+                .description("getLoanOffers hedge requests sent").register(registry);
+        FunctionCounter.builder("deal.hedge.wins", offersPolicy, IdempotentCallPolicy::hedgeWins)
+                .description("getLoanOffers calls answered by the hedge").register(registry);
+        FunctionCounter.builder("deal.retry.budget.exhausted", offersPolicy, IdempotentCallPolicy::budgetExhausted)
+                .description("Retries and hedges skipped for lack of budget").register(registry);
+        Gauge.builder("deal.retry.budget.balance", offersPolicy, policy -> policy.getBudget().getBalance())
+                .description("Retries and hedges currently affordable").register(registry);
+    }
+
+    private <T> T call(String operation, Bulkhead bulkhead, Supplier<T> dealCall) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new DealServiceUnavailableException("Deal service circuit is open", circuitBreaker.remainingOpen());
+        }
+        if (!bulkhead.tryEnter()) {
+            circuitBreaker.releasePermission();
+            log.warn("******************** {} bulkhead full ********************", operation);
+            throw new DealServiceUnavailableException("Too many concurrent " + operation + " calls", LIMITED_RETRY_AFTER);
+        }
+        try {
+            if (!limiter.tryAcquire()) {
+                circuitBreaker.releasePermission();
+                log.warn("******************** deal concurrency limit {} reached ********************", limiter.getLimit());
+                throw new DealServiceUnavailableException("Deal service concurrency limit reached", LIMITED_RETRY_AFTER);
+            }
+            long start = System.nanoTime();
+            boolean settled = false;
+            try {
+                T result = dealCall.get();
+                limiter.onSuccess(System.nanoTime() - start);
+                circuitBreaker.onSuccess();
+                settled = true;
+                return result;
+            } catch (RuntimeException e) {
+                if (e instanceof DeadlineExceededException) {
+                    // Deal has not answered yet, so this is no success; hand back a half-open trial permit.
+                    limiter.onTimedOut(System.nanoTime() - start);
+                    circuitBreaker.releasePermission();
+                } else if (isDealFailure(e)) {
+                    limiter.onDropped();
+                    circuitBreaker.onError();
+                } else {
+                    limiter.onIgnored();
+                    circuitBreaker.onSuccess();
+                }
+                settled = true;
+                throw e;
+            } finally {
+                // An Error says nothing about deal; release the slot and permit without recording an outcome.
+                if (!settled) {
+                    limiter.onIgnored();
+                    circuitBreaker.releasePermission();
+                }
+            }
+        } finally {
+            bulkhead.exit();
+        }
+    }
+
+    /**
+     * Deal failures are worth another attempt; shed calls are not, deal is already known to be unhealthy.
+     */
+    private static boolean isRetryable(RuntimeException e) {
+        return !(e instanceof DealServiceUnavailableException) && isDealFailure(e);
+    }
+
+    /**
+     * Whether the failure is deal's fault: shed calls, transport errors and {@code 5xx}, but neither rejected
+     * requests nor callers out of time. A caller running out of time is no success either; the guards release
+     * such calls without recording an outcome.
+     */
+    public static boolean isDealFailure(RuntimeException e) {
+        if (e instanceof DeadlineExceededException) {
+            return false;
+        }
+        if (e instanceof FeignException) {
+            int status = ((FeignException) e).status();
+            return status < 400 || status >= 500;
+        }
+        return true;
+    }
+}
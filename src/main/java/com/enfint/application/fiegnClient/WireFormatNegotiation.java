@@ -0,0 +1,183 @@
+package com.enfint.application.fiegnClient;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import feign.Request;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import feign.Util;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Negotiates the body format with each deal instance, told apart by scheme, host and port. Requests always offer
+ * the preferred binary format in {@code Accept} with JSON as fallback. Request bodies stay JSON until an instance
+ * has answered in the binary format, and then switch to it for that instance only. A {@code 415} to a binary body
+ * switches that instance back to JSON for good. Bodies are encoded before the instance is chosen, so
+ * {@link NegotiatingClient} transcodes binary bodies to JSON for instances that have not switched and resends
+ * a rejected call as JSON.
+ */
+@Component
+@Slf4j
+public class WireFormatNegotiation implements RequestInterceptor {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final WireFormat preferred;
+    private final JsonFactory binary;
+    private final String accept;
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile int binaryEndpoints;
+
+    public WireFormatNegotiation(DealClientProperties properties) {
+        this.preferred = properties.getWireFormat();
+        this.binary = factory(preferred);
+        this.accept = preferred == WireFormat.JSON
+                ? MediaType.APPLICATION_JSON_VALUE
+                : preferred.getMediaType() + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.9";
+    }
+
+    public boolean isBinaryPreferred() {
+        return preferred != WireFormat.JSON;
+    }
+
+    /**
+     * Binary once any instance has switched to it; {@link NegotiatingClient} transcodes for the others.
+     */
+    public MediaType requestContentType() {
+        return binaryEndpoints > 0 ? preferred.getMediaType() : MediaType.APPLICATION_JSON;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        template.header(HttpHeaders.ACCEPT, (String) null);
+        template.header(HttpHeaders.ACCEPT, accept);
+    }
+
+    /**
+     * Whether {@code request} carries a binary body the instance it is sent to has not switched to.
+     */
+    boolean needsJson(Request request) {
+        if (!isPreferred(request.headers())) {
+            return false;
+        }
+        Endpoint endpoint = endpoints.get(origin(request.url()));
+        return endpoint == null || !endpoint.confirmed || endpoint.rejected;
+    }
+
+    /**
+     * @return whether the instance rejected the binary body of this request, which then has to be resent as JSON
+     */
+    boolean onResponse(Request request, int status, Map<String, Collection<String>> responseHeaders) {
+        if (!isBinaryPreferred()) {
+            return false;
+        }
+        String origin = origin(request.url());
+        Endpoint endpoint = endpoints.computeIfAbsent(origin, key -> new Endpoint());
+        if (status == HttpStatus.UNSUPPORTED_MEDIA_TYPE.value() && isPreferred(request.headers())) {
+            reject(origin, endpoint);
+            return true;
+        }
+        if (!endpoint.confirmed && !endpoint.rejected && isPreferred(responseHeaders)) {
+            confirm(origin, endpoint);
+        }
+        return false;
+    }
+
+    /**
+     * Copies {@code request} with its binary body transcoded to JSON.
+     */
+    Request toJson(Request request) throws IOException {
+        byte[] body = request.body() == null ? new byte[0] : request.body();
+        ByteArrayOutputStream json = new ByteArrayOutputStream(body.length * 2);
+        try (JsonParser parser = binary.createParser(body);
+             JsonGenerator generator = JSON.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        request.headers().forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !Util.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.put(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE));
+        return Request.create(request.httpMethod(), request.url(), headers, json.toByteArray(),
+                StandardCharsets.UTF_8, request.requestTemplate());
+    }
+
+    private synchronized void confirm(String origin, Endpoint endpoint) {
+        if (endpoint.confirmed || endpoint.rejected) {
+            return;
+        }
+        endpoint.confirmed = true;
+        binaryEndpoints++;
+        log.info("******************** deal {} speaks {}, switching request bodies ********************", origin, preferred);
+    }
+
+    private synchronized void reject(String origin, Endpoint endpoint) {
+        if (endpoint.rejected) {
+            return;
+        }
+        if (endpoint.confirmed) {
+            binaryEndpoints--;
+        }
+        endpoint.rejected = true;
+        log.warn("******************** deal {} rejected {} request bodies, falling back to JSON ********************",
+                origin, preferred);
+    }
+
+    private boolean isPreferred(Map<String, Collection<String>> headers) {
+        if (!isBinaryPreferred()) {
+            return false;
+        }
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey())) {
+                for (String value : header.getValue()) {
+                    if (preferred.getMediaType().isCompatibleWith(MediaType.parseMediaType(value))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    private static JsonFactory factory(WireFormat format) {
+        switch (format) {
+            case CBOR:
+                return new CBORFactory();
+            case SMILE:
+                return new SmileFactory();
+            default:
+                return JSON;
+        }
+    }
+
+    private static final class Endpoint {
+        private volatile boolean confirmed;
+        private volatile boolean rejected;
+    }
+}
@@ -0,0 +1,21 @@
+package com.enfint.application.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "application.idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    /**
+     * How long a completed call is remembered after it started.
+     */
+    private Duration retention = Duration.ofHours(24);
+    /**
+     * Keys remembered at most; each entry holds the key and the selected offer, well under 1 KB.
+     */
+    private long maxEntries = 50_000;
+    private int maxKeyLength = 255;
+}
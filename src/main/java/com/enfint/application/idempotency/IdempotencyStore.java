@@ -0,0 +1,172 @@
+package com.enfint.application.idempotency;
+
+import com.enfint.application.admission.Deadline;
+import com.enfint.application.exception.DeadlineExceededException;
+import com.enfint.application.exception.IdempotencyKeyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs a call once per {@code Idempotency-Key}. Repeats of a completed call return its outcome, repeats of a call
+ * still in flight wait for it, at most until their own {@link Deadline}. Failed calls, including ones ending in an
+ * {@link Error}, are forgotten once they fail, so a later retry reaches deal again; repeats already waiting share
+ * the failure. Reusing a key for a different request is rejected.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore implements MeterBinder {
+    public static final String HEADER = "Idempotency-Key";
+
+    private final IdempotencyProperties properties;
+    private final Cache<String, Entry> entries;
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder awaited = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+
+    public IdempotencyStore(IdempotencyProperties properties) {
+        this.properties = properties;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getRetention())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Runs {@code call} on the calling thread unless {@code key} was seen; {@code null} keys are not deduplicated.
+     */
+    public void execute(String key, Object request, Runnable call) {
+        if (key == null || !properties.isEnabled()) {
+            call.run();
+            return;
+        }
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry first = entries.asMap().putIfAbsent(checked(key), entry);
+        if (first != null) {
+            await(replay(key, first, request));
+            return;
+        }
+        try {
+            call.run();
+            entry.outcome().complete(null);
+        } catch (RuntimeException | Error e) {
+            entries.asMap().remove(key, entry);
+            entry.outcome().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Void> executeAsync(String key, Object request, Supplier<CompletableFuture<Void>> call) {
+        if (key == null || !properties.isEnabled()) {
+            return call.get();
+        }
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry first = entries.asMap().putIfAbsent(checked(key), entry);
+        if (first != null) {
+            return replay(key, first, request).copy();
+        }
+        CompletableFuture<Void> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        } catch (Error e) {
+            entries.asMap().remove(key, entry);
+            entry.outcome().completeExceptionally(e);
+            throw e;
+        }
+        return result.whenComplete((ignored, error) -> {
+            if (error == null) {
+                entry.outcome().complete(null);
+            } else {
+                entries.asMap().remove(key, entry);
+                entry.outcome().completeExceptionally(error);
+            }
+        });
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "idempotency");
+        FunctionCounter.builder("idempotency.replays", replayed, LongAdder::sum)
+                .description("Repeated calls answered with the outcome of the first one").tag("state", "completed")
+                .register(registry);
+        FunctionCounter.builder("idempotency.replays", awaited, LongAdder::sum)
+                .description("Repeated calls answered with the outcome of the first one").tag("state", "in-flight")
+                .register(registry);
+        FunctionCounter.builder("idempotency.key.reused", reused, LongAdder::sum)
+                .description("Idempotency keys rejected because they came with a different request")
+                .register(registry);
+    }
+
+    private String checked(String key) {
+        if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+            throw new IdempotencyKeyException(HEADER + " must be 1 to " + properties.getMaxKeyLength() + " characters");
+        }
+        return key;
+    }
+
+    private CompletableFuture<Void> replay(String key, Entry first, Object request) {
+        if (!first.request().equals(request)) {
+            reused.increment();
+            throw new IdempotencyKeyException(HEADER + " was already used for a different request");
+        }
+        if (first.outcome().isDone()) {
+            replayed.increment();
+        } else {
+            awaited.increment();
+        }
+        log.info("******************** replaying {} {} ********************", HEADER, key);
+        return first.outcome();
+    }
+
+    /**
+     * Waits for the first call at most until the current {@link Deadline}; the first call keeps running.
+     */
+    private static void await(CompletableFuture<Void> outcome) {
+        Deadline deadline = Deadline.current();
+        try {
+            if (deadline == null) {
+                outcome.join();
+            } else {
+                outcome.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline passed while waiting for the first call with "
+                    + "this " + HEADER);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (CompletionException | ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e instanceof CompletionException completion ? completion : new CompletionException(cause);
+        }
+    }
+
+    private record Entry(Object request, CompletableFuture<Void> outcome) {
+    }
+}
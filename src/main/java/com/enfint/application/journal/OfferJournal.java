@@ -0,0 +1,198 @@
+package com.enfint.application.journal;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal in a fixed-size memory-mapped file. Entries are consumed in order from the head: the
+ * offset of the first unacknowledged entry is kept in the file header, so reopening the journal recovers
+ * every entry that was appended but not acknowledged.
+ * <p>
+ * Layout: a {@value #HEADER_SIZE}-byte header ({@code magic, version, ackedOffset}) followed by records of
+ * {@code length, crc32, timestampMillis, payload}. A zero length marks the end; a record whose checksum does
+ * not match is treated as a torn write and ends recovery as well.
+ */
+@Slf4j
+public class OfferJournal implements AutoCloseable {
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_HEADER_SIZE = 16;
+    private static final int MAGIC = 0x4F464A31;
+    private static final int VERSION = 1;
+    private static final int ACKED_OFFSET = 8;
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean fsync;
+    private final CRC32 crc = new CRC32();
+
+    private int ackedOffset;
+    private int writeOffset;
+    private int depth;
+
+    public OfferJournal(Path path, int capacity, boolean fsync) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            boolean created = file.length() == 0;
+            if (!created && file.length() != capacity) {
+                throw new IOException("Journal " + path + " has size " + file.length() + ", expected " + capacity);
+            }
+            file.setLength(capacity);
+            this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            this.capacity = capacity;
+            this.fsync = fsync;
+            if (created) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                writeAckedOffset(HEADER_SIZE);
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not an offer journal: " + path);
+            }
+        }
+        recover();
+    }
+
+    /**
+     * @return {@code false} when the entry does not fit even after dropping acknowledged entries
+     */
+    public synchronized boolean append(byte[] payload, long timestampMillis) {
+        int size = RECORD_HEADER_SIZE + payload.length;
+        if (writeOffset + size > capacity) {
+            compact();
+            if (writeOffset + size > capacity) {
+                return false;
+            }
+        }
+        int position = writeOffset;
+        buffer.putInt(position + 4, checksum(payload));
+        buffer.putLong(position + 8, timestampMillis);
+        buffer.put(position + RECORD_HEADER_SIZE, payload);
+        if (position + size + 4 <= capacity) {
+            buffer.putInt(position + size, 0);
+        }
+        // The length goes last: until it is written, recovery sees the end of the journal here.
+        buffer.putInt(position, payload.length);
+        if (fsync) {
+            buffer.force(position, Math.min(size + 4, capacity - position));
+        }
+        writeOffset += size;
+        depth++;
+        return true;
+    }
+
+    /**
+     * @return the oldest unacknowledged entry, or {@code null} when the journal is drained
+     */
+    public synchronized Entry peek() {
+        if (depth == 0) {
+            return null;
+        }
+        int length = buffer.getInt(ackedOffset);
+        byte[] payload = new byte[length];
+        buffer.get(ackedOffset + RECORD_HEADER_SIZE, payload);
+        return new Entry(payload, buffer.getLong(ackedOffset + 8));
+    }
+
+    /**
+     * Drops the entry last returned by {@link #peek()}.
+     */
+    public synchronized void acknowledge() {
+        if (depth == 0) {
+            throw new IllegalStateException("Journal is empty");
+        }
+        writeAckedOffset(ackedOffset + RECORD_HEADER_SIZE + buffer.getInt(ackedOffset));
+        depth--;
+    }
+
+    public synchronized int depth() {
+        return depth;
+    }
+
+    public synchronized int pendingBytes() {
+        return writeOffset - ackedOffset;
+    }
+
+    /**
+     * @return append time of the oldest unacknowledged entry, or {@code -1} when the journal is drained
+     */
+    public synchronized long oldestTimestamp() {
+        return depth == 0 ? -1 : buffer.getLong(ackedOffset + 8);
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer.force();
+    }
+
+    private void recover() {
+        ackedOffset = buffer.getInt(ACKED_OFFSET);
+        if (ackedOffset < HEADER_SIZE || ackedOffset > capacity) {
+            throw new IllegalStateException("Corrupt journal header, acked offset " + ackedOffset);
+        }
+        int position = ackedOffset;
+        while (position + RECORD_HEADER_SIZE <= capacity) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > capacity) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_HEADER_SIZE, payload);
+            if (checksum(payload) != buffer.getInt(position + 4)) {
+                log.warn("Ignoring torn journal record at offset {}", position);
+                break;
+            }
+            position += RECORD_HEADER_SIZE + length;
+            depth++;
+        }
+        writeOffset = position;
+        if (depth > 0) {
+            log.info("******************** recovered {} unsent offer selections ********************", depth);
+        }
+    }
+
+    /**
+     * Moves the unacknowledged tail to the start of the file. Only done when the copy and its end marker stay
+     * clear of the original entries, so a crash before the header update leaves them intact.
+     */
+    private void compact() {
+        int pending = writeOffset - ackedOffset;
+        if (HEADER_SIZE + pending + 4 > ackedOffset) {
+            return;
+        }
+        buffer.put(HEADER_SIZE, buffer, ackedOffset, pending);
+        buffer.putInt(HEADER_SIZE + pending, 0);
+        buffer.force();
+        writeOffset = HEADER_SIZE + pending;
+        writeAckedOffset(HEADER_SIZE);
+    }
+
+    private void writeAckedOffset(int offset) {
+        ackedOffset = offset;
+        buffer.putInt(ACKED_OFFSET, offset);
+        if (fsync) {
+            buffer.force(ACKED_OFFSET, 4);
+        }
+    }
+
+    private int checksum(byte[] payload) {
+        crc.reset();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    @Value
+    public static class Entry {
+        byte[] payload;
+        long timestampMillis;
+    }
+}
@@ -0,0 +1,35 @@
+package com.enfint.application.journal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "application.offer-journal")
+public class OfferJournalProperties {
+    /**
+     * Acknowledge offer selection once it is journaled and send it to deal in the background.
+     */
+    private boolean enabled = false;
+    private Path path = Path.of("data", "offer-journal.dat");
+    private DataSize capacity = DataSize.ofMegabytes(64);
+    /**
+     * Journal keeping offer selections deal rejected with a 4xx or that cannot be read back, for manual follow-up.
+     */
+    private Path parkedPath = Path.of("data", "offer-journal-parked.dat");
+    private DataSize parkedCapacity = DataSize.ofMegabytes(8);
+    /**
+     * Force every append to disk; without it an append survives a process crash but not an OS crash.
+     */
+    private boolean fsync = false;
+    /**
+     * Entries sent to deal before the sender checks again for new work.
+     */
+    private int batchSize = 64;
+    private Duration pollInterval = Duration.ofMillis(100);
+    private Duration retryInitialBackoff = Duration.ofMillis(200);
+    private Duration retryMaxBackoff = Duration.ofSeconds(30);
+}
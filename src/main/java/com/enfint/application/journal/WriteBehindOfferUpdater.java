@@ -0,0 +1,225 @@
+package com.enfint.application.journal;
+
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.fiegnClient.DealClient;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind offer selection: {@link #submit} journals the offer and returns, a single sender thread replays
+ * the journal to deal in order. An entry is acknowledged only after deal accepted it, so delivery is
+ * at-least-once, including entries recovered from the journal after a restart. Failed sends are retried with
+ * jittered exponential backoff; a 4xx answer means deal will never accept the entry, so it is moved to a separate
+ * parked journal and counted instead of being retried.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "application.offer-journal", name = "enabled", havingValue = "true")
+@Lazy(false)
+public class WriteBehindOfferUpdater {
+    private final OfferJournal journal;
+    private final OfferJournal parked;
+    private final DealClient dealClient;
+    private final ObjectWriter offerWriter;
+    private final ObjectReader offerReader;
+    private final OfferJournalProperties properties;
+    private final ExecutorService sender;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder parkedCount = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile Thread senderThread;
+    private volatile boolean running = true;
+
+    public WriteBehindOfferUpdater(DealClient dealClient, ObjectMapper objectMapper,
+                                   OfferJournalProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.journal = new OfferJournal(properties.getPath(), (int) properties.getCapacity().toBytes(),
+                properties.isFsync());
+        this.parked = new OfferJournal(properties.getParkedPath(), (int) properties.getParkedCapacity().toBytes(),
+                properties.isFsync());
+        this.dealClient = dealClient;
+        this.offerWriter = objectMapper.writerFor(LoanOfferDTO.class);
+        this.offerReader = objectMapper.readerFor(LoanOfferDTO.class);
+        this.properties = properties;
+        this.sender = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("offer-journal-"));
+        registerMeters(meterRegistry);
+        this.sender.execute(this::run);
+    }
+
+    /**
+     * @return {@code false} when the journal is full and the caller has to update deal itself
+     */
+    public boolean submit(LoanOfferDTO loanOffer) {
+        byte[] payload;
+        try {
+            payload = offerWriter.writeValueAsBytes(loanOffer);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Offer cannot be journaled", e);
+        }
+        if (!journal.append(payload, System.currentTimeMillis())) {
+            log.warn("******************** offer journal full, updating deal synchronously ********************");
+            return false;
+        }
+        Thread thread = senderThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    public int queueDepth() {
+        return journal.depth();
+    }
+
+    public int pendingBytes() {
+        return journal.pendingBytes();
+    }
+
+    /**
+     * Age of the oldest offer selection deal has not accepted yet.
+     */
+    public long replayLagMillis() {
+        long oldest = journal.oldestTimestamp();
+        return oldest < 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+    }
+
+    public long sent() {
+        return sent.sum();
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    /**
+     * Offer selections deal would not accept, kept in the parked journal.
+     */
+    public long parked() {
+        return parkedCount.sum();
+    }
+
+    public int parkedDepth() {
+        return parked.depth();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        sender.shutdownNow();
+        sender.awaitTermination(5, TimeUnit.SECONDS);
+        journal.close();
+        parked.close();
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        Gauge.builder("offer.journal.depth", this, WriteBehindOfferUpdater::queueDepth)
+                .description("Offer selections journaled but not yet accepted by deal").register(registry);
+        Gauge.builder("offer.journal.pending", this, WriteBehindOfferUpdater::pendingBytes)
+                .description("Journal bytes not yet accepted by deal").baseUnit("bytes").register(registry);
+        TimeGauge.builder("offer.journal.lag", this, TimeUnit.MILLISECONDS, WriteBehindOfferUpdater::replayLagMillis)
+                .description("Age of the oldest offer selection deal has not accepted").register(registry);
+        FunctionCounter.builder("offer.journal.replayed", this, WriteBehindOfferUpdater::sent)
+                .description("Journaled offer selections by replay outcome").tag("outcome", "sent").register(registry);
+        FunctionCounter.builder("offer.journal.replayed", this, WriteBehindOfferUpdater::parked)
+                .description("Journaled offer selections by replay outcome").tag("outcome", "parked").register(registry);
+        FunctionCounter.builder("offer.journal.replayed", this, WriteBehindOfferUpdater::dropped)
+                .description("Journaled offer selections by replay outcome").tag("outcome", "dropped").register(registry);
+        Gauge.builder("offer.journal.parked", this, WriteBehindOfferUpdater::parkedDepth)
+                .description("Offer selections deal would not accept, awaiting manual follow-up").register(registry);
+        FunctionCounter.builder("offer.journal.retries", this, WriteBehindOfferUpdater::retries)
+                .description("Failed replay attempts that will be retried").register(registry);
+    }
+
+    private void run() {
+        senderThread = Thread.currentThread();
+        long backoffNanos = properties.getRetryInitialBackoff().toNanos();
+        while (running) {
+            try {
+                sendBatch();
+                backoffNanos = properties.getRetryInitialBackoff().toNanos();
+                LockSupport.parkNanos(properties.getPollInterval().toNanos());
+            } catch (RuntimeException e) {
+                retries.increment();
+                log.warn("Offer journal replay failed, retrying in {} ms: {}", backoffNanos / 1_000_000, e.toString());
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(backoffNanos / 2, backoffNanos + 1));
+                backoffNanos = Math.min(backoffNanos * 2, properties.getRetryMaxBackoff().toNanos());
+            }
+            if (Thread.interrupted()) {
+                return;
+            }
+        }
+    }
+
+    private void sendBatch() {
+        for (int i = 0; i < properties.getBatchSize() && running; i++) {
+            OfferJournal.Entry entry = journal.peek();
+            if (entry == null) {
+                return;
+            }
+            LoanOfferDTO loanOffer = read(entry);
+            if (loanOffer != null && deliver(loanOffer)) {
+                sent.increment();
+            } else {
+                park(entry);
+            }
+            journal.acknowledge();
+        }
+    }
+
+    private void park(OfferJournal.Entry entry) {
+        if (parked.append(entry.getPayload(), entry.getTimestampMillis())) {
+            parkedCount.increment();
+        } else {
+            log.error("******************** parked offer journal full, dropping offer selection ********************");
+            dropped.increment();
+        }
+    }
+
+    private boolean deliver(LoanOfferDTO loanOffer) {
+        try {
+            dealClient.updateApplication(loanOffer);
+            return true;
+        } catch (FeignException e) {
+            if (e.status() >= 400 && e.status() < 500) {
+                log.error("Deal rejected journaled offer for application {}, parking it: {}",
+                        loanOffer.getApplicationId(), e.getMessage());
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private LoanOfferDTO read(OfferJournal.Entry entry) {
+        try {
+            return offerReader.readValue(entry.getPayload());
+        } catch (IOException e) {
+            log.error("Parking unreadable journal entry: {}", e.getMessage());
+            return null;
+        }
+    }
+}
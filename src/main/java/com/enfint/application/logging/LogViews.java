@@ -0,0 +1,88 @@
+package com.enfint.application.logging;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+
+/**
+ * Log arguments that render DTOs lazily and without personal data. Nothing is formatted unless the event is
+ * actually logged, and only the fields support needs are printed: names, email and passport are masked, the
+ * birthdate is reduced to its year.
+ */
+public final class LogViews {
+
+    private LogViews() {
+    }
+
+    public static Object of(LoanApplicationRequestDTO request) {
+        return new Object() {
+            @Override
+            public String toString() {
+                if (request == null) {
+                    return "null";
+                }
+                StringBuilder builder = new StringBuilder(128).append("LoanApplicationRequest(amount=")
+                        .append(request.getAmount())
+                        .append(", term=").append(request.getTerm())
+                        .append(", firstName=");
+                initial(builder, request.getFirstName());
+                builder.append(", lastName=");
+                initial(builder, request.getLastName());
+                builder.append(", email=");
+                email(builder, request.getEmail());
+                builder.append(", birthYear=")
+                        .append(request.getBirthdate() == null ? null : request.getBirthdate().getYear())
+                        .append(", passport=");
+                tail(builder, request.getPassportNumber(), 2);
+                return builder.append(')').toString();
+            }
+        };
+    }
+
+    public static Object of(LoanOfferDTO offer) {
+        return new Object() {
+            @Override
+            public String toString() {
+                if (offer == null) {
+                    return "null";
+                }
+                return "LoanOffer(applicationId=" + offer.getApplicationId()
+                        + ", requestedAmount=" + offer.getRequestedAmount()
+                        + ", term=" + offer.getTerm()
+                        + ", rate=" + offer.getRate()
+                        + ", insurance=" + offer.getIsInsuranceEnabled()
+                        + ", salaryClient=" + offer.getIsSalaryClient() + ')';
+            }
+        };
+    }
+
+    static void initial(StringBuilder builder, String value) {
+        if (value == null || value.isEmpty()) {
+            builder.append(value);
+            return;
+        }
+        builder.append(value.charAt(0)).append("***");
+    }
+
+    static void email(StringBuilder builder, String email) {
+        int at = email == null ? -1 : email.indexOf('@');
+        if (at < 0) {
+            builder.append(email == null ? null : "***");
+            return;
+        }
+        if (at > 0) {
+            builder.append(email.charAt(0));
+        }
+        builder.append("***").append(email, at, email.length());
+    }
+
+    static void tail(StringBuilder builder, String value, int visible) {
+        if (value == null) {
+            builder.append((String) null);
+            return;
+        }
+        builder.append("***");
+        if (value.length() > visible * 2) {
+            builder.append(value, value.length() - visible, value.length());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.enfint.application.logging;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class RequestLoggingConfig {
+
+    @Bean
+    public RequestSamplingFilter requestSamplingFilter(RequestLoggingProperties properties) {
+        return new RequestSamplingFilter(properties);
+    }
+}
@@ -0,0 +1,24 @@
+package com.enfint.application.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "application.request-logging")
+public class RequestLoggingProperties {
+    /**
+     * Share of requests, between 0 and 1, whose INFO logging is kept for paths without their own rate.
+     */
+    private double defaultSampleRate = 1.0;
+    /**
+     * Sample rate per request path, e.g. {@code "[/application/]": 0.05}.
+     */
+    private Map<String, Double> sampleRates = new LinkedHashMap<>();
+    /**
+     * Capacity of the async appender queue; read by logback-spring.xml at startup.
+     */
+    private int asyncQueueSize = 8192;
+}
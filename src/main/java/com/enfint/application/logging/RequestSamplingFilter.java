@@ -0,0 +1,55 @@
+package com.enfint.application.logging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once per request whether its INFO logging is kept, and tags the request thread's MDC with a request
+ * id and the decision. {@link SampledLogFilter} drops INFO and below for unsampled requests; sampled ones end
+ * with a single access line.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class RequestSamplingFilter extends OncePerRequestFilter {
+    public static final String REQUEST_ID = "requestId";
+    public static final String SAMPLED = "sampled";
+
+    private final RequestLoggingProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        boolean sampled = isSampled(path);
+        long start = System.nanoTime();
+        MDC.put(REQUEST_ID, Long.toHexString(ThreadLocalRandom.current().nextLong()));
+        MDC.put(SAMPLED, sampled ? "true" : "false");
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (sampled) {
+                log.info("request method={} path={} status={} durationMs={}", request.getMethod(), path,
+                        response.getStatus(), (System.nanoTime() - start) / 1_000_000);
+            }
+            MDC.remove(REQUEST_ID);
+            MDC.remove(SAMPLED);
+        }
+    }
+
+    private boolean isSampled(String path) {
+        double rate = properties.getSampleRates().getOrDefault(path, properties.getDefaultSampleRate());
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,23 @@
+package com.enfint.application.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Denies INFO and lower events on threads serving a request that {@link RequestSamplingFilter} did not sample,
+ * before the event or its message is ever built. Threads outside a request are not affected.
+ */
+public class SampledLogFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != null && level.toInt() <= Level.INFO_INT && "false".equals(MDC.get(RequestSamplingFilter.SAMPLED))) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,108 @@
+package com.enfint.application.metrics;
+
+import com.enfint.application.validation.PreScoringObserver;
+import com.enfint.application.validation.PreScoringResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-scoring outcome counters, rejections per rule and optional per-rule timers. Every meter is registered
+ * when the registry binds this component, so recording is a map lookup and an increment.
+ */
+@Component
+public class PreScoringMetrics implements PreScoringObserver, MeterBinder {
+    static final List<String> RULES = List.of("amount", "birthdate", "firstName", "lastName", "middleName",
+            "email", "term", "passportNumber", "passportSeries");
+
+    private final boolean ruleTimers;
+    private volatile Meters meters;
+
+    public PreScoringMetrics(MetricsProperties properties) {
+        this.ruleTimers = properties.isRuleTimers();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Map<String, Counter> rejections = new HashMap<>();
+        Map<String, Timer> timers = new HashMap<>();
+        for (String rule : RULES) {
+            rejections.put(rule, Counter.builder("application.prescoring.rejections")
+                    .description("Pre-scoring violations by rule")
+                    .tag("rule", rule)
+                    .register(registry));
+            if (ruleTimers) {
+                timers.put(rule, Timer.builder("application.prescoring.rule")
+                        .description("Time spent in one pre-scoring rule")
+                        .tag("rule", rule)
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+        }
+        meters = new Meters(outcome(registry, "accepted"), outcome(registry, "rejected"), rejections, timers);
+    }
+
+    @Override
+    public long ruleStarted() {
+        return ruleTimers ? System.nanoTime() : 0;
+    }
+
+    @Override
+    public long ruleFinished(String rule, long startNanos) {
+        Meters bound = meters;
+        if (!ruleTimers || bound == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        bound.timersByRule.get(rule).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    @Override
+    public void completed(PreScoringResult result) {
+        Meters bound = meters;
+        if (bound == null) {
+            return;
+        }
+        if (result.isAccepted()) {
+            bound.accepted.increment();
+            return;
+        }
+        bound.rejected.increment();
+        for (int i = 0; i < result.size(); i++) {
+            Counter counter = bound.rejectionsByRule.get(result.get(i).getField());
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("application.prescoring.requests")
+                .description("Pre-scored applications by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static final class Meters {
+        private final Counter accepted;
+        private final Counter rejected;
+        private final Map<String, Counter> rejectionsByRule;
+        private final Map<String, Timer> timersByRule;
+
+        private Meters(Counter accepted, Counter rejected, Map<String, Counter> rejectionsByRule,
+                       Map<String, Timer> timersByRule) {
+            this.accepted = accepted;
+            this.rejected = rejected;
+            this.rejectionsByRule = rejectionsByRule;
+            this.timersByRule = timersByRule;
+        }
+    }
+}
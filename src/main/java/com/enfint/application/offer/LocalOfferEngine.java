@@ -0,0 +1,78 @@
+package com.enfint.application.offer;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Computes the four standard offers (insurance × salary client) without deal, ordered by rate descending like deal
+ * orders them. See {@link FixedPointAnnuity} for the rounding tolerance.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.offer-engine", name = "enabled", havingValue = "true")
+public class LocalOfferEngine {
+    private final OfferEngineProperties properties;
+    private final List<Variant> variants;
+
+    public LocalOfferEngine(OfferEngineProperties properties) {
+        this.properties = properties;
+        List<Variant> variants = new ArrayList<>();
+        for (boolean insurance : new boolean[]{false, true}) {
+            for (boolean salaryClient : new boolean[]{false, true}) {
+                BigDecimal rate = properties.getBaseRate();
+                if (insurance) {
+                    rate = rate.add(properties.getInsuranceRateAdjustment());
+                }
+                if (salaryClient) {
+                    rate = rate.add(properties.getSalaryClientRateAdjustment());
+                }
+                variants.add(new Variant(insurance, salaryClient, rate,
+                        new FixedPointAnnuity(basisPoints(rate))));
+            }
+        }
+        variants.sort(Comparator.comparing(Variant::rate).reversed());
+        this.variants = List.copyOf(variants);
+    }
+
+    public boolean isFallback() {
+        return properties.isFallback();
+    }
+
+    public List<LoanOfferDTO> getLoanOffers(LoanApplicationRequestDTO loanApplicationRequest) {
+        BigDecimal amount = loanApplicationRequest.getAmount().setScale(2, RoundingMode.HALF_UP);
+        long principalCents = amount.unscaledValue().longValueExact();
+        int term = loanApplicationRequest.getTerm();
+        List<LoanOfferDTO> offers = new ArrayList<>(variants.size());
+        for (Variant variant : variants) {
+            long monthlyCents = variant.annuity().monthlyPaymentCents(principalCents, term);
+            offers.add(LoanOfferDTO.builder()
+                    .requestedAmount(loanApplicationRequest.getAmount())
+                    .totalAmount(BigDecimal.valueOf(Math.multiplyExact(monthlyCents, term), 2))
+                    .term(term)
+                    .monthlyPayment(BigDecimal.valueOf(monthlyCents, 2))
+                    .rate(variant.rate())
+                    .isInsuranceEnabled(variant.insurance())
+                    .isSalaryClient(variant.salaryClient())
+                    .build());
+        }
+        return offers;
+    }
+
+    private static int basisPoints(BigDecimal rate) {
+        try {
+            return rate.movePointRight(2).intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Offer rate " + rate + "% has more than two decimals", e);
+        }
+    }
+
+    private record Variant(boolean insurance, boolean salaryClient, BigDecimal rate, FixedPointAnnuity annuity) {
+    }
+}
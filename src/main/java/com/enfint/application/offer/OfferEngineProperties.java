@@ -0,0 +1,26 @@
+package com.enfint.application.offer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+@Data
+@ConfigurationProperties(prefix = "application.offer-engine")
+public class OfferEngineProperties {
+    /**
+     * Compute offers locally for {@code POST /application/preview}.
+     */
+    private boolean enabled = false;
+    /**
+     * Answer with locally computed offers when deal fails or sheds the call. Such offers carry no
+     * {@code applicationId} and cannot be selected.
+     */
+    private boolean fallback = false;
+    /**
+     * Annual rates in percent with at most two decimals.
+     */
+    private BigDecimal baseRate = BigDecimal.valueOf(24);
+    private BigDecimal insuranceRateAdjustment = BigDecimal.valueOf(-10);
+    private BigDecimal salaryClientRateAdjustment = BigDecimal.valueOf(-8);
+}
@@ -0,0 +1,39 @@
+package com.enfint.application.ratelimit;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Applies the rate limit to every handler reading a {@link LoanApplicationRequestDTO}, once the body is read so the
+ * applicant email is available as a key. Does nothing when the rate limit is disabled. Batches are charged per
+ * item by {@link com.enfint.application.batch.BatchOfferService}.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class RateLimitAdvice extends RequestBodyAdviceAdapter {
+    private final ObjectProvider<RateLimiter> rateLimiter;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == LoanApplicationRequestDTO.class && rateLimiter.getIfAvailable() != null;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        rateLimiter.getObject().acquire(attributes.getRequest(), (LoanApplicationRequestDTO) body);
+        return body;
+    }
+}
@@ -0,0 +1,31 @@
+package com.enfint.application.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "application.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties) {
+        return new RateLimiter(properties);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    @Lazy(false)
+    public ScheduledExecutorService rateLimitEvictor(RateLimiter rateLimiter, RateLimitProperties properties) {
+        ScheduledExecutorService evictor =
+                Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("rate-limit-evictor-"));
+        long intervalMillis = properties.getEvictionInterval().toMillis();
+        evictor.scheduleWithFixedDelay(rateLimiter::evictIdle, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return evictor;
+    }
+}
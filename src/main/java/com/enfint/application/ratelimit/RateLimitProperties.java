@@ -0,0 +1,47 @@
+package com.enfint.application.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "application.rate-limit")
+public class RateLimitProperties {
+    public enum Key {
+        IP,
+        /**
+         * Value of {@link #apiKeyHeader}, falling back to the client IP when absent.
+         */
+        API_KEY,
+        /**
+         * Applicant email, lower-cased and without a {@code +tag}, falling back to the client IP when absent.
+         */
+        EMAIL
+    }
+
+    /**
+     * Off by default: behind a gateway every caller shares the proxy's address, so {@code key: ip} needs
+     * {@link #trustForwardedFor} there or all traffic lands in a single bucket.
+     */
+    private boolean enabled = false;
+    private Key key = Key.IP;
+    private String apiKeyHeader = "X-Api-Key";
+    /**
+     * Use the first {@code X-Forwarded-For} hop as the client IP; only safe behind a proxy that sets it.
+     */
+    private boolean trustForwardedFor = false;
+    /**
+     * Sustained applications per second allowed per client.
+     */
+    private double permitsPerSecond = 10;
+    /**
+     * Applications a client may send back to back after being idle.
+     */
+    private int burst = 50;
+    /**
+     * Buckets untouched for this long after refilling completely are dropped.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(5);
+    private Duration evictionInterval = Duration.ofMinutes(1);
+}
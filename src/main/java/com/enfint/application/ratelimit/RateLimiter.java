@@ -0,0 +1,108 @@
+package com.enfint.application.ratelimit;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits loan applications per client, identified as configured by {@link RateLimitProperties#getKey()}.
+ */
+@Slf4j
+public class RateLimiter implements MeterBinder {
+    private final RateLimitProperties properties;
+    private final TokenBuckets buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, new TokenBuckets(properties.getPermitsPerSecond(), properties.getBurst()));
+    }
+
+    RateLimiter(RateLimitProperties properties, TokenBuckets buckets) {
+        this.properties = properties;
+        this.buckets = buckets;
+    }
+
+    /**
+     * @throws RateLimitExceededException when the client has used up its bucket
+     */
+    public void acquire(HttpServletRequest request, LoanApplicationRequestDTO application) {
+        long waitNanos = buckets.tryAcquire(key(request, application));
+        if (waitNanos > 0) {
+            rejected.increment();
+            throw new RateLimitExceededException(waitNanos);
+        }
+    }
+
+    String key(HttpServletRequest request, LoanApplicationRequestDTO application) {
+        switch (properties.getKey()) {
+            case API_KEY -> {
+                String apiKey = request.getHeader(properties.getApiKeyHeader());
+                if (apiKey != null && !apiKey.isBlank()) {
+                    return "key:" + apiKey.trim();
+                }
+            }
+            case EMAIL -> {
+                String email = application == null ? null : normalizeEmail(application.getEmail());
+                if (email != null) {
+                    return "email:" + email;
+                }
+            }
+            default -> {
+            }
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        int at = normalized.lastIndexOf('@');
+        int plus = normalized.indexOf('+');
+        if (at > 0 && plus >= 0 && plus < at) {
+            normalized = normalized.substring(0, plus) + normalized.substring(at);
+        }
+        return normalized;
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    public void evictIdle() {
+        int evicted = buckets.evictIdle(properties.getIdleTimeout().toNanos());
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets, {} left", evicted, buckets.size());
+        }
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("application.rate.limit.rejected", rejected, LongAdder::sum)
+                .description("Applications rejected by the per-client rate limit")
+                .register(registry);
+        Gauge.builder("application.rate.limit.buckets", buckets, TokenBuckets::size)
+                .description("Clients with a rate limit bucket")
+                .register(registry);
+    }
+}
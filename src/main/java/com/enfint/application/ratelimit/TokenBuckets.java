@@ -0,0 +1,72 @@
+package com.enfint.application.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by client. Each bucket is a single {@code long} holding the time at which it will be full
+ * again (the GCRA form of a token bucket), so taking a token is one CAS and clients never share a lock; the map
+ * itself is a {@link ConcurrentHashMap}, whose reads are lock-free and whose writes lock a single bin.
+ */
+public class TokenBuckets {
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoTime;
+
+    public TokenBuckets(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBuckets(double permitsPerSecond, int burst, LongSupplier nanoTime) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Takes a token from the bucket of {@code key}.
+     *
+     * @return {@code 0} when a token was taken, otherwise nanoseconds until one will be available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key);
+        long now = nanoTime.getAsLong();
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have been full for at least {@code idleNanos}. A client racing with its own eviction may
+     * get one extra burst, which is cheaper than locking every acquire against the sweep.
+     *
+     * @return number of buckets dropped
+     */
+    public int evictIdle(long idleNanos) {
+        long cutoff = nanoTime.getAsLong() - idleNanos;
+        int evicted = 0;
+        for (var entry : buckets.entrySet()) {
+            if (entry.getValue().get() - cutoff <= 0 && buckets.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,75 @@
+package com.enfint.application.resilience;
+
+/**
+ * AIMD concurrency limit: grows by one while calls are fast and the limit is actually used, and shrinks
+ * multiplicatively when a call is slower than the latency threshold or fails.
+ */
+public class AdaptiveLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveLimiter(DealResilienceProperties.Limiter properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.limit = properties.getInitialLimit();
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void onSuccess(long latencyNanos) {
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        inFlight--;
+    }
+
+    public synchronized void onDropped() {
+        decrease();
+        inFlight--;
+    }
+
+    /**
+     * Releases a call the caller's deadline cut short. Deal did not answer in {@code latencyNanos}, which shrinks
+     * the limit once it exceeds the threshold; a shorter wait says nothing about deal and never grows the limit.
+     */
+    public synchronized void onTimedOut(long latencyNanos) {
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+        }
+        inFlight--;
+    }
+
+    /**
+     * Releases a call whose outcome says nothing about deal's health, such as a 4xx answer.
+     */
+    public synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
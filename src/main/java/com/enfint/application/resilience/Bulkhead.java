@@ -0,0 +1,43 @@
+package com.enfint.application.resilience;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent calls of one operation so a slow deal cannot take every request thread.
+ */
+public class Bulkhead {
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+
+    public Bulkhead(DealResilienceProperties.Bulkhead properties) {
+        this.maxConcurrent = properties.getMaxConcurrent();
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public boolean tryEnter() {
+        if (maxWaitNanos <= 0) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public int inUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
@@ -0,0 +1,93 @@
+package com.enfint.application.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "application.deal.resilience")
+public class DealResilienceProperties {
+    private boolean enabled = true;
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Bulkhead offers = new Bulkhead();
+    private Bulkhead updates = new Bulkhead();
+    private Limiter limiter = new Limiter();
+    private Retry retry = new Retry();
+    private Hedging hedging = new Hedging();
+
+    @Data
+    public static class CircuitBreaker {
+        /**
+         * Failure percentage over the window that opens the breaker.
+         */
+        private int failureRateThreshold = 50;
+        private int minimumCalls = 20;
+        private int windowSize = 100;
+        private Duration openDuration = Duration.ofSeconds(10);
+        /**
+         * Trial calls let through after the open period; all must succeed to close again.
+         */
+        private int halfOpenCalls = 5;
+    }
+
+    @Data
+    public static class Bulkhead {
+        private int maxConcurrent = 100;
+        private Duration maxWait = Duration.ZERO;
+    }
+
+    @Data
+    public static class Limiter {
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+        /**
+         * Deal calls slower than this shrink the limit.
+         */
+        private Duration latencyThreshold = Duration.ofSeconds(1);
+        private double backoffRatio = 0.9;
+    }
+
+    /**
+     * Retries of {@code getLoanOffers} only; {@code updateApplication} is not idempotent and never retried.
+     */
+    @Data
+    public static class Retry {
+        private int maxRetries = 1;
+        private Duration initialBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofSeconds(1);
+        /**
+         * Retries and hedges earned per {@code getLoanOffers} call, shared by both so they cannot multiply load
+         * on a struggling deal.
+         */
+        private double budgetRatio = 0.1;
+        /**
+         * Retries and hedges allowed per second regardless of traffic.
+         */
+        private double budgetMinPerSecond = 5;
+        /**
+         * Unused budget kept at most.
+         */
+        private int budgetMaxBalance = 50;
+    }
+
+    /**
+     * Hedging of {@code getLoanOffers} only: a second request once the first has been outstanding longer than the
+     * given percentile of recent latencies, keeping whichever answers first.
+     */
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(20);
+        /**
+         * Delay used until enough latencies have been recorded to estimate the percentile.
+         */
+        private Duration initialDelay = Duration.ofMillis(200);
+        /**
+         * Platform threads running hedged calls; both the first request and its hedge run there.
+         */
+        private int threads = 200;
+    }
+}
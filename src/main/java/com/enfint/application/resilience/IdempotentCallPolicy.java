@@ -0,0 +1,180 @@
+package com.enfint.application.resilience;
+
+import com.enfint.application.admission.Deadline;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Hedging and retries for calls that are safe to repeat. A hedge is a second attempt sent when the first is slower
+ * than the recent latency percentile; a retry follows a failed attempt after a fully jittered exponential backoff.
+ * Both draw on one {@link RetryBudget}, and no retry is made that could not start before the caller's
+ * {@link Deadline}. The losing hedge is left to finish on its own, its connection goes back to
+ * the pool when it does.
+ */
+@Slf4j
+public class IdempotentCallPolicy {
+    private final DealResilienceProperties.Retry retry;
+    private final DealResilienceProperties.Hedging hedging;
+    private final RetryBudget budget;
+    private final LatencyPercentile latency;
+    private final ExecutorService executor;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    /**
+     * @param executor runs attempts when hedging is enabled; may be {@code null} otherwise
+     */
+    public IdempotentCallPolicy(DealResilienceProperties.Retry retry, DealResilienceProperties.Hedging hedging,
+                                RetryBudget budget, ExecutorService executor) {
+        this.retry = retry;
+        this.hedging = hedging;
+        this.budget = budget;
+        this.latency = new LatencyPercentile(hedging.getPercentile());
+        this.executor = executor;
+    }
+
+    /**
+     * @param retryable failures worth another attempt
+     */
+    public <T> T call(Supplier<T> attempt, Predicate<RuntimeException> retryable) {
+        budget.onCall();
+        Supplier<T> timed = Deadline.propagate(() -> {
+            long start = System.nanoTime();
+            T result = attempt.get();
+            latency.record(System.nanoTime() - start);
+            return result;
+        });
+        for (int retried = 0; ; retried++) {
+            try {
+                return hedging.isEnabled() ? hedged(timed) : timed.get();
+            } catch (RuntimeException e) {
+                if (retried >= retry.getMaxRetries() || !retryable.test(e)) {
+                    throw e;
+                }
+                long backoff = backoffNanos(retried);
+                Deadline deadline = Deadline.current();
+                if (deadline != null && deadline.remainingNanos() <= backoff) {
+                    throw e;
+                }
+                if (!budget.tryWithdraw()) {
+                    budgetExhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                log.debug("Retrying deal call in {} ms after {}", backoff / 1_000_000, e.toString());
+                LockSupport.parkNanos(backoff);
+            }
+        }
+    }
+
+    /**
+     * Current hedge delay: the latency percentile, or the initial delay until it is known.
+     */
+    public Duration hedgeDelay() {
+        long percentile = latency.get();
+        if (percentile < 0) {
+            return hedging.getInitialDelay();
+        }
+        return Duration.ofNanos(Math.max(hedging.getMinDelay().toNanos(), percentile));
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    public long hedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    public long budgetExhausted() {
+        return budgetExhausted.sum();
+    }
+
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    private <T> T hedged(Supplier<T> attempt) {
+        CompletableFuture<T> first = CompletableFuture.supplyAsync(attempt, executor);
+        try {
+            return first.get(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!budget.tryWithdraw()) {
+                budgetExhausted.increment();
+                return join(first);
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for deal", e);
+        }
+        hedges.increment();
+        CompletableFuture<T> second = CompletableFuture.supplyAsync(attempt, executor);
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        AtomicBoolean answered = new AtomicBoolean();
+        for (CompletableFuture<T> candidate : List.of(first, second)) {
+            candidate.whenComplete((result, error) -> {
+                if (error == null) {
+                    if (answered.compareAndSet(false, true)) {
+                        if (candidate == second) {
+                            hedgeWins.increment();
+                        }
+                        winner.complete(result);
+                    }
+                } else if (pending.decrementAndGet() == 0) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return join(winner);
+    }
+
+    private long backoffNanos(int retried) {
+        long ceiling = Math.min(retry.getMaxBackoff().toNanos(), retry.getInitialBackoff().toNanos() << Math.min(retried, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
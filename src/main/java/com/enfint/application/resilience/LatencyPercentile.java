@@ -0,0 +1,47 @@
+package com.enfint.application.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Percentile over the last {@value #WINDOW} recorded latencies, recomputed every {@value #REFRESH_EVERY}
+ * records by the recording thread so reads are a volatile load.
+ */
+public class LatencyPercentile {
+    static final int WINDOW = 1024;
+    static final int REFRESH_EVERY = 128;
+
+    private final double quantile;
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long percentileNanos = -1;
+
+    public LatencyPercentile(double quantile) {
+        this.quantile = quantile;
+    }
+
+    public void record(long nanos) {
+        long n = recorded.getAndIncrement();
+        samples.lazySet((int) (n & (WINDOW - 1)), nanos);
+        if ((n + 1) % REFRESH_EVERY == 0) {
+            refresh(Math.min(n + 1, WINDOW));
+        }
+    }
+
+    /**
+     * @return the percentile in nanoseconds, or {@code -1} until {@value #REFRESH_EVERY} latencies were recorded
+     */
+    public long get() {
+        return percentileNanos;
+    }
+
+    private void refresh(long size) {
+        long[] window = new long[(int) size];
+        for (int i = 0; i < window.length; i++) {
+            window[i] = samples.get(i);
+        }
+        Arrays.sort(window);
+        percentileNanos = window[Math.max(0, (int) Math.ceil(quantile * window.length) - 1)];
+    }
+}
@@ -0,0 +1,50 @@
+package com.enfint.application.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Caps retries at a fraction of calls plus a small fixed rate, so retries cannot turn an outage into an overload.
+ * Every call deposits {@code ratio} tokens, time adds {@code minPerSecond}, each retry withdraws one. Starts with
+ * a second's worth of the fixed rate so a fresh instance can retry at all.
+ */
+public class RetryBudget {
+    private final double ratio;
+    private final double minPerNano;
+    private final double maxBalance;
+    private final LongSupplier nanoTime;
+
+    private double balance;
+    private long refilledAt;
+
+    public RetryBudget(DealResilienceProperties.Retry properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RetryBudget(DealResilienceProperties.Retry properties, LongSupplier nanoTime) {
+        this.ratio = properties.getBudgetRatio();
+        this.minPerNano = properties.getBudgetMinPerSecond() / 1e9;
+        this.maxBalance = Math.max(1, properties.getBudgetMaxBalance());
+        this.nanoTime = nanoTime;
+        this.balance = Math.min(maxBalance, properties.getBudgetMinPerSecond());
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    public synchronized void onCall() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        long now = nanoTime.getAsLong();
+        balance = Math.min(maxBalance, balance + (now - refilledAt) * minPerNano);
+        refilledAt = now;
+        if (balance < 1) {
+            return false;
+        }
+        balance--;
+        return true;
+    }
+
+    public synchronized double getBalance() {
+        return balance;
+    }
+}
@@ -1,131 +1,233 @@
 package com.enfint.application.service;
 
+import com.enfint.application.cache.ApplicationRequestKey;
+import com.enfint.application.cache.OfferCache;
+import com.enfint.application.concurrent.SingleFlight;
 import com.enfint.application.dto.LoanApplicationRequestDTO;
 import com.enfint.application.dto.LoanOfferDTO;
-import com.enfint.application.exception.PreScoringFailedException;
+import com.enfint.application.duplicate.DuplicateApplicationIndex;
+import com.enfint.application.exception.DuplicateApplicationException;
 import com.enfint.application.fiegnClient.DealClient;
-import lombok.RequiredArgsConstructor;
+import com.enfint.application.fiegnClient.OffloadingDealClient;
+import com.enfint.application.fiegnClient.ResilientDealClient;
+import com.enfint.application.idempotency.IdempotencyStore;
+import com.enfint.application.journal.WriteBehindOfferUpdater;
+import com.enfint.application.offer.LocalOfferEngine;
+import com.enfint.application.timing.PhaseTimer;
+import com.enfint.application.timing.RequestPhase;
+import com.enfint.application.validation.PreScoringPipeline;
+import com.enfint.application.validation.PreScoringResult;
+import com.enfint.application.validation.PreScoringValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.Period;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class ApplicationService {
     private final DealClient dealClient;
+    private final OffloadingDealClient offloadingDealClient;
+    private final PreScoringValidator preScoringValidator;
+    private final OfferCache offerCache;
+    private final DuplicateApplicationIndex duplicateIndex;
+    private final IdempotencyStore idempotencyStore;
+    private final Optional<WriteBehindOfferUpdater> writeBehind;
+    private final Optional<LocalOfferEngine> fallbackEngine;
+    private final SingleFlight<ApplicationRequestKey, List<LoanOfferDTO>> offerRequests = new SingleFlight<>();
+    private final SingleFlight<ApplicationRequestKey, List<LoanOfferDTO>> asyncOfferRequests = new SingleFlight<>();
+    private final DistributionSummary offersReturned;
+    private final Counter offersFallback;
+
+    public ApplicationService(DealClient dealClient, OffloadingDealClient offloadingDealClient,
+                              PreScoringValidator preScoringValidator, OfferCache offerCache,
+                              DuplicateApplicationIndex duplicateIndex, IdempotencyStore idempotencyStore,
+                              Optional<WriteBehindOfferUpdater> writeBehind, Optional<LocalOfferEngine> offerEngine,
+                              MeterRegistry meterRegistry) {
+        this.dealClient = dealClient;
+        this.offloadingDealClient = offloadingDealClient;
+        this.preScoringValidator = preScoringValidator;
+        this.offerCache = offerCache;
+        this.duplicateIndex = duplicateIndex;
+        this.idempotencyStore = idempotencyStore;
+        this.writeBehind = writeBehind;
+        this.fallbackEngine = offerEngine.filter(LocalOfferEngine::isFallback);
+        this.offersReturned = DistributionSummary.builder("application.offers.returned")
+                .description("Loan offers returned per application")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(16.0)
+                .register(meterRegistry);
+        this.offersFallback = Counter.builder("application.offers.fallback")
+                .description("Applications answered with locally computed offers because deal failed")
+                .register(meterRegistry);
+        FunctionCounter.builder("application.offers.coalesced", offerRequests, SingleFlight::coalesced)
+                .description("getLoanOffers calls served by an identical call already in flight")
+                .tag("mode", "sync")
+                .register(meterRegistry);
+        FunctionCounter.builder("application.offers.coalesced", asyncOfferRequests, SingleFlight::coalesced)
+                .description("getLoanOffers calls served by an identical call already in flight")
+                .tag("mode", "async")
+                .register(meterRegistry);
+    }
+
     public List<LoanOfferDTO>  getLoanOfferDTOList(LoanApplicationRequestDTO loanApplicationRequest){
-        PreScoring(loanApplicationRequest);
-        log.info("******************** post request to deal ********************");
-        return dealClient.getLoanOffers(loanApplicationRequest);
+        preScoringValidator.validate(loanApplicationRequest);
+        return requestLoanOffers(loanApplicationRequest);
     }
-    public void selectOffer(LoanOfferDTO loanOffer){
-        log.info("******************** put request to deal ********************");
-        dealClient.updateApplication(loanOffer);
-    }
-
-
-    private void PreScoring(LoanApplicationRequestDTO loanApplication) {
-        log.info("************ Validating data ***************");
-        validateAmount(loanApplication.getAmount());
-        validateAge(loanApplication.getBirthdate());
-        validateName(loanApplication.getFirstName());
-        validateName(loanApplication.getLastName());
-        blankMiddleNameCheck(loanApplication.getMiddleName());
-        validateEmail(loanApplication.getEmail());
-        validateLoanTerm(loanApplication.getTerm());
-        passportNumberValidation(loanApplication.getPassportNumber());
-        validatePassportSeries(loanApplication.getPassportSeries());
-    }
-
-    private void validateName(String name) {
-        log.info("Validating name...{}", name);
-        if (!StringUtils.hasLength(name)) {
-            throw new PreScoringFailedException("Pre-scoring failed name is null");
-        } else if (Pattern.matches("[a-zA-Z]{2,30}", name)) {
-            log.info("Valid name passed!");
-        } else {
-            throw new PreScoringFailedException("Pre-scoring failed name is not valid");
-        }
+
+    /**
+     * Pre-scores into a new result owned by the caller; it is one small array of shared violations.
+     */
+    public PreScoringResult preScore(LoanApplicationRequestDTO loanApplicationRequest) {
+        return preScore(loanApplicationRequest, new PreScoringResult());
+    }
+
+    public PreScoringResult preScore(LoanApplicationRequestDTO loanApplicationRequest, PreScoringResult result) {
+        return PhaseTimer.time(RequestPhase.PRESCORING, () -> preScoringValidator.validate(loanApplicationRequest, result));
+    }
+
+    /**
+     * Pre-scores with a rule set selected up front by {@link #preScoringRuleSet()}, for threads outside the request.
+     */
+    public PreScoringResult preScore(LoanApplicationRequestDTO loanApplicationRequest, PreScoringResult result,
+                                     PreScoringPipeline ruleSet) {
+        return PhaseTimer.time(RequestPhase.PRESCORING,
+                () -> preScoringValidator.validate(loanApplicationRequest, result, ruleSet));
+    }
+
+    public PreScoringPipeline preScoringRuleSet() {
+        return preScoringValidator.select();
     }
 
-    private void blankMiddleNameCheck(String name) {
-        if (!StringUtils.hasLength(name)) {
-            log.info("MiddleName is Empty...");
-        } else {
-            validateName(name);
+    /**
+     * Requests offers from deal without pre-scoring; callers must have accepted the request via {@link #preScore}.
+     * With the offer engine fallback enabled, deal failures are answered with local offers, which are not cached.
+     * The flight leader looks the cache up again, since a call completing between the first lookup and joining the
+     * flight has already removed the flight but cached its result.
+     */
+    public List<LoanOfferDTO> requestLoanOffers(LoanApplicationRequestDTO loanApplicationRequest) {
+        ApplicationRequestKey key = ApplicationRequestKey.of(loanApplicationRequest);
+        List<LoanOfferDTO> cached = offerCache.get(key);
+        if (cached != null) {
+            log.info("******************** loan offers served from cache ********************");
+            return recordOffers(cached);
+        }
+        List<LoanOfferDTO> offers;
+        try {
+            offers = PhaseTimer.time(RequestPhase.DEAL, () -> offerRequests.execute(key, () -> {
+                List<LoanOfferDTO> completed = offerCache.get(key);
+                if (completed != null) {
+                    return completed;
+                }
+                duplicateIndex.check(loanApplicationRequest);
+                log.info("******************** post request to deal ********************");
+                List<LoanOfferDTO> received = dealClient.getLoanOffers(loanApplicationRequest);
+                duplicateIndex.record(loanApplicationRequest);
+                offerCache.put(key, received);
+                return received;
+            }));
+        } catch (RuntimeException e) {
+            return recordOffers(fallback(loanApplicationRequest, e));
         }
+        return recordOffers(offers);
     }
 
-    private void validateEmail(String email) {
-        log.info("Validating email...");
-        if (!StringUtils.hasLength(email)) {
-            throw new PreScoringFailedException("Pre-scoring failed email is empty");
-        } else if (Pattern.matches("[\\w\\.]{2,50}@[\\w\\.]{2,20}", email)) {
-            log.info("Valid email passed!");
-        } else {
-            throw new PreScoringFailedException("Pre-scoring failed email is invalid");
+    /**
+     * Non-blocking variant of {@link #requestLoanOffers}, sharing its cache and in-flight coalescing.
+     */
+    public CompletableFuture<List<LoanOfferDTO>> requestLoanOffersAsync(LoanApplicationRequestDTO loanApplicationRequest) {
+        ApplicationRequestKey key = ApplicationRequestKey.of(loanApplicationRequest);
+        List<LoanOfferDTO> cached = offerCache.get(key);
+        if (cached != null) {
+            log.info("******************** loan offers served from cache ********************");
+            return CompletableFuture.completedFuture(recordOffers(cached));
         }
+        return PhaseTimer.timeAsync(RequestPhase.DEAL, () -> asyncOfferRequests.executeAsync(key, () -> {
+            List<LoanOfferDTO> completed = offerCache.get(key);
+            if (completed != null) {
+                return CompletableFuture.completedFuture(completed);
+            }
+            duplicateIndex.check(loanApplicationRequest);
+            log.info("******************** async post request to deal ********************");
+            return offloadingDealClient.getLoanOffers(loanApplicationRequest).thenApply(offers -> {
+                duplicateIndex.record(loanApplicationRequest);
+                offerCache.put(key, offers);
+                return offers;
+            });
+        })).exceptionally(e -> fallback(loanApplicationRequest, e)).thenApply(this::recordOffers);
+    }
+
+    public void selectOffer(LoanOfferDTO loanOffer){
+        selectOffer(loanOffer, null);
+    }
+
+    /**
+     * Selects the offer once per {@code idempotencyKey}; see {@link IdempotencyStore}.
+     */
+    public void selectOffer(LoanOfferDTO loanOffer, String idempotencyKey) {
+        idempotencyStore.execute(idempotencyKey, loanOffer, () -> updateApplication(loanOffer));
+    }
+
+    public CompletableFuture<Void> selectOfferAsync(LoanOfferDTO loanOffer) {
+        return selectOfferAsync(loanOffer, null);
     }
 
-    private void validateLoanTerm(Integer term) {
-        log.info("Validating term...");
-        if (term == null) {
-            throw new PreScoringFailedException("Pre-scoring failed term is null");
-        } else if (term > 6) {
-            log.info("Term is more than 6 months passed!");
-        } else {
-            throw new PreScoringFailedException("Pre-scoring failed term is less than 6 months");
+    public CompletableFuture<Void> selectOfferAsync(LoanOfferDTO loanOffer, String idempotencyKey) {
+        return idempotencyStore.executeAsync(idempotencyKey, loanOffer, () -> updateApplicationAsync(loanOffer));
+    }
+
+    private void updateApplication(LoanOfferDTO loanOffer) {
+        if (journaled(loanOffer)) {
+            return;
         }
+        log.info("******************** put request to deal ********************");
+        PhaseTimer.time(RequestPhase.DEAL, () -> dealClient.updateApplication(loanOffer));
+        offerCache.onOfferSelected(loanOffer);
     }
 
-    private void validatePassportSeries(String passportSeries) {
-        log.info("Validating passport series...");
-        if (!StringUtils.hasLength(passportSeries)) {
-            throw new PreScoringFailedException("Pre-scoring failed passport series is null");
-        } else if (Pattern.matches("\\d{4}", passportSeries)) {
-            log.info("Valid passport series passed!");
-        } else {
-            throw new PreScoringFailedException("Pre-scoring failed invalid passport series");
+    private CompletableFuture<Void> updateApplicationAsync(LoanOfferDTO loanOffer) {
+        if (journaled(loanOffer)) {
+            return CompletableFuture.completedFuture(null);
         }
+        log.info("******************** async put request to deal ********************");
+        return PhaseTimer.timeAsync(RequestPhase.DEAL, () -> offloadingDealClient.updateApplication(loanOffer))
+                .thenRun(() -> offerCache.onOfferSelected(loanOffer));
     }
 
-    private void passportNumberValidation(String passportNumber) {
-        log.info("Validating passport Number...");
-        if (!StringUtils.hasLength(passportNumber)) {
-            throw new PreScoringFailedException("Pre-scoring failed passport number is null");
-        } else if (Pattern.matches("\\d{6}", passportNumber)) {
-            log.info("Valid passport number passed!");
-        } else {
-            throw new PreScoringFailedException("Pre-scoring failed passport number is invalid");
+    private List<LoanOfferDTO> recordOffers(List<LoanOfferDTO> offers) {
+        if (offers != null) {
+            offersReturned.record(offers.size());
         }
+        return offers;
     }
 
-    private void validateAge(LocalDate dob) {
-        log.info("Validating age...");
-        if (dob == null) {
-            throw new PreScoringFailedException("Pre-scoring failed age is null");
-        } else if (Period.between(dob, LocalDate.now()).getYears() >= 18) {
-            log.info("Valid age passed!");
-        } else {
-            throw new PreScoringFailedException("Pre-scoring failed client younger than 18");
+    private List<LoanOfferDTO> fallback(LoanApplicationRequestDTO loanApplicationRequest, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        if (fallbackEngine.isEmpty() || !(cause instanceof RuntimeException e) || !ResilientDealClient.isDealFailure(e)
+                || e instanceof DuplicateApplicationException) {
+            throw failure instanceof RuntimeException runtime ? runtime : new CompletionException(failure);
         }
+        log.warn("******************** deal failed, answering with local offers: {} ********************", e.toString());
+        offersFallback.increment();
+        return fallbackEngine.get().getLoanOffers(loanApplicationRequest);
     }
 
-    private void validateAmount(BigDecimal amount) {
-        log.info("Validating loan Amount...");
-        if (amount == null) {
-            throw new PreScoringFailedException("Pre-scoring failed amount is null");
-        } else if (amount.compareTo(BigDecimal.valueOf(10_000)) >= 0) {
-            log.info("Valid amount passed!");
-        } else {
-            throw new PreScoringFailedException("Pre-scoring failed amount is less than 10,000.00");
+    private boolean journaled(LoanOfferDTO loanOffer) {
+        if (writeBehind.isEmpty() || !writeBehind.get().submit(loanOffer)) {
+            return false;
         }
+        log.info("******************** offer selection journaled ********************");
+        offerCache.onOfferSelected(loanOffer);
+        return true;
     }
 }
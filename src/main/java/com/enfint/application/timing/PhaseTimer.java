@@ -0,0 +1,185 @@
+package com.enfint.application.timing;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Phase durations of the current intake request. The timer is bound to the request thread by
+ * {@link PhaseTimingFilter}; outside of a timed request {@link #current()} returns a timer that records nothing
+ * and reads no clock. Phases that end on another thread are timed with {@link #timeAsync}, whose completion
+ * happens before the response is written.
+ */
+public final class PhaseTimer {
+    public static final String HEADER = "Server-Timing";
+    static final String ATTRIBUTE = PhaseTimer.class.getName();
+
+    private static final ThreadLocal<PhaseTimer> CURRENT = new ThreadLocal<>();
+    private static final PhaseTimer NONE = new PhaseTimer(false, false, null);
+
+    private final boolean active;
+    private final boolean serverTimingHeader;
+    private final RequestPhasesEvent event;
+    private final long startNanos;
+    private final long[] nanos = new long[RequestPhase.values().length];
+    private final long[] marks = new long[RequestPhase.values().length];
+    private boolean headerWritten;
+
+    private PhaseTimer(boolean active, boolean serverTimingHeader, RequestPhasesEvent event) {
+        this.active = active;
+        this.serverTimingHeader = serverTimingHeader;
+        this.event = event;
+        this.startNanos = active ? System.nanoTime() : 0;
+    }
+
+    static PhaseTimer start(boolean serverTimingHeader) {
+        RequestPhasesEvent event = new RequestPhasesEvent();
+        event.begin();
+        return new PhaseTimer(true, serverTimingHeader, event);
+    }
+
+    public static PhaseTimer current() {
+        PhaseTimer timer = CURRENT.get();
+        return timer != null ? timer : NONE;
+    }
+
+    static void bind(PhaseTimer timer) {
+        CURRENT.set(timer);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public static <T> T time(RequestPhase phase, Supplier<T> task) {
+        PhaseTimer timer = current();
+        long start = timer.start();
+        try {
+            return task.get();
+        } finally {
+            timer.stop(phase, start);
+        }
+    }
+
+    public static void time(RequestPhase phase, Runnable task) {
+        PhaseTimer timer = current();
+        long start = timer.start();
+        try {
+            task.run();
+        } finally {
+            timer.stop(phase, start);
+        }
+    }
+
+    /**
+     * Times {@code task} until the future it returns completes, on whichever thread that happens.
+     */
+    public static <T> CompletableFuture<T> timeAsync(RequestPhase phase, Supplier<CompletableFuture<T>> task) {
+        PhaseTimer timer = current();
+        if (!timer.active) {
+            return task.get();
+        }
+        long start = timer.start();
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            timer.stop(phase, start);
+            throw e;
+        }
+        return future.whenComplete((result, failure) -> timer.stop(phase, start));
+    }
+
+    public long start() {
+        return active ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since {@code start} to {@code phase}; phases entered more than once accumulate.
+     */
+    public void stop(RequestPhase phase, long start) {
+        if (active) {
+            nanos[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    public long nanos(RequestPhase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Starts {@code phase} where it cannot be wrapped, e.g. between two callbacks; {@link #finish} ends it.
+     */
+    void mark(RequestPhase phase) {
+        if (active && marks[phase.ordinal()] == 0) {
+            marks[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    void finish(RequestPhase phase) {
+        long start = marks[phase.ordinal()];
+        if (start != 0) {
+            stop(phase, start);
+            marks[phase.ordinal()] = 0;
+        }
+    }
+
+    /**
+     * @return the {@code Server-Timing} value to send, or {@code null} if the header is off or already sent
+     */
+    String takeServerTiming() {
+        if (!active || !serverTimingHeader || headerWritten) {
+            return null;
+        }
+        headerWritten = true;
+        return serverTiming(System.nanoTime());
+    }
+
+    /**
+     * Recorded phases and the time so far as {@code total}, in milliseconds.
+     */
+    String serverTiming(long nowNanos) {
+        StringBuilder header = new StringBuilder(96);
+        for (RequestPhase phase : RequestPhase.values()) {
+            long phaseNanos = nanos[phase.ordinal()];
+            if (phaseNanos > 0) {
+                appendMetric(header, phase.metric(), phaseNanos);
+            }
+        }
+        appendMetric(header, "total", nowNanos - startNanos);
+        return header.toString();
+    }
+
+    void commit(String method, String path, int status) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+        }
+        event.method = method;
+        event.path = path;
+        event.status = status;
+        event.binding = nanos(RequestPhase.BINDING);
+        event.prescoring = nanos(RequestPhase.PRESCORING);
+        event.deal = nanos(RequestPhase.DEAL);
+        event.serialization = nanos(RequestPhase.SERIALIZATION);
+        event.commit();
+    }
+
+    private static void appendMetric(StringBuilder header, String metric, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        long micros = nanos / 1_000;
+        header.append(metric).append(";dur=").append(micros / 1_000).append('.');
+        long fraction = micros % 1_000;
+        if (fraction < 100) {
+            header.append('0');
+        }
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+}
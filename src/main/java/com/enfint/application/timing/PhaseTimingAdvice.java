@@ -0,0 +1,76 @@
+package com.enfint.application.timing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+
+/**
+ * Times request body binding and marks the start of response serialization, which is the last moment to send
+ * the {@code Server-Timing} header. Does nothing for requests {@link PhaseTimingFilter} does not time. Runs first,
+ * so binding does not include the work of other body advice such as rate limiting.
+ */
+@ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PhaseTimingAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        PhaseTimer.current().mark(RequestPhase.BINDING);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        PhaseTimer.current().finish(RequestPhase.BINDING);
+        return body;
+    }
+
+    @Override
+    public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                  Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        PhaseTimer.current().finish(RequestPhase.BINDING);
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        PhaseTimer timer = PhaseTimer.current();
+        String serverTiming = timer.takeServerTiming();
+        if (serverTiming != null) {
+            // straight onto the servlet response: the wrapper only copies its headers once a body is written
+            if (response instanceof ServletServerHttpResponse servletResponse) {
+                servletResponse.getServletResponse().setHeader(PhaseTimer.HEADER, serverTiming);
+            } else {
+                response.getHeaders().set(PhaseTimer.HEADER, serverTiming);
+            }
+        }
+        timer.mark(RequestPhase.SERIALIZATION);
+        return body;
+    }
+}
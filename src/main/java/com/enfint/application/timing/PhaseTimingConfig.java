@@ -0,0 +1,31 @@
+package com.enfint.application.timing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.servlet.DispatcherType;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "application.phase-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PhaseTimingConfig {
+
+    @Bean
+    public PhaseTimingFilter phaseTimingFilter(PhaseTimingProperties properties) {
+        return new PhaseTimingFilter(properties);
+    }
+
+    /**
+     * After admission, so shed requests are not timed. Async dispatches pass through it to finish the timing.
+     */
+    @Bean
+    public FilterRegistrationBean<PhaseTimingFilter> phaseTimingFilterRegistration(PhaseTimingFilter phaseTimingFilter) {
+        FilterRegistrationBean<PhaseTimingFilter> registration = new FilterRegistrationBean<>(phaseTimingFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registration.setAsyncSupported(true);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+}
@@ -0,0 +1,65 @@
+package com.enfint.application.timing;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Times intake requests. The {@link PhaseTimer} lives in a request attribute and is bound to the thread of every
+ * dispatch, so an async request is finished by the dispatch that writes its response. Finishing sends the
+ * {@code Server-Timing} header if no body did so and commits the JFR event.
+ */
+public class PhaseTimingFilter extends OncePerRequestFilter {
+    private final Set<String> paths;
+    private final boolean serverTimingHeader;
+
+    public PhaseTimingFilter(PhaseTimingProperties properties) {
+        this.paths = Set.copyOf(properties.getPaths());
+        this.serverTimingHeader = properties.isServerTimingHeader();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !paths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PhaseTimer timer = (PhaseTimer) request.getAttribute(PhaseTimer.ATTRIBUTE);
+        if (timer == null) {
+            timer = PhaseTimer.start(serverTimingHeader);
+            request.setAttribute(PhaseTimer.ATTRIBUTE, timer);
+        }
+        PhaseTimer.bind(timer);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PhaseTimer.unbind();
+            if (!request.isAsyncStarted()) {
+                finish(timer, request, response);
+            }
+        }
+    }
+
+    private static void finish(PhaseTimer timer, HttpServletRequest request, HttpServletResponse response) {
+        timer.finish(RequestPhase.SERIALIZATION);
+        if (!response.isCommitted()) {
+            String serverTiming = timer.takeServerTiming();
+            if (serverTiming != null) {
+                response.setHeader(PhaseTimer.HEADER, serverTiming);
+            }
+        }
+        timer.commit(request.getMethod(), request.getRequestURI(), response.getStatus());
+    }
+}
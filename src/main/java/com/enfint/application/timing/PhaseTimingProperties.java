@@ -0,0 +1,21 @@
+package com.enfint.application.timing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "application.phase-timing")
+public class PhaseTimingProperties {
+    private boolean enabled = true;
+    /**
+     * Timed requests; exact paths.
+     */
+    private List<String> paths = List.of("/application/", "/application/offer");
+    /**
+     * Send the phase durations to the client in a {@code Server-Timing} header. Off by default, the header tells
+     * callers how long deal took.
+     */
+    private boolean serverTimingHeader = false;
+}
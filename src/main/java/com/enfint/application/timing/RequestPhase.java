@@ -0,0 +1,30 @@
+package com.enfint.application.timing;
+
+/**
+ * Phases of an intake request, named as they appear in the {@code Server-Timing} header.
+ */
+public enum RequestPhase {
+    /**
+     * Reading and deserializing the request body.
+     */
+    BINDING("bind"),
+    PRESCORING("prescore"),
+    /**
+     * Round trip to deal, including retries, hedges and waiting for a coalesced call.
+     */
+    DEAL("deal"),
+    /**
+     * Writing the response body; only reported to JFR, the header is sent before the body.
+     */
+    SERIALIZATION("serialize");
+
+    private final String metric;
+
+    RequestPhase(String metric) {
+        this.metric = metric;
+    }
+
+    public String metric() {
+        return metric;
+    }
+}
@@ -0,0 +1,45 @@
+package com.enfint.application.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One timed intake request. The event lasts from the filter to the completed response, so a recording can keep
+ * only slow requests with a {@code threshold} setting.
+ */
+@Name("com.enfint.application.RequestPhases")
+@Label("Request Phases")
+@Category({"Application", "HTTP"})
+@Description("Time spent in each phase of an intake request")
+@StackTrace(false)
+class RequestPhasesEvent extends Event {
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    @Label("Binding")
+    @Timespan(Timespan.NANOSECONDS)
+    long binding;
+
+    @Label("Pre-scoring")
+    @Timespan(Timespan.NANOSECONDS)
+    long prescoring;
+
+    @Label("Deal")
+    @Timespan(Timespan.NANOSECONDS)
+    long deal;
+
+    @Label("Serialization")
+    @Timespan(Timespan.NANOSECONDS)
+    long serialization;
+}
@@ -0,0 +1,6 @@
+package com.enfint.application.validation;
+
+@FunctionalInterface
+public interface FieldMatcher {
+    boolean matches(CharSequence value);
+}
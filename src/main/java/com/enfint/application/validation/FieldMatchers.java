@@ -0,0 +1,134 @@
+package com.enfint.application.validation;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matchers for configured pre-scoring regexes. Regexes of a known shape map to hand-written char scanners
+ * that accept exactly the same inputs without allocating; anything else falls back to a {@link Pattern}
+ * compiled once.
+ */
+public final class FieldMatchers {
+    private static final Pattern LETTERS = Pattern.compile("\\[a-zA-Z]\\{(\\d+)(?:,(\\d+))?}");
+    private static final Pattern DIGITS = Pattern.compile("\\\\d\\{(\\d+)}");
+    private static final Pattern EMAIL = Pattern.compile(
+            "\\[\\\\w\\\\\\.]\\{(\\d+),(\\d+)}@\\[\\\\w\\\\\\.]\\{(\\d+),(\\d+)}");
+
+    private FieldMatchers() {
+    }
+
+    /**
+     * The scanner {@code regex} is equivalent to, or {@code null} if it needs the regex engine.
+     */
+    static Shape shape(String regex) {
+        Matcher letters = LETTERS.matcher(regex);
+        if (letters.matches()) {
+            int min = Integer.parseInt(letters.group(1));
+            int max = letters.group(2) == null ? min : Integer.parseInt(letters.group(2));
+            return min <= max ? new Shape(Scanner.LETTERS, min, max, 0, 0) : null;
+        }
+        Matcher digits = DIGITS.matcher(regex);
+        if (digits.matches()) {
+            int length = Integer.parseInt(digits.group(1));
+            return new Shape(Scanner.DIGITS, length, length, 0, 0);
+        }
+        Matcher email = EMAIL.matcher(regex);
+        if (email.matches()) {
+            int localMin = Integer.parseInt(email.group(1));
+            int localMax = Integer.parseInt(email.group(2));
+            int domainMin = Integer.parseInt(email.group(3));
+            int domainMax = Integer.parseInt(email.group(4));
+            if (localMin <= localMax && domainMin <= domainMax) {
+                return new Shape(Scanner.EMAIL, localMin, localMax, domainMin, domainMax);
+            }
+        }
+        return null;
+    }
+
+    enum Scanner {
+        LETTERS, DIGITS, EMAIL
+    }
+
+    /**
+     * A scanner with its bounds. Calling {@link #matches(String)} on the record directly, rather than through
+     * {@link FieldMatcher}, keeps a call site shared by several scanners free of virtual dispatch.
+     */
+    record Shape(Scanner scanner, int min, int max, int domainMin, int domainMax) {
+        boolean matches(CharSequence value) {
+            return switch (scanner) {
+                case LETTERS -> isLetters(value, min, max);
+                case DIGITS -> isDigits(value, min);
+                case EMAIL -> isEmail(value, min, max, domainMin, domainMax);
+            };
+        }
+    }
+
+    public static FieldMatcher pattern(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        return value -> value != null && pattern.matcher(value).matches();
+    }
+
+    private static boolean isLetters(CharSequence value, int min, int max) {
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+        if (length < min || length > max) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isAsciiLetter(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigits(CharSequence value, int length) {
+        if (value == null || value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isAsciiDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEmail(CharSequence value, int localMin, int localMax, int domainMin, int domainMax) {
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+        if (length < localMin + 1 + domainMin || length > localMax + 1 + domainMax) {
+            return false;
+        }
+        int at = -1;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (!isWordOrDot(c)) {
+                return false;
+            }
+        }
+        int domainLength = length - at - 1;
+        return at >= localMin && at <= localMax && domainLength >= domainMin && domainLength <= domainMax;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordOrDot(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '_' || c == '.';
+    }
+}
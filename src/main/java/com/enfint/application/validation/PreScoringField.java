@@ -0,0 +1,70 @@
+package com.enfint.application.validation;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+
+/**
+ * Request fields pre-scoring rules can check, named like the JSON properties reported in violations.
+ */
+public enum PreScoringField {
+    AMOUNT("amount", Kind.DECIMAL),
+    TERM("term", Kind.INTEGER),
+    BIRTHDATE("birthdate", Kind.DATE),
+    FIRST_NAME("firstName", Kind.TEXT),
+    LAST_NAME("lastName", Kind.TEXT),
+    MIDDLE_NAME("middleName", Kind.TEXT),
+    EMAIL("email", Kind.TEXT),
+    PASSPORT_SERIES("passportSeries", Kind.TEXT),
+    PASSPORT_NUMBER("passportNumber", Kind.TEXT);
+
+    enum Kind {
+        DECIMAL, INTEGER, DATE, TEXT
+    }
+
+    private final String property;
+    private final Kind kind;
+
+    PreScoringField(String property, Kind kind) {
+        this.property = property;
+        this.kind = kind;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    /**
+     * A switch rather than a getter function per constant, so reading a field is a direct call.
+     */
+    Object get(LoanApplicationRequestDTO request) {
+        return switch (this) {
+            case AMOUNT -> request.getAmount();
+            case TERM -> request.getTerm();
+            case BIRTHDATE -> request.getBirthdate();
+            case FIRST_NAME -> request.getFirstName();
+            case LAST_NAME -> request.getLastName();
+            case MIDDLE_NAME -> request.getMiddleName();
+            case EMAIL -> request.getEmail();
+            case PASSPORT_SERIES -> request.getPassportSeries();
+            case PASSPORT_NUMBER -> request.getPassportNumber();
+        };
+    }
+
+    /**
+     * {@link #get} for {@link Kind#TEXT} fields without the cast.
+     */
+    String text(LoanApplicationRequestDTO request) {
+        return switch (this) {
+            case FIRST_NAME -> request.getFirstName();
+            case LAST_NAME -> request.getLastName();
+            case MIDDLE_NAME -> request.getMiddleName();
+            case EMAIL -> request.getEmail();
+            case PASSPORT_SERIES -> request.getPassportSeries();
+            case PASSPORT_NUMBER -> request.getPassportNumber();
+            default -> throw new IllegalStateException(property + " is not text");
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.enfint.application.validation;
+
+/**
+ * Hook into {@link PreScoringValidator} for instrumentation. Rule timing is chained: {@link #ruleFinished}
+ * returns the start of the next rule, so an observer that does not time rules costs no clock reads.
+ */
+public interface PreScoringObserver {
+    PreScoringObserver NONE = new PreScoringObserver() {
+    };
+
+    default long ruleStarted() {
+        return 0;
+    }
+
+    /**
+     * @return start time of the next rule
+     */
+    default long ruleFinished(String rule, long startNanos) {
+        return 0;
+    }
+
+    default void completed(PreScoringResult result) {
+    }
+}
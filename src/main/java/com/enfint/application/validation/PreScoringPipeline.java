@@ -0,0 +1,324 @@
+package com.enfint.application.validation;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.validation.PreScoringProperties.Check;
+import com.enfint.application.validation.PreScoringProperties.Mode;
+import com.enfint.application.validation.PreScoringProperties.Rule;
+import com.enfint.application.validation.PreScoringProperties.RuleSet;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A rule set compiled once into checks over typed field values. The only state that changes afterwards is the
+ * rule order of a {@link Mode#FAIL_FAST} set, republished as a new array, and cached cutoff dates, so
+ * validating never locks. Only {@link PreScoringValidator} runs it; other code just passes a selected pipeline on.
+ */
+public final class PreScoringPipeline {
+    /**
+     * A fail-fast set re-sorts its rules about once per this many validations.
+     */
+    static final int REORDER_INTERVAL = 1024;
+    /**
+     * Reject rates are estimated from one validation in {@code SAMPLE_MASK + 1}.
+     */
+    private static final int SAMPLE_MASK = 15;
+
+    private final Mode mode;
+    private volatile CompiledRule[] order;
+
+    private PreScoringPipeline(Mode mode, CompiledRule[] rules) {
+        this.mode = mode;
+        this.order = rules;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a rule is incomplete or does not fit its field
+     */
+    static PreScoringPipeline compile(String name, RuleSet ruleSet) {
+        List<Rule> rules = ruleSet.getRules();
+        if (rules == null || rules.isEmpty()) {
+            throw new IllegalArgumentException("Pre-scoring rule set " + name + " has no rules");
+        }
+        CompiledRule[] compiled = new CompiledRule[rules.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            try {
+                compiled[i] = compile(rules.get(i), i);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Pre-scoring rule set " + name + ", rule " + i + ": " + e.getMessage(), e);
+            }
+        }
+        Mode mode = ruleSet.getMode() == null ? Mode.ALL : ruleSet.getMode();
+        if (mode == Mode.FAIL_FAST) {
+            sortBySelectivity(compiled);
+        }
+        return new PreScoringPipeline(mode, compiled);
+    }
+
+    void validate(LoanApplicationRequestDTO request, PreScoringResult result, PreScoringObserver observer) {
+        CompiledRule[] rules = order;
+        long start = observer.ruleStarted();
+        if (mode == Mode.ALL) {
+            for (CompiledRule rule : rules) {
+                rule.evaluate(request, result);
+                start = observer.ruleFinished(rule.property, start);
+            }
+            return;
+        }
+        int draw = ThreadLocalRandom.current().nextInt(REORDER_INTERVAL);
+        boolean sampled = (draw & SAMPLE_MASK) == 0;
+        for (CompiledRule rule : rules) {
+            boolean passed = rule.evaluate(request, result);
+            start = observer.ruleFinished(rule.property, start);
+            if (sampled) {
+                rule.evaluations.increment();
+            }
+            if (!passed) {
+                if (sampled) {
+                    rule.rejections.increment();
+                }
+                break;
+            }
+        }
+        if (draw == 0) {
+            reorder();
+        }
+    }
+
+    Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Rule fields in evaluation order.
+     */
+    List<String> order() {
+        return Arrays.stream(order).map(rule -> rule.property).toList();
+    }
+
+    /**
+     * Sorts the rules by observed rejections per unit of cost, most selective first. Concurrent reorders
+     * may overwrite each other; either result is a valid order built from the same counters.
+     */
+    void reorder() {
+        if (mode != Mode.FAIL_FAST) {
+            return;
+        }
+        CompiledRule[] next = order.clone();
+        sortBySelectivity(next);
+        order = next;
+    }
+
+    /**
+     * Scores are read once up front; the counters keep moving while the array is sorted.
+     */
+    private static void sortBySelectivity(CompiledRule[] rules) {
+        double[] scores = new double[rules.length];
+        for (CompiledRule rule : rules) {
+            scores[rule.index] = rule.score();
+        }
+        Arrays.sort(rules, Comparator.comparingDouble((CompiledRule rule) -> -scores[rule.index])
+                .thenComparingInt(rule -> rule.index));
+    }
+
+    private static CompiledRule compile(Rule rule, int index) {
+        PreScoringField field = rule.getField();
+        Check check = rule.getCheck();
+        if (field == null || check == null) {
+            throw new IllegalArgumentException("field and check are required");
+        }
+        String property = field.property();
+        PreScoringViolation invalid = new PreScoringViolation(property, rule.getMessage() != null
+                ? rule.getMessage() : "Pre-scoring failed " + property + " is invalid");
+        PreScoringViolation missing = new PreScoringViolation(property, rule.getMissingMessage() != null
+                ? rule.getMissingMessage() : "Pre-scoring failed " + property + " is null");
+        CompiledRule compiled = new CompiledRule(field, index, rule.isRequired(), missing, invalid);
+        if (check == Check.MATCHES) {
+            require(field.kind() == PreScoringField.Kind.TEXT, check, field);
+            if (rule.getRegex() == null) {
+                throw new IllegalArgumentException("regex is required for " + check);
+            }
+            compiled.shape = FieldMatchers.shape(rule.getRegex());
+            if (compiled.shape != null) {
+                return compiled.as(CompiledRule.SCAN, 2);
+            }
+            compiled.pattern = FieldMatchers.pattern(rule.getRegex());
+            return compiled.as(CompiledRule.REGEX, 8);
+        }
+        BigDecimal bound = rule.getValue();
+        if (bound == null) {
+            throw new IllegalArgumentException("value is required for " + check);
+        }
+        if (check == Check.MIN_AGE) {
+            require(field.kind() == PreScoringField.Kind.DATE, check, field);
+            if (bound.signum() <= 0) {
+                throw new IllegalArgumentException(check + " needs a positive number of years");
+            }
+            compiled.longBound = bound.intValueExact();
+            return compiled.as(CompiledRule.AGE, 2);
+        }
+        // a comparison passes when its sign is within [lowest, highest]
+        compiled.lowest = check == Check.GREATER_THAN ? 1 : check == Check.MIN ? 0 : -1;
+        compiled.highest = check == Check.MAX ? 0 : 1;
+        if (field.kind() == PreScoringField.Kind.DECIMAL) {
+            compiled.decimalBound = bound;
+            return compiled.as(CompiledRule.DECIMAL, 1);
+        }
+        require(field.kind() == PreScoringField.Kind.INTEGER, check, field);
+        // integer comparisons against the bound rounded the way that keeps them exact
+        compiled.longBound = bound.setScale(0, check == Check.MIN ? RoundingMode.CEILING : RoundingMode.FLOOR)
+                .longValueExact();
+        return compiled.as(CompiledRule.INTEGER, 1);
+    }
+
+    private static void require(boolean fits, Check check, PreScoringField field) {
+        if (!fits) {
+            throw new IllegalArgumentException(check + " does not apply to " + field.property());
+        }
+    }
+
+    /**
+     * One rule, evaluated by switching over its operation rather than through a predicate per rule: a pipeline
+     * runs many different rules from one call site, which would make a predicate call megamorphic.
+     */
+    private static final class CompiledRule {
+        private static final int DECIMAL = 0;
+        private static final int INTEGER = 1;
+        private static final int AGE = 2;
+        private static final int SCAN = 3;
+        private static final int REGEX = 4;
+
+        private final PreScoringField field;
+        private final String property;
+        private final int index;
+        private final boolean required;
+        private final PreScoringViolation missing;
+        private final PreScoringViolation invalid;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        // set while compiling, before the pipeline is published
+        private int operation;
+        private int cost;
+        private FieldMatchers.Shape shape;
+        private FieldMatcher pattern;
+        private BigDecimal decimalBound;
+        private long longBound;
+        private int lowest;
+        private int highest;
+        private volatile AgeCutoff ageCutoff;
+
+        private CompiledRule(PreScoringField field, int index, boolean required, PreScoringViolation missing,
+                             PreScoringViolation invalid) {
+            this.field = field;
+            this.property = field.property();
+            this.index = index;
+            this.required = required;
+            this.missing = missing;
+            this.invalid = invalid;
+        }
+
+        private CompiledRule as(int operation, int cost) {
+            this.operation = operation;
+            this.cost = cost;
+            return this;
+        }
+
+        private boolean evaluate(LoanApplicationRequestDTO request, PreScoringResult result) {
+            return switch (operation) {
+                case SCAN -> scan(field.text(request), result);
+                case REGEX -> regex(field.text(request), result);
+                case DECIMAL -> decimal((BigDecimal) field.get(request), result);
+                case INTEGER -> integer((Integer) field.get(request), result);
+                default -> age((LocalDate) field.get(request), result);
+            };
+        }
+
+        private boolean scan(String text, PreScoringResult result) {
+            if (text == null || text.isEmpty()) {
+                return missing(result);
+            }
+            return shape.matches(text) || invalid(result);
+        }
+
+        private boolean regex(String text, PreScoringResult result) {
+            if (text == null || text.isEmpty()) {
+                return missing(result);
+            }
+            return pattern.matches(text) || invalid(result);
+        }
+
+        private boolean decimal(BigDecimal value, PreScoringResult result) {
+            return value == null ? missing(result) : within(value.compareTo(decimalBound)) || invalid(result);
+        }
+
+        private boolean integer(Integer value, PreScoringResult result) {
+            return value == null ? missing(result) : within(Long.compare(value, longBound)) || invalid(result);
+        }
+
+        /**
+         * Same as {@code Period.between(birthdate, today).getYears() >= years}, which holds exactly when the
+         * birthdate is not after {@code today.minusYears(years)}; the cutoff is cached until midnight.
+         */
+        private boolean age(LocalDate birthdate, PreScoringResult result) {
+            if (birthdate == null) {
+                return missing(result);
+            }
+            AgeCutoff cutoff = ageCutoff;
+            if (cutoff == null || System.currentTimeMillis() >= cutoff.validUntil) {
+                cutoff = AgeCutoff.today(longBound);
+                ageCutoff = cutoff;
+            }
+            return !birthdate.isAfter(cutoff.date) || invalid(result);
+        }
+
+        private boolean within(int comparison) {
+            return comparison >= lowest && comparison <= highest;
+        }
+
+        private boolean missing(PreScoringResult result) {
+            if (!required) {
+                return true;
+            }
+            result.reject(missing);
+            return false;
+        }
+
+        private boolean invalid(PreScoringResult result) {
+            result.reject(invalid);
+            return false;
+        }
+
+        /**
+         * Reject rate with one pseudo-rejection and one pseudo-pass, so rules that are rarely reached still
+         * get tried early now and then, divided by the relative cost of the check.
+         */
+        private double score() {
+            return (rejections.sum() + 1.0) / (evaluations.sum() + 2.0) / cost;
+        }
+    }
+
+    private static final class AgeCutoff {
+        private final LocalDate date;
+        private final long validUntil;
+
+        private AgeCutoff(LocalDate date, long validUntil) {
+            this.date = date;
+            this.validUntil = validUntil;
+        }
+
+        private static AgeCutoff today(long years) {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate today = LocalDate.now(zone);
+            return new AgeCutoff(today.minusYears(years),
+                    today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    }
+}
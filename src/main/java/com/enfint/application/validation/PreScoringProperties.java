@@ -0,0 +1,88 @@
+package com.enfint.application.validation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-scoring rule sets. Without any configured set every request is checked by {@link PreScoringRuleSets#standard()}.
+ * Sets are reloaded when the environment changes; see {@link PreScoringRuleReloader}.
+ */
+@Data
+@ConfigurationProperties(prefix = "application.prescoring")
+public class PreScoringProperties {
+    /**
+     * Request header naming the product or channel whose rule set applies; unset, every request gets
+     * {@link #defaultRuleSet}. The header is trusted as is, so it has to be set by a gateway that strips it from
+     * client requests, otherwise applicants can pick the most lenient rule set.
+     */
+    private String channelHeader;
+    /**
+     * Rule set for requests without a known channel.
+     */
+    private String defaultRuleSet = PreScoringRuleSets.STANDARD;
+    private Map<String, RuleSet> ruleSets = new LinkedHashMap<>();
+
+    public enum Mode {
+        /**
+         * Run every rule and report every violation in declaration order.
+         */
+        ALL,
+        /**
+         * Stop at the first violation; rules are reordered so that cheap rules that often reject run first.
+         */
+        FAIL_FAST
+    }
+
+    public enum Check {
+        /**
+         * Numeric value at least {@code value}.
+         */
+        MIN,
+        /**
+         * Numeric value at most {@code value}.
+         */
+        MAX,
+        /**
+         * Numeric value strictly above {@code value}.
+         */
+        GREATER_THAN,
+        /**
+         * Date at least {@code value} full years ago.
+         */
+        MIN_AGE,
+        /**
+         * Text matching {@code regex} entirely.
+         */
+        MATCHES
+    }
+
+    @Data
+    public static class RuleSet {
+        private Mode mode = Mode.ALL;
+        private List<Rule> rules = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private PreScoringField field;
+        private Check check;
+        private BigDecimal value;
+        private String regex;
+        /**
+         * A missing value, or empty text, is a violation; otherwise it passes without checking.
+         */
+        private boolean required = true;
+        private String message;
+        private String missingMessage;
+    }
+}
@@ -0,0 +1,45 @@
+package com.enfint.application.validation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Violations collected by one pre-scoring run. Violations are shared constants, so recording one
+ * only stores a reference; call {@link #clear()} to reuse the same instance for the next request.
+ */
+public class PreScoringResult {
+    private PreScoringViolation[] violations = new PreScoringViolation[8];
+    private int size;
+
+    public void reject(PreScoringViolation violation) {
+        if (size == violations.length) {
+            violations = Arrays.copyOf(violations, size * 2);
+        }
+        violations[size++] = violation;
+    }
+
+    public boolean isAccepted() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public PreScoringViolation get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return violations[index];
+    }
+
+    public List<PreScoringViolation> getViolations() {
+        return List.of(Arrays.copyOf(violations, size));
+    }
+
+    public PreScoringResult clear() {
+        Arrays.fill(violations, 0, size, null);
+        size = 0;
+        return this;
+    }
+}
@@ -0,0 +1,38 @@
+package com.enfint.application.validation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recompiles the pre-scoring rule sets when their properties change. Nothing changes them as shipped: put the rule
+ * sets in a file passed as {@code --spring.config.additional-location} (or served by a config server), expose the
+ * {@code refresh} actuator endpoint and {@code POST /actuator/refresh} after editing them.
+ * The properties are bound into a fresh instance rather than read from the rebound bean, which may still be
+ * half-updated when this listener runs.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PreScoringRuleReloader {
+    static final String PREFIX = "application.prescoring";
+
+    private final Environment environment;
+    private final PreScoringValidator validator;
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith(PREFIX))) {
+            return;
+        }
+        try {
+            validator.reload(Binder.get(environment).bindOrCreate(PREFIX, PreScoringProperties.class));
+        } catch (RuntimeException e) {
+            log.error("Keeping the current pre-scoring rule sets, the new ones are invalid: {}", e.getMessage());
+        }
+    }
+}
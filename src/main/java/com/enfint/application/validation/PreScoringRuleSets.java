@@ -0,0 +1,51 @@
+package com.enfint.application.validation;
+
+import com.enfint.application.validation.PreScoringProperties.Check;
+import com.enfint.application.validation.PreScoringProperties.Mode;
+import com.enfint.application.validation.PreScoringProperties.Rule;
+import com.enfint.application.validation.PreScoringProperties.RuleSet;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Built-in rule sets.
+ */
+public final class PreScoringRuleSets {
+    public static final String STANDARD = "standard";
+
+    private static final String NAME = "[a-zA-Z]{2,30}";
+
+    private PreScoringRuleSets() {
+    }
+
+    /**
+     * The rules {@link PreScoringValidator} has always applied, with the same messages and violation order.
+     */
+    public static RuleSet standard() {
+        List<Rule> rules = new ArrayList<>();
+        rules.add(new Rule(PreScoringField.AMOUNT, Check.MIN, BigDecimal.valueOf(10_000), null, true,
+                "Pre-scoring failed amount is less than 10,000.00", "Pre-scoring failed amount is null"));
+        rules.add(new Rule(PreScoringField.BIRTHDATE, Check.MIN_AGE, BigDecimal.valueOf(18), null, true,
+                "Pre-scoring failed client younger than 18", "Pre-scoring failed age is null"));
+        rules.add(new Rule(PreScoringField.FIRST_NAME, Check.MATCHES, null, NAME, true,
+                "Pre-scoring failed name is not valid", "Pre-scoring failed name is null"));
+        rules.add(new Rule(PreScoringField.LAST_NAME, Check.MATCHES, null, NAME, true,
+                "Pre-scoring failed name is not valid", "Pre-scoring failed name is null"));
+        rules.add(new Rule(PreScoringField.MIDDLE_NAME, Check.MATCHES, null, NAME, false,
+                "Pre-scoring failed name is not valid", null));
+        rules.add(new Rule(PreScoringField.EMAIL, Check.MATCHES, null, "[\\w\\.]{2,50}@[\\w\\.]{2,20}", true,
+                "Pre-scoring failed email is invalid", "Pre-scoring failed email is empty"));
+        rules.add(new Rule(PreScoringField.TERM, Check.GREATER_THAN, BigDecimal.valueOf(6), null, true,
+                "Pre-scoring failed term is less than 6 months", "Pre-scoring failed term is null"));
+        rules.add(new Rule(PreScoringField.PASSPORT_NUMBER, Check.MATCHES, null, "\\d{6}", true,
+                "Pre-scoring failed passport number is invalid", "Pre-scoring failed passport number is null"));
+        rules.add(new Rule(PreScoringField.PASSPORT_SERIES, Check.MATCHES, null, "\\d{4}", true,
+                "Pre-scoring failed invalid passport series", "Pre-scoring failed passport series is null"));
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setMode(Mode.ALL);
+        ruleSet.setRules(rules);
+        return ruleSet;
+    }
+}
@@ -0,0 +1,135 @@
+package com.enfint.application.validation;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.exception.PreScoringFailedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-scores applications with the configured rule sets, each compiled to a {@link PreScoringPipeline}; without
+ * configuration only {@link PreScoringRuleSets#standard()} is used.
+ */
+@Component
+@Slf4j
+public class PreScoringValidator {
+    private final PreScoringObserver observer;
+    private volatile RuleSets ruleSets;
+
+    public PreScoringValidator() {
+        this(PreScoringObserver.NONE, new PreScoringProperties());
+    }
+
+    @Autowired
+    public PreScoringValidator(PreScoringObserver observer, PreScoringProperties properties) {
+        this.observer = observer;
+        this.ruleSets = RuleSets.compile(properties);
+    }
+
+    /**
+     * Runs the rule set of the request's channel and records its violations into {@code result}, which is
+     * cleared first.
+     */
+    public PreScoringResult validate(LoanApplicationRequestDTO loanApplication, PreScoringResult result) {
+        return validate(loanApplication, result, select());
+    }
+
+    /**
+     * Runs {@code pipeline}, chosen earlier by {@link #select()}; for work that leaves the request thread.
+     */
+    public PreScoringResult validate(LoanApplicationRequestDTO loanApplication, PreScoringResult result,
+                                     PreScoringPipeline pipeline) {
+        log.info("************ Validating data ***************");
+        result.clear();
+        pipeline.validate(loanApplication, result, observer);
+        observer.completed(result);
+        return result;
+    }
+
+    /**
+     * Rule set of the current request's channel, read from the request bound to this thread.
+     */
+    public PreScoringPipeline select() {
+        return ruleSets.select();
+    }
+
+    /**
+     * Compiles {@code properties} completely before swapping them in, so requests see either the old or the
+     * new rule sets.
+     *
+     * @throws IllegalArgumentException if a rule set is invalid; the current rule sets stay in place
+     */
+    public void reload(PreScoringProperties properties) {
+        RuleSets compiled = RuleSets.compile(properties);
+        ruleSets = compiled;
+        log.info("******************** Pre-scoring rule sets reloaded: {} ********************",
+                compiled.byName.keySet());
+    }
+
+    PreScoringPipeline pipeline(String ruleSet) {
+        return ruleSets.byName.get(ruleSet);
+    }
+
+    /**
+     * Throwing variant for callers that cannot handle a {@link PreScoringResult}.
+     */
+    public void validate(LoanApplicationRequestDTO loanApplication) {
+        PreScoringResult result = validate(loanApplication, new PreScoringResult());
+        if (!result.isAccepted()) {
+            throw new PreScoringFailedException(result.getViolations());
+        }
+    }
+
+    private static final class RuleSets {
+        private final String channelHeader;
+        private final PreScoringPipeline defaultPipeline;
+        private final Map<String, PreScoringPipeline> byName;
+
+        private RuleSets(String channelHeader, PreScoringPipeline defaultPipeline,
+                         Map<String, PreScoringPipeline> byName) {
+            this.channelHeader = channelHeader;
+            this.defaultPipeline = defaultPipeline;
+            this.byName = byName;
+        }
+
+        private static RuleSets compile(PreScoringProperties properties) {
+            Map<String, PreScoringProperties.RuleSet> configured = new LinkedHashMap<>();
+            if (properties.getRuleSets() != null) {
+                configured.putAll(properties.getRuleSets());
+            }
+            configured.putIfAbsent(PreScoringRuleSets.STANDARD, PreScoringRuleSets.standard());
+            Map<String, PreScoringPipeline> byName = new HashMap<>();
+            configured.forEach((name, ruleSet) -> byName.put(name, PreScoringPipeline.compile(name, ruleSet)));
+            PreScoringPipeline defaultPipeline = byName.get(properties.getDefaultRuleSet());
+            if (defaultPipeline == null) {
+                throw new IllegalArgumentException(
+                        "Unknown default pre-scoring rule set " + properties.getDefaultRuleSet());
+            }
+            return new RuleSets(properties.getChannelHeader(), defaultPipeline, byName);
+        }
+
+        /**
+         * Rule set named by the channel header of the current request; the header is only read when there
+         * is more than one set to choose from.
+         */
+        private PreScoringPipeline select() {
+            if (byName.size() == 1 || channelHeader == null) {
+                return defaultPipeline;
+            }
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+                return defaultPipeline;
+            }
+            String channel = servletAttributes.getRequest().getHeader(channelHeader);
+            PreScoringPipeline pipeline = channel == null ? null : byName.get(channel);
+            return pipeline != null ? pipeline : defaultPipeline;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.enfint.application.validation;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+@Value
+public class PreScoringViolation {
+    String field;
+    String message;
+
+    @JsonCreator
+    public PreScoringViolation(@JsonProperty("field") String field, @JsonProperty("message") String message) {
+        this.field = field;
+        this.message = message;
+    }
+}
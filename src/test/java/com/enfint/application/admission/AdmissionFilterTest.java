@@ -0,0 +1,80 @@
+package com.enfint.application.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionFilterTest {
+    private final AdmissionProperties properties = properties();
+    private final AdmissionFilter filter = new AdmissionFilter(properties);
+
+    @Test
+    void shouldShedWhenNoSlotFreesUpInTime() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain occupying = (request, response) -> {
+            MockHttpServletResponse shedResponse = new MockHttpServletResponse();
+            filter.doFilter(intake(), shedResponse, new MockFilterChain());
+            nested.set(shedResponse);
+        };
+
+        filter.doFilter(intake(), new MockHttpServletResponse(), occupying);
+
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+        assertThat(nested.get().getHeader("Retry-After")).isEqualTo("1");
+        assertThat(nested.get().getContentAsString()).contains("overloaded");
+        assertThat(filter.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldBindDeadlineFromHeaderCappedByMaximum() throws Exception {
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        MockHttpServletRequest request = intake();
+        request.addHeader(Deadline.HEADER, "60000");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(Deadline.current()));
+
+        assertThat(seen.get().remainingMillis()).isBetween(1L, 5_000L);
+        assertThat(Deadline.current()).isNull();
+    }
+
+    @Test
+    void shouldUseDefaultDeadlineForMalformedHeader() throws Exception {
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        MockHttpServletRequest request = intake();
+        request.addHeader(Deadline.HEADER, "soon");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(Deadline.current()));
+
+        assertThat(seen.get().remainingMillis()).isBetween(1_000L, 2_000L);
+    }
+
+    @Test
+    void shouldLeaveOtherPathsAlone() throws Exception {
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/application/batch");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(Deadline.current()));
+
+        assertThat(seen.get()).isNull();
+    }
+
+    private static MockHttpServletRequest intake() {
+        return new MockHttpServletRequest("POST", "/application/");
+    }
+
+    private static AdmissionProperties properties() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxInFlight(1);
+        properties.setMaxQueueTime(Duration.ofMillis(20));
+        properties.setDefaultTimeout(Duration.ofSeconds(2));
+        properties.setMaxTimeout(Duration.ofSeconds(5));
+        return properties;
+    }
+}
@@ -0,0 +1,240 @@
+package com.enfint.application.batch;
+
+import com.enfint.application.cache.OfferCache;
+import com.enfint.application.config.TaskExecutors;
+import com.enfint.application.config.VirtualThreadProperties;
+import com.enfint.application.cache.OfferCacheProperties;
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.duplicate.DuplicateApplicationIndex;
+import com.enfint.application.duplicate.DuplicateIndexProperties;
+import com.enfint.application.idempotency.IdempotencyProperties;
+import com.enfint.application.idempotency.IdempotencyStore;
+import com.enfint.application.ratelimit.RateLimitProperties;
+import com.enfint.application.ratelimit.RateLimiter;
+import com.enfint.application.fiegnClient.DealClient;
+import com.enfint.application.fiegnClient.OffloadingDealClient;
+import com.enfint.application.service.ApplicationService;
+import com.enfint.application.validation.PreScoringField;
+import com.enfint.application.validation.PreScoringObserver;
+import com.enfint.application.validation.PreScoringProperties;
+import com.enfint.application.validation.PreScoringValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchOfferServiceTest {
+
+    @Mock
+    private DealClient dealClient;
+    @Mock
+    private OffloadingDealClient offloadingDealClient;
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final BatchProperties properties = new BatchProperties();
+    private BatchOfferService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = service(Optional.empty());
+    }
+
+    private BatchOfferService service(Optional<RateLimiter> rateLimiter) {
+        return service(rateLimiter, new PreScoringValidator());
+    }
+
+    private BatchOfferService service(Optional<RateLimiter> rateLimiter, PreScoringValidator validator) {
+        OfferCacheProperties cacheProperties = new OfferCacheProperties();
+        cacheProperties.setEnabled(false);
+        properties.setWorkers(4);
+        properties.setWindow(2);
+        ApplicationService applicationService =
+                new ApplicationService(dealClient, offloadingDealClient,
+                        validator, new OfferCache(cacheProperties),
+                        new DuplicateApplicationIndex(new DuplicateIndexProperties()),
+                        new IdempotencyStore(new IdempotencyProperties()), Optional.empty(),
+                        Optional.empty(), new SimpleMeterRegistry());
+        return new BatchOfferService(applicationService, mapper, properties,
+                new TaskExecutors(new VirtualThreadProperties()), rateLimiter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldStreamOneResultPerNdjsonItem() throws IOException {
+        when(dealClient.getLoanOffers(any())).thenReturn(List.of(LoanOfferDTO.builder().applicationId(1L).build()));
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            ndjson.append(mapper.writeValueAsString(request(i % 3 == 0 ? 100 : 10_000))).append('\n');
+        }
+
+        List<BatchItemResult> results = process(ndjson.toString());
+
+        assertThat(results).hasSize(10);
+        assertThat(results).extracting(BatchItemResult::getIndex).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(results).filteredOn(result -> result.getViolations() != null)
+                .extracting(BatchItemResult::getIndex).containsExactlyInAnyOrder(0, 3, 6, 9);
+        assertThat(results).filteredOn(result -> result.getOffers() != null).hasSize(6);
+    }
+
+    @Test
+    void shouldAcceptJsonArray() throws IOException {
+        when(dealClient.getLoanOffers(any())).thenReturn(List.of(LoanOfferDTO.builder().applicationId(1L).build()));
+        String array = mapper.writeValueAsString(List.of(request(10_000), request(20_000)));
+
+        assertThat(process(array)).extracting(BatchItemResult::getOffers).doesNotContainNull();
+    }
+
+    @Test
+    void shouldNeverExceedWindow() throws IOException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(dealClient.getLoanOffers(any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            inFlight.decrementAndGet();
+            return List.of();
+        });
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            ndjson.append(mapper.writeValueAsString(request(10_000 + i))).append('\n');
+        }
+
+        assertThat(process(ndjson.toString())).hasSize(20);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(properties.getWindow());
+    }
+
+    @Test
+    void shouldReportDealFailuresAndMalformedInputPerItem() throws IOException {
+        when(dealClient.getLoanOffers(any())).thenThrow(new IllegalStateException("deal is down"));
+        String ndjson = mapper.writeValueAsString(request(10_000)) + "\n{not json\n";
+
+        List<BatchItemResult> results = process(ndjson);
+
+        assertThat(results).extracting(BatchItemResult::getError)
+                .containsExactlyInAnyOrder("deal is down", "Malformed application request");
+    }
+
+    @Test
+    void shouldReportItemWhoseWorkerThrowsError() throws IOException {
+        when(dealClient.getLoanOffers(any())).thenThrow(new StackOverflowError());
+
+        List<BatchItemResult> results = process(mapper.writeValueAsString(request(10_000)) + "\n");
+
+        assertThat(results).extracting(BatchItemResult::getError).containsExactly("Internal error");
+    }
+
+    @Test
+    void shouldPreScoreItemsWithRuleSetOfBatchChannel() throws IOException {
+        PreScoringProperties.Rule rule = new PreScoringProperties.Rule();
+        rule.setField(PreScoringField.AMOUNT);
+        rule.setCheck(PreScoringProperties.Check.MIN);
+        rule.setValue(BigDecimal.valueOf(20_000));
+        PreScoringProperties.RuleSet partner = new PreScoringProperties.RuleSet();
+        partner.setRules(List.of(rule));
+        PreScoringProperties preScoring = new PreScoringProperties();
+        preScoring.setChannelHeader("X-Channel");
+        preScoring.setRuleSets(Map.of("partner", partner));
+        underTest.shutdown();
+        underTest = service(Optional.empty(), new PreScoringValidator(PreScoringObserver.NONE, preScoring));
+        MockHttpServletRequest batchRequest = new MockHttpServletRequest();
+        batchRequest.addHeader("X-Channel", "partner");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(batchRequest));
+
+        List<BatchItemResult> results = process(mapper.writeValueAsString(request(15_000)) + "\n");
+
+        assertThat(results).singleElement().extracting(BatchItemResult::getViolations).asList()
+                .extracting("field").containsExactly("amount");
+    }
+
+    @Test
+    void shouldChargeRateLimitPerItem() throws IOException {
+        when(dealClient.getLoanOffers(any())).thenReturn(List.of(LoanOfferDTO.builder().applicationId(1L).build()));
+        RateLimitProperties rateLimit = new RateLimitProperties();
+        rateLimit.setBurst(3);
+        rateLimit.setPermitsPerSecond(0.001);
+        underTest.shutdown();
+        underTest = service(Optional.of(new RateLimiter(rateLimit)));
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            ndjson.append(mapper.writeValueAsString(request(10_000 + i))).append('\n');
+        }
+
+        List<BatchItemResult> results = process(ndjson.toString());
+
+        assertThat(results).filteredOn(result -> result.getOffers() != null).hasSize(3);
+        assertThat(results).filteredOn(result -> "Rate limit exceeded".equals(result.getError()))
+                .extracting(BatchItemResult::getIndex).containsExactlyInAnyOrder(3, 4);
+    }
+
+    @Test
+    void shouldStopReadingAfterMaxItems() throws IOException {
+        when(dealClient.getLoanOffers(any())).thenReturn(List.of());
+        properties.setMaxItems(3);
+        underTest.shutdown();
+        underTest = service(Optional.empty());
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            ndjson.append(mapper.writeValueAsString(request(10_000 + i))).append('\n');
+        }
+
+        List<BatchItemResult> results = process(ndjson.toString());
+
+        assertThat(results).hasSize(4);
+        assertThat(results).filteredOn(result -> result.getError() != null).singleElement()
+                .extracting(BatchItemResult::getIndex).isEqualTo(3);
+    }
+
+    private List<BatchItemResult> process(String body) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        underTest.process(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output,
+                new MockHttpServletRequest());
+        List<BatchItemResult> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(mapper.readValue(line, BatchItemResult.class));
+        }
+        return results;
+    }
+
+    private static LoanApplicationRequestDTO request(int amount) {
+        return LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(amount))
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .email("boitumelotshehla@gmail.com")
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.enfint.application.cache;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfferCacheTest {
+
+    private OfferCacheProperties properties;
+    private LoanApplicationRequestDTO request;
+    private final List<LoanOfferDTO> offers = List.of(LoanOfferDTO.builder().applicationId(1L).term(10).build());
+
+    @BeforeEach
+    void setUp() {
+        properties = new OfferCacheProperties();
+        request = LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .email("boitumelotshehla@gmail.com")
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+    }
+
+    @Test
+    void shouldNormalizeRequestIntoKey() {
+        ApplicationRequestKey key = ApplicationRequestKey.of(request);
+        request.setEmail("  BoitumeloTshehla@GMAIL.com");
+        request.setAmount(new BigDecimal("10000.00"));
+        assertThat(ApplicationRequestKey.of(request)).isEqualTo(key);
+
+        request.setTerm(12);
+        assertThat(ApplicationRequestKey.of(request)).isNotEqualTo(key);
+    }
+
+    @Test
+    void shouldRecordHitsAndMisses() {
+        OfferCache offerCache = new OfferCache(properties);
+        ApplicationRequestKey key = ApplicationRequestKey.of(request);
+
+        assertThat(offerCache.get(key)).isNull();
+        offerCache.put(key, offers);
+        assertThat(offerCache.get(key)).isEqualTo(offers);
+        assertThat(offerCache.stats().hitCount()).isEqualTo(1);
+        assertThat(offerCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateOnSelectWhenConfigured() {
+        OfferCache offerCache = new OfferCache(properties);
+        ApplicationRequestKey key = ApplicationRequestKey.of(request);
+        offerCache.put(key, offers);
+
+        offerCache.onOfferSelected(offers.get(0));
+
+        assertThat(offerCache.get(key)).isNull();
+    }
+
+    @Test
+    void shouldKeepOffersAfterSelectWhenInvalidationDisabled() {
+        properties.setInvalidateOnSelect(false);
+        OfferCache offerCache = new OfferCache(properties);
+        ApplicationRequestKey key = ApplicationRequestKey.of(request);
+        offerCache.put(key, offers);
+
+        offerCache.onOfferSelected(offers.get(0));
+
+        assertThat(offerCache.get(key)).isEqualTo(offers);
+    }
+
+    @Test
+    void shouldBypassWhenDisabled() {
+        properties.setEnabled(false);
+        OfferCache offerCache = new OfferCache(properties);
+        ApplicationRequestKey key = ApplicationRequestKey.of(request);
+        offerCache.put(key, offers);
+
+        assertThat(offerCache.get(key)).isNull();
+    }
+}
@@ -0,0 +1,151 @@
+package com.enfint.application.concurrent;
+
+import com.enfint.application.admission.Deadline;
+import com.enfint.application.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, String> underTest = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @Test
+    void shouldMakeOneCallForConcurrentIdenticalKeys() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll(() -> underTest.execute("key", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "offers";
+        }));
+        awaitWaiters(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("offers");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(underTest.inFlight()).isZero();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldFanOutFailureToAllWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("deal is down");
+
+        List<Future<String>> results = submitAll(() -> underTest.execute("key", () -> {
+            await(release);
+            throw failure;
+        }));
+        awaitWaiters(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldStopWaitingOnceDeadlinePasses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> underTest.execute("key", () -> {
+            await(release);
+            return "offers";
+        }));
+        while (underTest.inFlight() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThatThrownBy(() -> Deadline.after(Duration.ofMillis(50))
+                .wrap(() -> underTest.execute("key", () -> "second call")).get())
+                .isInstanceOf(DeadlineExceededException.class);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("offers");
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldRetryWhenOnlyLeaderDeadlinePassed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> Deadline.after(Duration.ofMillis(1)).wrap(
+                () -> underTest.execute("key", () -> {
+                    await(release);
+                    throw new DeadlineExceededException("Request deadline passed while waiting for deal");
+                })).get());
+        while (underTest.inFlight() == 0) {
+            Thread.sleep(1);
+        }
+        Future<String> waiter = executor.submit(() -> Deadline.after(Duration.ofSeconds(5))
+                .wrap(() -> underTest.execute("key", () -> "offers")).get());
+        awaitWaiters(1);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(DeadlineExceededException.class);
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("offers");
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldRetryAsyncWhenOnlyLeaderDeadlinePassed() throws Exception {
+        CompletableFuture<String> leaderCall = new CompletableFuture<>();
+        CompletableFuture<String> leader = Deadline.after(Duration.ofMillis(1))
+                .wrap(() -> underTest.executeAsync("key", () -> leaderCall)).get();
+        CompletableFuture<String> waiter = Deadline.after(Duration.ofSeconds(5))
+                .wrap(() -> underTest.executeAsync("key", () -> CompletableFuture.completedFuture("offers"))).get();
+
+        leaderCall.completeExceptionally(new DeadlineExceededException("Request deadline passed while waiting for deal"));
+
+        assertThatThrownBy(leader::join).hasCauseInstanceOf(DeadlineExceededException.class);
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("offers");
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldNotCoalesceSequentialCalls() {
+        AtomicInteger calls = new AtomicInteger();
+        underTest.execute("key", () -> String.valueOf(calls.incrementAndGet()));
+        underTest.execute("key", () -> String.valueOf(calls.incrementAndGet()));
+        assertThat(calls).hasValue(2);
+        assertThat(underTest.coalesced()).isZero();
+        executor.shutdown();
+    }
+
+    private List<Future<String>> submitAll(Callable<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    private void awaitWaiters(int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (underTest.coalesced() < waiters && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
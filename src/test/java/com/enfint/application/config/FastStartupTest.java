@@ -0,0 +1,63 @@
+package com.enfint.application.config;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.stub.DealStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("fast-startup")
+class FastStartupTest {
+    private static final DealStub DEAL = DealStub.start();
+
+    @Autowired
+    TestRestTemplate restTemplate;
+    @Autowired
+    ApplicationContext context;
+
+    @DynamicPropertySource
+    static void dealUrl(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+    }
+
+    @AfterAll
+    static void stopDeal() {
+        DEAL.close();
+    }
+
+    @Test
+    void shouldWarmUpLazyContextAndServeFirstRequest() {
+        assertThat(context.getBean(StartupWarmup.class)).isNotNull();
+        assertThat(DEAL.offerRequests()).isZero();
+
+        ResponseEntity<LoanOfferDTO[]> response = restTemplate.postForEntity("/application/",
+                LoanApplicationRequestDTO.builder()
+                        .amount(BigDecimal.valueOf(10_000))
+                        .term(10)
+                        .firstName("Boitumelo")
+                        .lastName("Tshehla")
+                        .email("boitumelotshehla@gmail.com")
+                        .birthdate(LocalDate.of(1999, 1, 21))
+                        .passportSeries("4265")
+                        .passportNumber("698534")
+                        .build(), LoanOfferDTO[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(4);
+    }
+}
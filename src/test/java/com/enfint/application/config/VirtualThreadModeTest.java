@@ -0,0 +1,75 @@
+package com.enfint.application.config;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.stub.DealStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIf("com.enfint.application.config.VirtualThreads#isSupported")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "application.virtual-threads.enabled=true")
+class VirtualThreadModeTest {
+
+    private static final DealStub DEAL = DealStub.start();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private TaskExecutors taskExecutors;
+
+    @DynamicPropertySource
+    static void dealUrl(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+    }
+
+    @AfterAll
+    static void stopDeal() {
+        DEAL.close();
+    }
+
+    @Test
+    void shouldServeOffersThroughDealOnVirtualThreads() {
+        LoanApplicationRequestDTO request = LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .email("boitumelotshehla@gmail.com")
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+
+        ResponseEntity<LoanOfferDTO[]> response = restTemplate.postForEntity("/application/", request, LoanOfferDTO[].class);
+
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(response.getBody()).hasSize(4);
+        assertThat(DEAL.offerRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRunWorkersOnVirtualThreads() throws Exception {
+        ExecutorService executor = taskExecutors.newExecutor("test-", 1);
+        try {
+            assertThat(executor.submit(() -> VirtualThreads.isVirtual(Thread.currentThread()))
+                    .get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.admission.Deadline;
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.stub.DealStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "application.admission.max-in-flight=1",
+        "application.admission.max-queue-time=1s",
+        "application.offer-cache.enabled=false",
+        "application.duplicate-index.mode=off",
+        "application.rate-limit.enabled=false"
+})
+class AdmissionIntegrationTest {
+    private static final DealStub DEAL = DealStub.start();
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void dealUrl(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+    }
+
+    @AfterEach
+    void resetDeal() {
+        DEAL.latency(Duration.ZERO);
+    }
+
+    @AfterAll
+    static void stopDeal() {
+        DEAL.close();
+    }
+
+    @Test
+    void shouldShedQueuedRequestOnceItsDeadlinePassesWithoutCallingDeal() {
+        DEAL.latency(Duration.ofMillis(600));
+        int dealCalls = DEAL.offerRequests();
+        CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() -> post(null));
+        awaitDealRequests(dealCalls + 1);
+
+        ResponseEntity<String> queued = post("100");
+
+        assertThat(queued.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(queued.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(first.join().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(DEAL.offerRequests()).isEqualTo(dealCalls + 1);
+    }
+
+    @Test
+    void shouldStopWaitingForDealAtTheDeadline() {
+        DEAL.latency(Duration.ofSeconds(2));
+        long start = System.nanoTime();
+
+        ResponseEntity<String> response = post("300");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1500));
+    }
+
+    private void awaitDealRequests(int expected) {
+        long giveUp = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (DEAL.offerRequests() < expected && System.nanoTime() < giveUp) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private ResponseEntity<String> post(String timeoutMillis) {
+        HttpHeaders headers = new HttpHeaders();
+        if (timeoutMillis != null) {
+            headers.add(Deadline.HEADER, timeoutMillis);
+        }
+        LoanApplicationRequestDTO request = LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .email("boitumelotshehl@gmail.com")
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+        return restTemplate.postForEntity("/application/", new HttpEntity<>(request, headers), String.class);
+    }
+}
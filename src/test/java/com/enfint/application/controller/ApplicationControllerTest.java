@@ -2,7 +2,10 @@ package com.enfint.application.controller;
 
 import com.enfint.application.dto.LoanApplicationRequestDTO;
 import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.exception.IdempotencyKeyException;
 import com.enfint.application.service.ApplicationService;
+import com.enfint.application.validation.PreScoringResult;
+import com.enfint.application.validation.PreScoringViolation;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -17,6 +20,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -93,7 +97,8 @@ class ApplicationControllerTest {
                 .build().registerModule(new JavaTimeModule());
         String requestBody = mapper.writeValueAsString(loanApplicationRequest);
         //When
-        when(applicationService.getLoanOfferDTOList(loanApplicationRequest)).thenReturn(listOffers);
+        when(applicationService.preScore(loanApplicationRequest)).thenReturn(new PreScoringResult());
+        when(applicationService.requestLoanOffers(loanApplicationRequest)).thenReturn(listOffers);
         //Given
         mockMvc.perform(post("http://localhost:8083/application/")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -104,6 +109,31 @@ class ApplicationControllerTest {
 
     }
 
+    @Test
+    void shouldReportAllPreScoringViolations() throws Exception {
+        //Given
+        LoanApplicationRequestDTO loanApplicationRequest = LoanApplicationRequestDTO.builder()
+                .email("not-an-email")
+                .amount(BigDecimal.valueOf(100))
+                .build();
+        PreScoringResult rejected = new PreScoringResult();
+        rejected.reject(new PreScoringViolation("amount", "Pre-scoring failed amount is less than 10,000.00"));
+        rejected.reject(new PreScoringViolation("email", "Pre-scoring failed email is invalid"));
+        ObjectMapper mapper = JsonMapper.builder().build().registerModule(new JavaTimeModule());
+        String requestBody = mapper.writeValueAsString(loanApplicationRequest);
+        //When
+        when(applicationService.preScore(loanApplicationRequest)).thenReturn(rejected);
+        //Then
+        mockMvc.perform(post("http://localhost:8083/application/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.violations.length()").value(2))
+                .andExpect(jsonPath("$.violations[1].field").value("email"))
+                .andDo(print());
+        verify(applicationService, never()).requestLoanOffers(any());
+    }
+
     @Test
     void ShouldUpdateSelectedOffer() throws Exception {
         //Given
@@ -120,13 +150,33 @@ class ApplicationControllerTest {
         ObjectMapper mapper = JsonMapper.builder().build().registerModule(new JavaTimeModule());
         String requestBody = mapper.writeValueAsString(loanOffer);
         //When
-        doNothing().when(applicationService).selectOffer(loanOffer);
+        doNothing().when(applicationService).selectOffer(loanOffer, null);
         //Then
         mockMvc.perform(put("http://localhost:8083/application/offer")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestBody))
                 .andExpect(status().isOk())
                 .andDo(print());
-        verify(applicationService).selectOffer(loanOffer);
+        verify(applicationService).selectOffer(loanOffer, null);
+    }
+
+    @Test
+    void shouldPassIdempotencyKeyAndRejectItsReuse() throws Exception {
+        LoanOfferDTO loanOffer = LoanOfferDTO.builder().applicationId(1L).term(10).build();
+        String requestBody = JsonMapper.builder().build().writeValueAsString(loanOffer);
+        doNothing().doThrow(new IdempotencyKeyException("Idempotency-Key was already used for a different request"))
+                .when(applicationService).selectOffer(loanOffer, "retry-1");
+
+        mockMvc.perform(put("/application/offer")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/application/offer")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key was already used for a different request"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.stub.DealStub;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "application.deal.url=http://deal.invalid/deal",
+        "application.deal.balancer.consecutive-failures=3",
+        "application.deal.balancer.failure-penalty=0s"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DealLoadBalancingIntegrationTest {
+    private static final DealStub FAST = DealStub.start();
+    private static final DealStub ALSO_FAST = DealStub.start();
+    private static final DealStub SLOW = DealStub.start();
+
+    @Autowired
+    TestRestTemplate restTemplate;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void dealUrls(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.urls[0]", FAST::url);
+        registry.add("application.deal.urls[1]", ALSO_FAST::url);
+        registry.add("application.deal.urls[2]", SLOW::url);
+    }
+
+    @AfterEach
+    void resetDeal() {
+        for (DealStub deal : new DealStub[]{FAST, ALSO_FAST, SLOW}) {
+            deal.errorRate(0).latency(Duration.ZERO);
+        }
+    }
+
+    @AfterAll
+    static void stopDeal() {
+        FAST.close();
+        ALSO_FAST.close();
+        SLOW.close();
+    }
+
+    @Test
+    void shouldSendLittleTrafficToSlowInstance() {
+        FAST.latency(Duration.ofMillis(5));
+        ALSO_FAST.latency(Duration.ofMillis(5));
+        SLOW.latency(Duration.ofMillis(80));
+        int before = SLOW.updateRequests();
+
+        for (int i = 0; i < 60; i++) {
+            assertThat(selectOffer()).isEqualTo(HttpStatus.OK);
+        }
+
+        assertThat(SLOW.updateRequests() - before).isLessThan(6);
+        assertThat(FAST.updateRequests() + ALSO_FAST.updateRequests() + SLOW.updateRequests() - before)
+                .isEqualTo(60);
+    }
+
+    @Test
+    void shouldEjectFailingInstance() {
+        FAST.latency(Duration.ofMillis(20));
+        ALSO_FAST.latency(Duration.ofMillis(20));
+        SLOW.errorRate(1.0);
+        int before = SLOW.updateRequests();
+
+        int failed = 0;
+        for (int i = 0; i < 30; i++) {
+            if (selectOffer() != HttpStatus.OK) {
+                failed++;
+            }
+        }
+
+        assertThat(SLOW.updateRequests() - before).isEqualTo(3);
+        assertThat(failed).isEqualTo(3);
+        assertThat(meterRegistry.get("deal.endpoint.ejected").tag("endpoint", SLOW.url()).gauge().value())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("deal.endpoint.ejected").tag("endpoint", FAST.url()).gauge().value())
+                .isZero();
+    }
+
+    private HttpStatus selectOffer() {
+        LoanOfferDTO offer = LoanOfferDTO.builder().applicationId(1L).term(10).build();
+        return restTemplate.exchange("/application/offer", HttpMethod.PUT, new HttpEntity<>(offer), Void.class)
+                .getStatusCode();
+    }
+}
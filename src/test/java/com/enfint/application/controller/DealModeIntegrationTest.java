@@ -0,0 +1,133 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.exception.PreScoringFailed;
+import com.enfint.application.stub.DealStub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same HTTP contract against a local deal stub in both deal client modes.
+ */
+class DealModeIntegrationTest {
+
+    private static final DealStub DEAL = DealStub.start();
+
+    @AfterAll
+    static void stopDeal() {
+        DEAL.close();
+    }
+
+    @DynamicPropertySource
+    static void dealUrl(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+        registry.add("application.offer-cache.enabled", () -> "false");
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "application.deal.mode=sync")
+    class SyncMode extends Contract {
+        @Test
+        void shouldUseBlockingController() {
+            assertThat(context.getBeansOfType(ApplicationController.class)).hasSize(1);
+            assertThat(context.getBeansOfType(AsyncApplicationController.class)).isEmpty();
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "application.deal.mode=async")
+    class AsyncMode extends Contract {
+        @Test
+        void shouldUseDeferredController() {
+            assertThat(context.getBeansOfType(AsyncApplicationController.class)).hasSize(1);
+            assertThat(context.getBeansOfType(ApplicationController.class)).isEmpty();
+        }
+    }
+
+    abstract static class Contract {
+        @Autowired
+        TestRestTemplate restTemplate;
+        @Autowired
+        ApplicationContext context;
+        @Autowired
+        ObjectMapper mapper;
+        @LocalServerPort
+        int port;
+
+        @Test
+        void shouldReturnOffersFromDeal() {
+            int before = DEAL.offerRequests();
+
+            ResponseEntity<LoanOfferDTO[]> response =
+                    restTemplate.postForEntity("/application/", request(10_000), LoanOfferDTO[].class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).hasSize(4);
+            assertThat(DEAL.offerRequests()).isEqualTo(before + 1);
+        }
+
+        @Test
+        void shouldRejectWithoutCallingDeal() throws Exception {
+            int before = DEAL.offerRequests();
+
+            // HttpURLConnection cannot read a 401 answer to a streamed POST, so use the JDK client here.
+            HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/application/"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(request(100))))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+            assertThat(mapper.readValue(response.body(), PreScoringFailed.class).getViolations()).hasSize(1);
+            assertThat(DEAL.offerRequests()).isEqualTo(before);
+        }
+
+        @Test
+        void shouldForwardSelectedOfferToDeal() {
+            int before = DEAL.updateRequests();
+            LoanOfferDTO offer = LoanOfferDTO.builder().applicationId(1L).term(10).build();
+
+            ResponseEntity<Void> response = restTemplate.exchange("/application/offer", HttpMethod.PUT,
+                    new HttpEntity<>(offer), Void.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(DEAL.updateRequests()).isEqualTo(before + 1);
+        }
+
+        private static LoanApplicationRequestDTO request(int amount) {
+            return LoanApplicationRequestDTO.builder()
+                    .amount(BigDecimal.valueOf(amount))
+                    .term(10)
+                    .firstName("Boitumelo")
+                    .lastName("Tshehla")
+                    .email("boitumelotshehla@gmail.com")
+                    .birthdate(LocalDate.of(1999, 1, 21))
+                    .passportSeries("4265")
+                    .passportNumber("698534")
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.exception.DealUnavailable;
+import com.enfint.application.fiegnClient.ResilientDealClient;
+import com.enfint.application.resilience.CircuitBreaker;
+import com.enfint.application.stub.DealStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "application.deal.resilience.circuit-breaker.minimum-calls=4",
+        "application.deal.resilience.circuit-breaker.window-size=4",
+        "application.deal.resilience.circuit-breaker.open-duration=1m",
+        "application.deal.resilience.updates.max-concurrent=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DealResilienceIntegrationTest {
+    private static final DealStub DEAL = DealStub.start();
+
+    @Autowired
+    TestRestTemplate restTemplate;
+    @Autowired
+    ResilientDealClient dealClient;
+
+    @DynamicPropertySource
+    static void dealUrl(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+    }
+
+    @AfterEach
+    void resetDeal() {
+        DEAL.errorRate(0).latency(Duration.ZERO);
+    }
+
+    @AfterAll
+    static void stopDeal() {
+        DEAL.close();
+    }
+
+    @Test
+    void shouldFailFastOnceDealKeepsFailing() {
+        DEAL.errorRate(1.0);
+        for (int i = 0; i < 4; i++) {
+            assertThat(selectOffer().getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        int reachedDeal = DEAL.updateRequests();
+        assertThat(reachedDeal).as("updates are never retried").isEqualTo(4);
+
+        ResponseEntity<DealUnavailable> response = selectOffer(DealUnavailable.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+        assertThat(response.getBody().getMessage()).isEqualTo("Deal service circuit is open");
+        assertThat(DEAL.updateRequests()).isEqualTo(reachedDeal);
+        assertThat(dealClient.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldShedCallsBeyondBulkhead() {
+        DEAL.latency(Duration.ofMillis(500));
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<HttpStatus>> calls = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                calls.add(CompletableFuture.supplyAsync(() -> selectOffer().getStatusCode(), callers));
+            }
+            List<HttpStatus> statuses = calls.stream().map(CompletableFuture::join).toList();
+
+            assertThat(statuses).filteredOn(HttpStatus.OK::equals).hasSize(2);
+            assertThat(statuses).filteredOn(HttpStatus.SERVICE_UNAVAILABLE::equals).hasSize(2);
+            assertThat(dealClient.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<String> selectOffer() {
+        return selectOffer(String.class);
+    }
+
+    private <T> ResponseEntity<T> selectOffer(Class<T> type) {
+        LoanOfferDTO offer = LoanOfferDTO.builder()
+                .applicationId(1L)
+                .requestedAmount(BigDecimal.valueOf(10000))
+                .term(10)
+                .build();
+        return restTemplate.exchange("/application/offer", HttpMethod.PUT, new HttpEntity<>(offer), type);
+    }
+}
@@ -0,0 +1,84 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.stub.DealStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "application.offer-engine.enabled=true",
+        "application.offer-engine.fallback=true",
+        "application.offer-cache.enabled=false",
+        "application.duplicate-index.mode=off",
+        "application.deal.resilience.retry.max-retries=0"
+})
+class OfferPreviewIntegrationTest {
+    private static final DealStub DEAL = DealStub.start();
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void dealUrl(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+    }
+
+    @AfterEach
+    void resetDeal() {
+        DEAL.errorRate(0);
+    }
+
+    @AfterAll
+    static void stopDeal() {
+        DEAL.close();
+    }
+
+    @Test
+    void shouldPreviewOffersWithoutCallingDeal() {
+        int dealCalls = DEAL.offerRequests();
+
+        ResponseEntity<LoanOfferDTO[]> response = restTemplate.postForEntity("/application/preview", request(), LoanOfferDTO[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(4);
+        assertThat(response.getBody()[3].getMonthlyPayment()).isEqualByComparingTo("1027.71");
+        assertThat(DEAL.offerRequests()).isEqualTo(dealCalls);
+    }
+
+    @Test
+    void shouldFallBackToLocalOffersWhenDealFails() {
+        DEAL.errorRate(1.0);
+
+        ResponseEntity<LoanOfferDTO[]> response = restTemplate.postForEntity("/application/", request(), LoanOfferDTO[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(4).allSatisfy(offer -> assertThat(offer.getApplicationId()).isNull());
+    }
+
+    private static LoanApplicationRequestDTO request() {
+        return LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .email("boitumelotshehl@gmail.com")
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+    }
+}
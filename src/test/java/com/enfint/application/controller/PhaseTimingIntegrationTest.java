@@ -0,0 +1,152 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.stub.DealStub;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhaseTimingIntegrationTest {
+    private static final String EVENT = "com.enfint.application.RequestPhases";
+    private static final DealStub DEAL = DealStub.start().latency(Duration.ofMillis(20));
+
+    @AfterAll
+    static void stopDeal() {
+        DEAL.close();
+    }
+
+    @DynamicPropertySource
+    static void dealUrl(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+        registry.add("application.offer-cache.enabled", () -> "false");
+        registry.add("application.duplicate-index.mode", () -> "off");
+        registry.add("application.phase-timing.server-timing-header", () -> "true");
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "application.deal.mode=sync")
+    class SyncMode extends Phases {
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "application.deal.mode=async")
+    class AsyncMode extends Phases {
+    }
+
+    abstract static class Phases {
+        @Autowired
+        TestRestTemplate restTemplate;
+
+        @Test
+        void shouldTimeEveryPhaseOfOfferRequest() throws IOException {
+            ResponseEntity<LoanOfferDTO[]> response;
+            List<RecordedEvent> events;
+            try (Recording recording = new Recording()) {
+                recording.enable(EVENT).withThreshold(Duration.ZERO);
+                recording.start();
+                response = restTemplate.postForEntity("/application/", request(), LoanOfferDTO[].class);
+                events = stop(recording);
+            }
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getFirst("Server-Timing"))
+                    .matches("bind;dur=\\d+\\.\\d{3}, prescore;dur=\\d+\\.\\d{3}, deal;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}");
+            assertThat(events).hasSize(1);
+            RecordedEvent event = events.get(0);
+            assertThat(event.getString("path")).isEqualTo("/application/");
+            assertThat(event.getInt("status")).isEqualTo(200);
+            assertThat(event.getDuration("deal")).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+            assertThat(event.getDuration("binding")).isPositive();
+            assertThat(event.getDuration("prescoring")).isPositive();
+            assertThat(event.getDuration("serialization")).isPositive();
+            assertThat(event.getDuration()).isGreaterThanOrEqualTo(event.getDuration("deal"));
+        }
+
+        @Test
+        void shouldSendServerTimingWithoutResponseBody() throws IOException {
+            LoanOfferDTO offer = LoanOfferDTO.builder().applicationId(1L).term(10).build();
+            ResponseEntity<Void> response;
+            List<RecordedEvent> events;
+            try (Recording recording = new Recording()) {
+                recording.enable(EVENT).withThreshold(Duration.ZERO);
+                recording.start();
+                response = restTemplate.exchange("/application/offer", HttpMethod.PUT, new HttpEntity<>(offer), Void.class);
+                events = stop(recording);
+            }
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getFirst("Server-Timing")).startsWith("bind;dur=").contains("deal;dur=");
+            assertThat(events).singleElement().satisfies(event -> {
+                assertThat(event.getString("path")).isEqualTo("/application/offer");
+                assertThat(event.getDuration("deal")).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+            });
+        }
+
+        private static List<RecordedEvent> stop(Recording recording) throws IOException {
+            // the event is committed once the response is complete, which may be just after the client has it
+            await(() -> {
+                try {
+                    return !events(recording).isEmpty();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            recording.stop();
+            return events(recording);
+        }
+
+        private static List<RecordedEvent> events(Recording recording) throws IOException {
+            Path file = Files.createTempFile("phases", ".jfr");
+            try {
+                recording.dump(file);
+                return RecordingFile.readAllEvents(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        private static void await(Supplier<Boolean> condition) {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!condition.get() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+        }
+
+        private static LoanApplicationRequestDTO request() {
+            return LoanApplicationRequestDTO.builder()
+                    .amount(BigDecimal.valueOf(10_000))
+                    .term(10)
+                    .firstName("Boitumelo")
+                    .lastName("Tshehla")
+                    .email("boitumelotshehla@gmail.com")
+                    .birthdate(LocalDate.of(1999, 1, 21))
+                    .passportSeries("4265")
+                    .passportNumber("698534")
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.stub.DealStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.endpoints.web.exposure.include=refresh",
+        "application.duplicate-index.mode=off",
+        "application.offer-cache.enabled=false"
+})
+class PreScoringReloadIntegrationTest {
+    private static final String ADDITIONAL_LOCATION = "spring.config.additional-location";
+    private static final DealStub DEAL = DealStub.start();
+    private static final Path RULES = rulesFile();
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+    }
+
+    @AfterAll
+    static void stopDeal() throws IOException {
+        DEAL.close();
+        System.clearProperty(ADDITIONAL_LOCATION);
+        Files.deleteIfExists(RULES);
+    }
+
+    @Test
+    void shouldApplyRulesFromExternalFileOnRefresh() throws IOException {
+        assertThat(post(BigDecimal.valueOf(15_000))).isEqualTo(HttpStatus.OK);
+
+        Files.writeString(RULES, String.join("\n",
+                "application.prescoring.default-rule-set=strict",
+                "application.prescoring.rule-sets.strict.rules[0].field=amount",
+                "application.prescoring.rule-sets.strict.rules[0].check=min",
+                "application.prescoring.rule-sets.strict.rules[0].value=20000"));
+        assertThat(restTemplate.postForEntity("/actuator/refresh", null, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        assertThat(post(BigDecimal.valueOf(15_000))).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private HttpStatus post(BigDecimal amount) {
+        LoanApplicationRequestDTO request = LoanApplicationRequestDTO.builder()
+                .amount(amount)
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .email("boitumelo@gmail.com")
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+        return restTemplate.postForEntity("/application/", request, String.class).getStatusCode();
+    }
+
+    /**
+     * Passed as a system property, like the command line would, because the refresh only re-reads the standard
+     * property sources.
+     */
+    private static Path rulesFile() {
+        try {
+            Path rules = Files.createTempFile("prescoring-rules", ".properties");
+            System.setProperty(ADDITIONAL_LOCATION, "optional:file:" + rules);
+            return rules;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
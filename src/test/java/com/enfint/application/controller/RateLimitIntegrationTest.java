@@ -0,0 +1,71 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.stub.DealStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "application.rate-limit.enabled=true",
+        "application.rate-limit.key=email",
+        "application.rate-limit.burst=2",
+        "application.rate-limit.permits-per-second=0.1",
+        "application.duplicate-index.mode=off"
+})
+class RateLimitIntegrationTest {
+    private static final DealStub DEAL = DealStub.start();
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void dealUrl(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+    }
+
+    @AfterAll
+    static void stopDeal() {
+        DEAL.close();
+    }
+
+    @Test
+    void shouldRejectClientOverItsBurstWithoutCallingDeal() {
+        assertThat(post("boitumelo@gmail.com").getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(post("BoiTumelo@Gmail.com").getStatusCode()).isEqualTo(HttpStatus.OK);
+        int dealCalls = DEAL.offerRequests();
+
+        ResponseEntity<String> rejected = post("boitumelo@gmail.com");
+
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+        assertThat(DEAL.offerRequests()).isEqualTo(dealCalls);
+        assertThat(post("someone.else@gmail.com").getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private ResponseEntity<String> post(String email) {
+        LoanApplicationRequestDTO request = LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .email(email)
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+        return restTemplate.postForEntity("/application/", request, String.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.enfint.application.controller;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.stub.DealStub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "application.deal.wire-format=cbor",
+        "application.offer-cache.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class WireFormatIntegrationTest {
+    private static final DealStub DEAL = DealStub.start();
+    private static final ObjectMapper CBOR = new CBORMapper().registerModule(new JavaTimeModule());
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void dealUrl(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+    }
+
+    @AfterAll
+    static void stopDeal() {
+        DEAL.close();
+    }
+
+    @Test
+    void shouldSwitchToCborOnceDealAnswersInCbor() {
+        DEAL.cbor(true);
+
+        assertThat(offers()).hasSize(4);
+        assertThat(DEAL.lastContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+
+        assertThat(offers()).hasSize(4);
+        assertThat(DEAL.lastContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+    }
+
+    @Test
+    void shouldStayOnJsonWhenDealOnlySpeaksJson() {
+        DEAL.cbor(false);
+
+        offers();
+        offers();
+
+        assertThat(DEAL.lastContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    @Test
+    void shouldFallBackToJsonWhenDealStopsAcceptingCbor() {
+        DEAL.cbor(true);
+        offers();
+        DEAL.cbor(false);
+
+        assertThat(offers()).hasSize(4);
+        assertThat(DEAL.lastContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(offers()).hasSize(4);
+        assertThat(DEAL.lastContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    @Test
+    void shouldServeCborToClientsAskingForIt() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_CBOR);
+        headers.setAccept(List.of(MediaType.APPLICATION_CBOR));
+
+        ResponseEntity<byte[]> response = restTemplate.postForEntity("/application/",
+                new HttpEntity<>(CBOR.writeValueAsBytes(request()), headers), byte[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(CBOR.readValue(response.getBody(), LoanOfferDTO[].class)).hasSize(4);
+    }
+
+    private LoanOfferDTO[] offers() {
+        ResponseEntity<LoanOfferDTO[]> response = restTemplate.postForEntity("/application/", request(), LoanOfferDTO[].class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private static LoanApplicationRequestDTO request() {
+        return LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .email("boitumelotshehla@gmail.com")
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.enfint.application.duplicate;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.exception.DuplicateApplicationException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DuplicateApplicationIndexTest {
+
+    @Test
+    void shouldPackPassportDigitsIntoKey() {
+        assertThat(DuplicateApplicationIndex.passportKey("4265", "698534")).isEqualTo(4265_698534L);
+        assertThat(DuplicateApplicationIndex.passportKey("0000", "000000")).isZero();
+        assertThat(DuplicateApplicationIndex.passportKey("42a5", "698534"))
+                .isGreaterThan(9999_999999L)
+                .isNotEqualTo(DuplicateApplicationIndex.passportKey("42b5", "698534"));
+    }
+
+    @Test
+    void shouldFlagRepeatedPassport() {
+        DuplicateIndexProperties properties = new DuplicateIndexProperties();
+        properties.setMode(DuplicateIndexProperties.Mode.FLAG);
+        DuplicateApplicationIndex index = new DuplicateApplicationIndex(properties);
+
+        assertThat(index.check(request("4265", "698534"))).isFalse();
+        index.record(request("4265", "698534"));
+        assertThat(index.check(request("4265", "698535"))).isFalse();
+        assertThat(index.check(request("4265", "698534"))).isTrue();
+        assertThat(index.duplicates()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRecordPassportOnCheck() {
+        DuplicateIndexProperties properties = new DuplicateIndexProperties();
+        properties.setMode(DuplicateIndexProperties.Mode.REJECT);
+        DuplicateApplicationIndex index = new DuplicateApplicationIndex(properties);
+
+        index.check(request("4265", "698534"));
+
+        assertThat(index.check(request("4265", "698534"))).isFalse();
+    }
+
+    @Test
+    void shouldRejectRepeatedPassportInRejectMode() {
+        DuplicateIndexProperties properties = new DuplicateIndexProperties();
+        properties.setMode(DuplicateIndexProperties.Mode.REJECT);
+        DuplicateApplicationIndex index = new DuplicateApplicationIndex(properties);
+
+        index.record(request("4265", "698534"));
+
+        assertThatThrownBy(() -> index.check(request("4265", "698534")))
+                .isInstanceOf(DuplicateApplicationException.class);
+    }
+
+    @Test
+    void shouldIgnoreRepeatsWhenOff() {
+        DuplicateIndexProperties properties = new DuplicateIndexProperties();
+        properties.setMode(DuplicateIndexProperties.Mode.OFF);
+        DuplicateApplicationIndex index = new DuplicateApplicationIndex(properties);
+
+        index.record(request("4265", "698534"));
+
+        assertThat(index.check(request("4265", "698534"))).isFalse();
+    }
+
+    private static LoanApplicationRequestDTO request(String series, String number) {
+        return LoanApplicationRequestDTO.builder().passportSeries(series).passportNumber(number).build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.enfint.application.duplicate;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentKeyIndexTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldReportKeySeenWithinWindow() {
+        RecentKeyIndex index = new RecentKeyIndex(100, 4, Duration.ofMinutes(1), now::get);
+
+        assertThat(index.checkAndRecord(4265_698534L)).isFalse();
+        assertThat(index.checkAndRecord(4265_698535L)).isFalse();
+        advance(59);
+        assertThat(index.checkAndRecord(4265_698534L)).isTrue();
+        assertThat(index.checkAndRecord(0)).isFalse();
+        assertThat(index.checkAndRecord(0)).isTrue();
+    }
+
+    @Test
+    void shouldLookUpKeyWithoutRecordingIt() {
+        RecentKeyIndex index = new RecentKeyIndex(100, 4, Duration.ofMinutes(1), now::get);
+
+        assertThat(index.contains(42)).isFalse();
+        assertThat(index.contains(42)).isFalse();
+        index.checkAndRecord(42);
+        assertThat(index.contains(42)).isTrue();
+        advance(60);
+        assertThat(index.contains(42)).isFalse();
+    }
+
+    @Test
+    void shouldForgetKeyOnceWindowHasPassed() {
+        RecentKeyIndex index = new RecentKeyIndex(100, 4, Duration.ofMinutes(1), now::get);
+
+        index.checkAndRecord(42);
+        advance(60);
+
+        assertThat(index.checkAndRecord(42)).isFalse();
+        assertThat(index.checkAndRecord(42)).isTrue();
+    }
+
+    @Test
+    void shouldReclaimExpiredSlotsInsteadOfGrowing() {
+        RecentKeyIndex index = new RecentKeyIndex(1_000, 1, Duration.ofSeconds(1), now::get);
+        long footprint = 0;
+
+        for (int round = 0; round < 10; round++) {
+            for (long key = 0; key < 1_000; key++) {
+                assertThat(index.checkAndRecord(round * 1_000L + key)).isFalse();
+            }
+            if (round == 0) {
+                footprint = index.footprintBytes();
+            }
+            advance(1);
+        }
+
+        assertThat(index.overflows()).isZero();
+        assertThat(index.occupied()).isLessThanOrEqualTo(index.capacity());
+        assertThat(index.footprintBytes()).isEqualTo(footprint).isEqualTo(index.maxFootprintBytes());
+    }
+
+    @Test
+    void shouldCountOverflowWhenFullOfLiveKeys() {
+        RecentKeyIndex index = new RecentKeyIndex(12, 1, Duration.ofHours(1), now::get);
+        long capacity = index.capacity();
+
+        for (long key = 0; key < capacity + 5; key++) {
+            index.checkAndRecord(key);
+        }
+
+        assertThat(index.occupied()).isEqualTo(capacity);
+        assertThat(index.overflows()).isEqualTo(5);
+        assertThat(index.checkAndRecord(0)).isTrue();
+    }
+
+    @Test
+    void shouldAllocateStripesOnFirstUse() {
+        RecentKeyIndex index = new RecentKeyIndex(1_000_000, 64, Duration.ofHours(1), now::get);
+
+        assertThat(index.footprintBytes()).isZero();
+        index.checkAndRecord(1);
+
+        assertThat(index.footprintBytes()).isEqualTo(index.maxFootprintBytes() / 64);
+        assertThat(index.capacity()).isGreaterThanOrEqualTo(1_000_000);
+    }
+
+    private void advance(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
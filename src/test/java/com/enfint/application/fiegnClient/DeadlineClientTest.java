@@ -0,0 +1,41 @@
+package com.enfint.application.fiegnClient;
+
+import com.enfint.application.admission.Deadline;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineClientTest {
+
+    @Test
+    void shouldForwardRemainingTimeInConfiguredHeader() {
+        AtomicReference<Request> sent = new AtomicReference<>();
+        DeadlineClient underTest = new DeadlineClient((request, options) -> {
+            sent.set(request);
+            return Response.builder().status(200).headers(Map.of()).request(request).body(new byte[0]).build();
+        }, "X-Deadline-Millis");
+        Request request = Request.create(Request.HttpMethod.GET, "http://deal/application", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+
+        Deadline.after(Duration.ofSeconds(5)).wrap(() -> {
+            try {
+                return underTest.execute(request,
+                        new Request.Options(10, TimeUnit.SECONDS, 10, TimeUnit.SECONDS, false));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).get();
+
+        assertThat(sent.get().headers()).containsKey("X-Deadline-Millis").doesNotContainKey(Deadline.HEADER);
+    }
+}
@@ -0,0 +1,73 @@
+package com.enfint.application.fiegnClient;
+
+import com.enfint.application.stub.DealStub;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DealClientTransportConfigTest {
+    private final DealClientTransportConfig config = new DealClientTransportConfig();
+    private final DealStub deal = DealStub.start();
+    private final DealClientProperties properties = new DealClientProperties();
+    private InstrumentedConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        deal.close();
+    }
+
+    @Test
+    void shouldReuseKeptAliveConnection() throws IOException {
+        start();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(post()).isEqualTo(200);
+        }
+
+        assertThat(deal.offerRequests()).isEqualTo(5);
+        assertThat(connectionManager.getTotalStats().getAvailable()).isEqualTo(1);
+        assertThat(connectionManager.getTotalStats().getLeased()).isZero();
+        assertThat(connectionManager.acquisitions()).isEqualTo(5);
+        assertThat(connectionManager.maxWaitNanos()).isPositive();
+        assertThat(connectionManager.acquireTimeouts()).isZero();
+    }
+
+    @Test
+    void shouldGiveUpOnSlowDeal() {
+        properties.setReadTimeout(Duration.ofMillis(100));
+        deal.latency(Duration.ofMillis(500));
+        start();
+
+        assertThatThrownBy(this::post).isInstanceOf(SocketTimeoutException.class);
+    }
+
+    private void start() {
+        connectionManager = config.dealConnectionManager(properties);
+        httpClient = config.dealHttpClient(connectionManager, properties);
+    }
+
+    private int post() throws IOException {
+        HttpPost post = new HttpPost(deal.url() + "/application");
+        post.setEntity(new StringEntity("{}", ContentType.APPLICATION_JSON));
+        try (CloseableHttpResponse response = httpClient.execute(post)) {
+            EntityUtils.consume(response.getEntity());
+            return response.getStatusLine().getStatusCode();
+        }
+    }
+}
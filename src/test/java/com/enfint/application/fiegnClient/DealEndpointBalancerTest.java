@@ -0,0 +1,118 @@
+package com.enfint.application.fiegnClient;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DealEndpointBalancerTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldPreferFasterInstance() {
+        DealEndpointBalancer balancer = balancer("http://a", "http://b");
+        call(balancer, endpoint(balancer, "http://a"), Duration.ofMillis(5), true);
+        call(balancer, endpoint(balancer, "http://b"), Duration.ofMillis(80), true);
+
+        assertThat(chosen(balancer, 100)).containsEntry("http://a", 100);
+    }
+
+    @Test
+    void shouldAvoidInstanceWithCallsInFlight() {
+        DealEndpointBalancer balancer = balancer("http://a", "http://b");
+        DealEndpointBalancer.Endpoint a = endpoint(balancer, "http://a");
+        call(balancer, a, Duration.ofMillis(5), true);
+        call(balancer, endpoint(balancer, "http://b"), Duration.ofMillis(20), true);
+        for (int i = 0; i < 5; i++) {
+            balancer.onStart(a);
+        }
+
+        assertThat(chosen(balancer, 100)).containsEntry("http://b", 100);
+    }
+
+    @Test
+    void shouldEjectFailingInstanceAndRampItBackIn() {
+        DealEndpointBalancer balancer = balancer("http://a", "http://b", "http://c");
+        DealEndpointBalancer.Endpoint a = endpoint(balancer, "http://a");
+        for (int i = 0; i < 3; i++) {
+            call(balancer, a, Duration.ofMillis(1), false);
+        }
+
+        assertThat(chosen(balancer, 100)).doesNotContainKey("http://a");
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(a.weight(now.get())).isEqualTo(0.1);
+        now.addAndGet(Duration.ofSeconds(15).toNanos());
+        assertThat(a.weight(now.get())).isCloseTo(0.55, within(1e-9));
+        now.addAndGet(Duration.ofSeconds(15).toNanos());
+        assertThat(a.weight(now.get())).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldEjectLongerWhenFailingRightAfterReturn() {
+        DealEndpointBalancer balancer = balancer("http://a", "http://b");
+        DealEndpointBalancer.Endpoint a = endpoint(balancer, "http://a");
+        for (int i = 0; i < 3; i++) {
+            call(balancer, a, Duration.ofMillis(1), false);
+        }
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(a.isEjected(now.get())).isFalse();
+
+        for (int i = 0; i < 3; i++) {
+            call(balancer, a, Duration.ofMillis(1), false);
+        }
+
+        now.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertThat(a.isEjected(now.get())).isTrue();
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(a.isEjected(now.get())).isFalse();
+    }
+
+    @Test
+    void shouldKeepMostInstancesInRotation() {
+        DealEndpointBalancer balancer = balancer("http://a", "http://b", "http://c");
+        for (DealEndpointBalancer.Endpoint endpoint : balancer.endpoints()) {
+            for (int i = 0; i < 3; i++) {
+                call(balancer, endpoint, Duration.ofMillis(1), false);
+            }
+        }
+
+        assertThat(balancer.endpoints()).filteredOn(endpoint -> endpoint.isEjected(now.get())).hasSize(1);
+    }
+
+    private DealEndpointBalancer balancer(String... urls) {
+        DealClientProperties properties = new DealClientProperties();
+        properties.setUrls(List.of(urls));
+        properties.getBalancer().setConsecutiveFailures(3);
+        return new DealEndpointBalancer(properties, now::get);
+    }
+
+    private DealEndpointBalancer.Endpoint endpoint(DealEndpointBalancer balancer, String url) {
+        return balancer.endpoints().stream().filter(endpoint -> endpoint.getUrl().equals(url)).findFirst().orElseThrow();
+    }
+
+    private void call(DealEndpointBalancer balancer, DealEndpointBalancer.Endpoint endpoint, Duration latency,
+                      boolean success) {
+        long start = balancer.onStart(endpoint);
+        now.addAndGet(latency.toNanos());
+        if (success) {
+            balancer.onSuccess(endpoint, start);
+        } else {
+            balancer.onFailure(endpoint, start);
+        }
+    }
+
+    private Map<String, Integer> chosen(DealEndpointBalancer balancer, int calls) {
+        Map<String, Integer> chosen = new HashMap<>();
+        for (int i = 0; i < calls; i++) {
+            chosen.merge(balancer.choose().getUrl(), 1, Integer::sum);
+        }
+        return chosen;
+    }
+}
@@ -0,0 +1,97 @@
+package com.enfint.application.fiegnClient;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegotiatingClientTest {
+    private static final String CBOR = MediaType.APPLICATION_CBOR_VALUE;
+    private static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+    private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, false);
+
+    private final Set<String> cborInstances = new HashSet<>();
+    private final List<Request> sent = new ArrayList<>();
+    private final WireFormatNegotiation negotiation = new WireFormatNegotiation(cborPreferred());
+    private final NegotiatingClient underTest = new NegotiatingClient(this::deal, negotiation);
+
+    @Test
+    void shouldSwitchOnlyInstancesAnsweringInBinary() throws IOException {
+        cborInstances.add("http://a:8082");
+        underTest.execute(request("http://a:8082/deal/application", JSON, "{}".getBytes(StandardCharsets.UTF_8)), OPTIONS);
+        assertThat(negotiation.requestContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+
+        underTest.execute(cborRequest("http://b:8082/deal/application"), OPTIONS);
+        assertThat(contentType(last())).isEqualTo(JSON);
+        assertThat(new String(last().body(), StandardCharsets.UTF_8)).isEqualTo("{\"amount\":10000.50}");
+
+        underTest.execute(cborRequest("http://a:8082/deal/application"), OPTIONS);
+        assertThat(contentType(last())).isEqualTo(CBOR);
+    }
+
+    @Test
+    void shouldResendRejectedBinaryBodyAsJson() throws IOException {
+        cborInstances.add("http://a:8082");
+        underTest.execute(request("http://a:8082/deal/application", JSON, "{}".getBytes(StandardCharsets.UTF_8)), OPTIONS);
+        cborInstances.clear();
+        sent.clear();
+
+        Response response = underTest.execute(cborRequest("http://a:8082/deal/application"), OPTIONS);
+
+        assertThat(response.status()).isEqualTo(200);
+        assertThat(sent).extracting(NegotiatingClientTest::contentType).containsExactly(CBOR, JSON);
+        assertThat(negotiation.requestContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        underTest.execute(cborRequest("http://a:8082/deal/application"), OPTIONS);
+        assertThat(contentType(last())).isEqualTo(JSON);
+    }
+
+    private Response deal(Request request, Request.Options options) {
+        sent.add(request);
+        String instance = request.url().substring(0, request.url().indexOf("/deal"));
+        boolean speaksCbor = cborInstances.contains(instance);
+        int status = CBOR.equals(contentType(request)) && !speaksCbor ? 415 : 200;
+        return Response.builder()
+                .status(status)
+                .headers(Map.of("Content-Type", List.of(speaksCbor ? CBOR : JSON)))
+                .request(request)
+                .body(new byte[0])
+                .build();
+    }
+
+    private Request last() {
+        return sent.get(sent.size() - 1);
+    }
+
+    private static Request cborRequest(String url) throws IOException {
+        return request(url, CBOR, new CBORMapper().writeValueAsBytes(Map.of("amount", new BigDecimal("10000.50"))));
+    }
+
+    private static Request request(String url, String contentType, byte[] body) {
+        return Request.create(Request.HttpMethod.POST, url, Map.of("Content-Type", List.of(contentType)), body,
+                StandardCharsets.UTF_8, null);
+    }
+
+    private static String contentType(Request request) {
+        return request.headers().get("Content-Type").iterator().next();
+    }
+
+    private static DealClientProperties cborPreferred() {
+        DealClientProperties properties = new DealClientProperties();
+        properties.setWireFormat(WireFormat.CBOR);
+        return properties;
+    }
+}
@@ -0,0 +1,50 @@
+package com.enfint.application.fiegnClient;
+
+import com.enfint.application.config.TaskExecutors;
+import com.enfint.application.config.VirtualThreadProperties;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.exception.DealServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class OffloadingDealClientTest {
+    private final LoanOfferDTO offer = LoanOfferDTO.builder().applicationId(1L).build();
+
+    @Mock
+    private DealClient dealClient;
+
+    @Test
+    void shouldShedCallsBeyondQueue() {
+        DealClientProperties properties = new DealClientProperties();
+        properties.setAsyncThreads(1);
+        properties.setAsyncQueueSize(1);
+        OffloadingDealClient underTest = new OffloadingDealClient(dealClient, properties,
+                new TaskExecutors(new VirtualThreadProperties()));
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(dealClient).updateApplication(any());
+
+        CompletableFuture<Void> running = underTest.updateApplication(offer);
+        CompletableFuture<Void> queued = underTest.updateApplication(offer);
+        CompletableFuture<Void> shed = underTest.updateApplication(offer);
+
+        assertThat(shed).failsWithin(Duration.ZERO).withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(DealServiceUnavailableException.class);
+        release.countDown();
+        assertThat(running).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(queued).succeedsWithin(Duration.ofSeconds(5));
+        underTest.shutdown();
+    }
+}
@@ -0,0 +1,83 @@
+package com.enfint.application.fiegnClient;
+
+import com.enfint.application.admission.Deadline;
+import com.enfint.application.config.TaskExecutors;
+import com.enfint.application.config.VirtualThreadProperties;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.exception.DeadlineExceededException;
+import com.enfint.application.resilience.CircuitBreaker;
+import com.enfint.application.resilience.DealResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientDealClientTest {
+    private final LoanOfferDTO offer = LoanOfferDTO.builder().applicationId(1L).build();
+
+    @Mock
+    private DealClient delegate;
+
+    @Test
+    void shouldReleaseGuardsWhenDealCallThrowsError() throws InterruptedException {
+        DealResilienceProperties properties = new DealResilienceProperties();
+        properties.getCircuitBreaker().setMinimumCalls(1);
+        properties.getCircuitBreaker().setHalfOpenCalls(1);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMillis(1));
+        ResilientDealClient underTest = new ResilientDealClient(delegate, properties,
+                new TaskExecutors(new VirtualThreadProperties()), new SimpleMeterRegistry());
+        doThrow(new IllegalStateException("deal is down"))
+                .doThrow(new StackOverflowError())
+                .doNothing()
+                .when(delegate).updateApplication(offer);
+
+        assertThatThrownBy(() -> underTest.updateApplication(offer)).isInstanceOf(IllegalStateException.class);
+        Thread.sleep(5);
+        assertThatThrownBy(() -> underTest.updateApplication(offer)).isInstanceOf(StackOverflowError.class);
+
+        assertThat(underTest.getLimiter().getInFlight()).isZero();
+        assertThat(underTest.getUpdatesBulkhead().inUse()).isZero();
+        underTest.updateApplication(offer);
+        assertThat(underTest.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldNotCountTrialCallOutlivingCallerDeadlineAsSuccess() throws InterruptedException {
+        DealResilienceProperties properties = new DealResilienceProperties();
+        properties.getCircuitBreaker().setMinimumCalls(1);
+        properties.getCircuitBreaker().setHalfOpenCalls(1);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMillis(1));
+        properties.getLimiter().setInitialLimit(4);
+        properties.getLimiter().setMinLimit(1);
+        properties.getLimiter().setBackoffRatio(0.5);
+        properties.getLimiter().setLatencyThreshold(Duration.ofMillis(10));
+        ResilientDealClient underTest = new ResilientDealClient(delegate, properties,
+                new TaskExecutors(new VirtualThreadProperties()), new SimpleMeterRegistry());
+        doThrow(new IllegalStateException("deal is down")).when(delegate).updateApplication(offer);
+        assertThatThrownBy(() -> underTest.updateApplication(offer)).isInstanceOf(IllegalStateException.class);
+        Thread.sleep(5);
+        doAnswer(invocation -> {
+            Thread.sleep(30);
+            throw new DeadlineExceededException("Request deadline passed while waiting for deal");
+        }).when(delegate).updateApplication(offer);
+
+        assertThatThrownBy(() -> Deadline.after(Duration.ofMillis(20)).wrap(() -> {
+            underTest.updateApplication(offer);
+            return null;
+        }).get()).isInstanceOf(DeadlineExceededException.class);
+
+        assertThat(underTest.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(underTest.getCircuitBreaker().tryAcquirePermission()).isTrue();
+        assertThat(underTest.getLimiter().getLimit()).isEqualTo(1);
+        assertThat(underTest.getLimiter().getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,139 @@
+package com.enfint.application.idempotency;
+
+import com.enfint.application.admission.Deadline;
+import com.enfint.application.exception.DeadlineExceededException;
+import com.enfint.application.exception.IdempotencyKeyException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+    private final IdempotencyStore store = new IdempotencyStore(new IdempotencyProperties());
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void shouldRunOnceAndReplayCompletedCall() {
+        store.execute("key-1", "offer", calls::incrementAndGet);
+        store.execute("key-1", "offer", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldNotDeduplicateWithoutKey() {
+        store.execute(null, "offer", calls::incrementAndGet);
+        store.execute(null, "offer", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void shouldForgetFailedCall() {
+        assertThatThrownBy(() -> store.execute("key-1", "offer", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("deal down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        store.execute("key-1", "offer", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void shouldForgetCallEndingInError() {
+        assertThatThrownBy(() -> store.execute("key-1", "offer", () -> {
+            calls.incrementAndGet();
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+
+        assertThat(CompletableFuture.runAsync(() -> store.execute("key-1", "offer", calls::incrementAndGet)))
+                .succeedsWithin(Duration.ofSeconds(5));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void shouldStopWaitingForFirstCallOnceDeadlinePasses() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> store.execute("key-1", "offer", () -> {
+            started.countDown();
+            await(release);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> Deadline.after(Duration.ofMillis(50)).wrap(() -> {
+            store.execute("key-1", "offer", calls::incrementAndGet);
+            return null;
+        }).get()).isInstanceOf(DeadlineExceededException.class);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        store.execute("key-1", "offer", calls::incrementAndGet);
+
+        assertThatThrownBy(() -> store.execute("key-1", "other offer", calls::incrementAndGet))
+                .isInstanceOf(IdempotencyKeyException.class);
+        assertThatThrownBy(() -> store.execute("x".repeat(256), "offer", calls::incrementAndGet))
+                .isInstanceOf(IdempotencyKeyException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldMakeConcurrentRepeatWaitForFirstCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> store.execute("key-1", "offer", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> repeat = CompletableFuture.runAsync(() -> store.execute("key-1", "offer", calls::incrementAndGet));
+        Thread.sleep(50);
+        assertThat(repeat).isNotDone();
+
+        release.countDown();
+        CompletableFuture.allOf(first, repeat).get(5, TimeUnit.SECONDS);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldShareAsyncOutcome() {
+        CompletableFuture<Void> dealCall = new CompletableFuture<>();
+
+        CompletableFuture<Void> first = store.executeAsync("key-1", "offer", () -> {
+            calls.incrementAndGet();
+            return dealCall;
+        });
+        CompletableFuture<Void> repeat = store.executeAsync("key-1", "offer", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+        assertThat(repeat).isNotDone();
+        dealCall.complete(null);
+
+        assertThat(first).isCompleted();
+        assertThat(repeat).isCompleted();
+        assertThat(calls).hasValue(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
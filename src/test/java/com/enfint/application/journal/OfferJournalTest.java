@@ -0,0 +1,131 @@
+package com.enfint.application.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfferJournalTest {
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReturnEntriesInAppendOrder() throws IOException {
+        try (OfferJournal journal = open()) {
+            journal.append(bytes("first"), 1L);
+            journal.append(bytes("second"), 2L);
+
+            assertThat(journal.depth()).isEqualTo(2);
+            assertThat(journal.oldestTimestamp()).isEqualTo(1L);
+            assertThat(text(journal.peek())).isEqualTo("first");
+            journal.acknowledge();
+            assertThat(text(journal.peek())).isEqualTo("second");
+            journal.acknowledge();
+            assertThat(journal.peek()).isNull();
+            assertThat(journal.pendingBytes()).isZero();
+        }
+    }
+
+    @Test
+    void shouldRecoverUnacknowledgedEntriesAfterReopen() throws IOException {
+        try (OfferJournal journal = open()) {
+            journal.append(bytes("sent"), 1L);
+            journal.append(bytes("pending"), 2L);
+            journal.acknowledge();
+        }
+
+        try (OfferJournal journal = open()) {
+            assertThat(journal.depth()).isEqualTo(1);
+            assertThat(text(journal.peek())).isEqualTo("pending");
+            journal.append(bytes("next"), 3L);
+            journal.acknowledge();
+            assertThat(text(journal.peek())).isEqualTo("next");
+        }
+    }
+
+    @Test
+    void shouldStopRecoveryAtTornRecord() throws IOException {
+        try (OfferJournal journal = open()) {
+            journal.append(bytes("intact"), 1L);
+            journal.append(bytes("torn"), 2L);
+        }
+        int tornPayload = OfferJournal.HEADER_SIZE + OfferJournal.RECORD_HEADER_SIZE + 6 + OfferJournal.RECORD_HEADER_SIZE;
+        try (RandomAccessFile file = new RandomAccessFile(path().toFile(), "rw")) {
+            file.seek(tornPayload);
+            file.write('X');
+        }
+
+        try (OfferJournal journal = open()) {
+            assertThat(journal.depth()).isEqualTo(1);
+            assertThat(text(journal.peek())).isEqualTo("intact");
+        }
+    }
+
+    @Test
+    void shouldReuseSpaceOfAcknowledgedEntries() throws IOException {
+        byte[] payload = new byte[1000];
+        try (OfferJournal journal = open()) {
+            assertThat(journal.append(payload, 1L)).isTrue();
+            assertThat(journal.append(payload, 2L)).isTrue();
+            assertThat(journal.append(payload, 3L)).isTrue();
+            assertThat(journal.append(payload, 4L)).isFalse();
+
+            journal.acknowledge();
+            journal.acknowledge();
+
+            assertThat(journal.append(payload, 4L)).isTrue();
+            assertThat(journal.depth()).isEqualTo(2);
+            assertThat(journal.peek().getTimestampMillis()).isEqualTo(3L);
+        }
+        try (OfferJournal journal = open()) {
+            assertThat(journal.depth()).isEqualTo(2);
+            assertThat(journal.oldestTimestamp()).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    void shouldKeepPendingEntryWhenCompactionWouldTouchIt() throws IOException {
+        int recordSize = OfferJournal.RECORD_HEADER_SIZE + 16;
+        int capacity = OfferJournal.HEADER_SIZE + 3 * recordSize - 1;
+        try (OfferJournal journal = new OfferJournal(path(), capacity, false)) {
+            journal.append(bytes("sent-sixteen-byt"), 1L);
+            journal.append(bytes("pending-sixteen-"), 2L);
+            journal.acknowledge();
+
+            journal.append(bytes("next-sixteen-byt"), 3L);
+        }
+        // A crash before the header update leaves the acked offset where it was before the append.
+        try (RandomAccessFile file = new RandomAccessFile(path().toFile(), "rw")) {
+            file.seek(8);
+            file.writeInt(OfferJournal.HEADER_SIZE + recordSize);
+        }
+
+        try (OfferJournal journal = new OfferJournal(path(), capacity, false)) {
+            assertThat(journal.depth()).isEqualTo(1);
+            assertThat(text(journal.peek())).isEqualTo("pending-sixteen-");
+        }
+    }
+
+    private OfferJournal open() throws IOException {
+        return new OfferJournal(path(), CAPACITY, false);
+    }
+
+    private Path path() {
+        return directory.resolve("journal.dat");
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(OfferJournal.Entry entry) {
+        return new String(entry.getPayload(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,146 @@
+package com.enfint.application.journal;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.fiegnClient.DealClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindOfferUpdaterTest {
+    @TempDir
+    Path directory;
+
+    private final List<LoanOfferDTO> delivered = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final AtomicInteger rejectionsLeft = new AtomicInteger();
+    private WriteBehindOfferUpdater updater;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (updater != null) {
+            updater.shutdown();
+        }
+    }
+
+    @Test
+    void shouldDeliverJournaledOffersInOrder() throws Exception {
+        updater = start();
+
+        assertThat(updater.submit(offer(1))).isTrue();
+        assertThat(updater.submit(offer(2))).isTrue();
+
+        awaitDelivered(2);
+        assertThat(delivered).extracting(LoanOfferDTO::getApplicationId).containsExactly(1L, 2L);
+        assertThat(updater.queueDepth()).isZero();
+        assertThat(updater.replayLagMillis()).isZero();
+        assertThat(updater.sent()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRetryUntilDealAccepts() throws Exception {
+        failuresLeft.set(2);
+        updater = start();
+
+        updater.submit(offer(1));
+
+        awaitDelivered(1);
+        assertThat(updater.retries()).isEqualTo(2);
+        assertThat(updater.queueDepth()).isZero();
+    }
+
+    @Test
+    void shouldReplayUnsentOffersAfterRestart() throws Exception {
+        failuresLeft.set(Integer.MAX_VALUE);
+        updater = start();
+        updater.submit(offer(7));
+        updater.shutdown();
+        assertThat(delivered).isEmpty();
+
+        failuresLeft.set(0);
+        updater = start();
+
+        awaitDelivered(1);
+        assertThat(delivered.get(0).getApplicationId()).isEqualTo(7L);
+    }
+
+    @Test
+    void shouldParkOffersDealRejects() throws Exception {
+        rejectionsLeft.set(1);
+        updater = start();
+
+        updater.submit(offer(1));
+        updater.submit(offer(2));
+
+        awaitDelivered(1);
+        assertThat(delivered.get(0).getApplicationId()).isEqualTo(2L);
+        assertThat(updater.parked()).isEqualTo(1);
+        assertThat(updater.parkedDepth()).isEqualTo(1);
+        assertThat(updater.dropped()).isZero();
+        assertThat(updater.retries()).isZero();
+    }
+
+    private void awaitDelivered(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (delivered.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(delivered).hasSize(count);
+    }
+
+    private WriteBehindOfferUpdater start() throws IOException {
+        OfferJournalProperties properties = new OfferJournalProperties();
+        properties.setPath(directory.resolve("offers.dat"));
+        properties.setParkedPath(directory.resolve("parked.dat"));
+        properties.setParkedCapacity(DataSize.ofKilobytes(64));
+        properties.setPollInterval(Duration.ofMillis(10));
+        properties.setRetryInitialBackoff(Duration.ofMillis(10));
+        properties.setRetryMaxBackoff(Duration.ofMillis(50));
+        return new WriteBehindOfferUpdater(new FlakyDeal(), new ObjectMapper(), properties, new SimpleMeterRegistry());
+    }
+
+    private static LoanOfferDTO offer(long applicationId) {
+        return LoanOfferDTO.builder()
+                .applicationId(applicationId)
+                .requestedAmount(BigDecimal.valueOf(10000))
+                .term(10)
+                .build();
+    }
+
+    private class FlakyDeal implements DealClient {
+        @Override
+        public List<LoanOfferDTO> getLoanOffers(LoanApplicationRequestDTO request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateApplication(LoanOfferDTO loanOffer) {
+            if (failuresLeft.getAndUpdate(left -> left > 0 ? left - 1 : 0) > 0) {
+                throw new IllegalStateException("deal is down");
+            }
+            if (rejectionsLeft.getAndUpdate(left -> left > 0 ? left - 1 : 0) > 0) {
+                throw new FeignException.BadRequest("Application not found",
+                        Request.create(Request.HttpMethod.PUT, "/deal/offer", Map.of(), null, StandardCharsets.UTF_8, null),
+                        null, Map.of());
+            }
+            delivered.add(loanOffer);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.enfint.application.logging;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogViewsTest {
+
+    @Test
+    void shouldMaskPersonalDataOfApplication() {
+        LoanApplicationRequestDTO request = LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .middleName("Kagiso")
+                .email("boitumelo@gmail.com")
+                .birthdate(LocalDate.of(1990, 5, 17))
+                .passportSeries("1234")
+                .passportNumber("567890")
+                .build();
+
+        String rendered = LogViews.of(request).toString();
+
+        assertThat(rendered).isEqualTo("LoanApplicationRequest(amount=10000, term=10, firstName=B***, "
+                + "lastName=T***, email=b***@gmail.com, birthYear=1990, passport=***90)");
+        assertThat(rendered).doesNotContain("Boitumelo", "Kagiso", "1234", "567890", "05-17");
+    }
+
+    @Test
+    void shouldRenderMissingFields() {
+        String rendered = LogViews.of(new LoanApplicationRequestDTO()).toString();
+
+        assertThat(rendered).isEqualTo("LoanApplicationRequest(amount=null, term=null, firstName=null, "
+                + "lastName=null, email=null, birthYear=null, passport=null)");
+        assertThat(LogViews.of((LoanApplicationRequestDTO) null)).hasToString("null");
+    }
+
+    @Test
+    void shouldNotRevealShortValues() {
+        StringBuilder builder = new StringBuilder();
+        LogViews.email(builder, "not-an-email");
+        builder.append(' ');
+        LogViews.tail(builder, "123", 2);
+
+        assertThat(builder).hasToString("*** ***");
+    }
+
+    @Test
+    void shouldRenderOfferSummary() {
+        LoanOfferDTO offer = LoanOfferDTO.builder()
+                .applicationId(3L)
+                .requestedAmount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .rate(BigDecimal.valueOf(16))
+                .isInsuranceEnabled(false)
+                .isSalaryClient(true)
+                .build();
+
+        assertThat(LogViews.of(offer)).hasToString(
+                "LoanOffer(applicationId=3, requestedAmount=10000, term=10, rate=16, insurance=false, salaryClient=true)");
+    }
+}
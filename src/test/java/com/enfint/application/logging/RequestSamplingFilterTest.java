@@ -0,0 +1,55 @@
+package com.enfint.application.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestSamplingFilterTest {
+    private final RequestLoggingProperties properties = new RequestLoggingProperties();
+    private final RequestSamplingFilter filter = new RequestSamplingFilter(properties);
+    private final SampledLogFilter sampledLogFilter = new SampledLogFilter();
+
+    @Test
+    void shouldSampleByPathRate() throws Exception {
+        properties.setSampleRates(Map.of("/application/", 0.0));
+
+        assertThat(decisionFor("/application/")).isEqualTo("false");
+        assertThat(decisionFor("/application/offer")).isEqualTo("true");
+    }
+
+    @Test
+    void shouldDenyInfoOnlyForUnsampledRequests() throws Exception {
+        properties.setDefaultSampleRate(0.0);
+        List<FilterReply> replies = new ArrayList<>();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/application/"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    replies.add(decide(Level.INFO));
+                    replies.add(decide(Level.WARN));
+                });
+
+        assertThat(replies).containsExactly(FilterReply.DENY, FilterReply.NEUTRAL);
+        assertThat(decide(Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(MDC.get(RequestSamplingFilter.REQUEST_ID)).isNull();
+    }
+
+    private String decisionFor(String path) throws Exception {
+        String[] decision = new String[1];
+        filter.doFilter(new MockHttpServletRequest("POST", path), new MockHttpServletResponse(),
+                (request, response) -> decision[0] = MDC.get(RequestSamplingFilter.SAMPLED));
+        return decision[0];
+    }
+
+    private FilterReply decide(Level level) {
+        return sampledLogFilter.decide(null, null, level, "message", null, null);
+    }
+}
@@ -0,0 +1,75 @@
+package com.enfint.application.metrics;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.stub.DealStub;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@AutoConfigureMetrics
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "application.metrics.rule-timers=true")
+class MetricsIntegrationTest {
+    private static final DealStub DEAL = DealStub.start();
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void dealUrl(DynamicPropertyRegistry registry) {
+        registry.add("application.deal.url", DEAL::url);
+    }
+
+    @AfterAll
+    static void stopDeal() {
+        DEAL.close();
+    }
+
+    @Test
+    void shouldExposeIntakeMetricsForPrometheus() {
+        assertThat(restTemplate.postForEntity("/application/", request(10_000), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.postForEntity("/application/", request(100), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        String scrape = restTemplate.getForObject("/actuator/prometheus", String.class);
+
+        assertThat(scrape)
+                .contains("application_prescoring_requests_total{application=\"application\",outcome=\"accepted\",} 1.0")
+                .contains("application_prescoring_requests_total{application=\"application\",outcome=\"rejected\",} 1.0")
+                .contains("application_prescoring_rejections_total{application=\"application\",rule=\"amount\",} 1.0")
+                .contains("application_prescoring_rule_seconds_count{application=\"application\",rule=\"email\",} 2.0")
+                .contains("application_offers_returned_count{application=\"application\",} 1.0")
+                .contains("application_offers_returned_bucket{")
+                .contains("feign_Client_seconds_count{")
+                .contains("method=\"getLoanOffers\"")
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("deal_pool_acquire_seconds_count{")
+                .contains("deal_circuit_state{")
+                .contains("cache_gets_total{");
+    }
+
+    private static LoanApplicationRequestDTO request(int amount) {
+        return LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(amount))
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .email("boitumelotshehla@gmail.com")
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.enfint.application.offer;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Reference annuity math in {@code BigDecimal}, the way deal computes it.
+ */
+public final class BigDecimalAnnuity {
+    private static final BigDecimal MONTHS_PERCENT = BigDecimal.valueOf(1200);
+
+    private BigDecimalAnnuity() {
+    }
+
+    public static BigDecimal monthlyPayment(BigDecimal amount, BigDecimal annualRate, int months) {
+        if (annualRate.signum() == 0) {
+            return amount.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP);
+        }
+        BigDecimal monthlyRate = annualRate.divide(MONTHS_PERCENT, MathContext.DECIMAL128);
+        BigDecimal discounted = BigDecimal.ONE.add(monthlyRate).pow(-months, MathContext.DECIMAL128);
+        return amount.multiply(monthlyRate)
+                .divide(BigDecimal.ONE.subtract(discounted), MathContext.DECIMAL128)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,56 @@
+package com.enfint.application.offer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixedPointAnnuityTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "2400, 1000000, 10, 111327",
+            "1600, 1000000, 10, 107479",
+            "1400, 1000000, 10, 106528",
+            "600, 1000000, 10, 102771",
+            "0, 1000000, 3, 333333",
+            "0, 1000000, 6, 166667"
+    })
+    void shouldMatchExactAnnuity(int rateBasisPoints, long principalCents, int months, long expectedCents) {
+        assertThat(new FixedPointAnnuity(rateBasisPoints).monthlyPaymentCents(principalCents, months))
+                .isEqualTo(expectedCents);
+    }
+
+    @Test
+    void shouldStayWithinOneCentOfBigDecimal() {
+        SplittableRandom random = new SplittableRandom(42);
+        int differing = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int rate = random.nextInt(1, 10_000);
+            long principal = random.nextLong(1_000_000, 10_000_000_000L);
+            int months = random.nextInt(1, 601);
+
+            long actual = new FixedPointAnnuity(rate).monthlyPaymentCents(principal, months);
+            long expected = BigDecimalAnnuity.monthlyPayment(BigDecimal.valueOf(principal, 2),
+                    BigDecimal.valueOf(rate, 2), months).unscaledValue().longValueExact();
+
+            assertThat(actual).as("rate %d bp, principal %d, %d months", rate, principal, months)
+                    .isBetween(expected - 1, expected + 1);
+            if (actual != expected) {
+                differing++;
+            }
+        }
+        assertThat(differing).isLessThan(5);
+    }
+
+    @Test
+    void shouldRejectRatesOutOfRange() {
+        assertThatThrownBy(() -> new FixedPointAnnuity(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FixedPointAnnuity(120_000)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,44 @@
+package com.enfint.application.offer;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.dto.LoanOfferDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalOfferEngineTest {
+
+    @Test
+    void shouldComputeFourOffersOrderedByRateLikeDeal() {
+        LocalOfferEngine engine = new LocalOfferEngine(new OfferEngineProperties());
+
+        List<LoanOfferDTO> offers = engine.getLoanOffers(LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(10_000))
+                .term(10)
+                .build());
+
+        assertThat(offers).extracting(LoanOfferDTO::getRate)
+                .containsExactly(BigDecimal.valueOf(24), BigDecimal.valueOf(16), BigDecimal.valueOf(14), BigDecimal.valueOf(6));
+        assertThat(offers).extracting(LoanOfferDTO::getIsInsuranceEnabled).containsExactly(false, false, true, true);
+        assertThat(offers).extracting(LoanOfferDTO::getIsSalaryClient).containsExactly(false, true, false, true);
+        assertThat(offers.get(0).getMonthlyPayment()).isEqualByComparingTo("1113.27");
+        assertThat(offers.get(0).getTotalAmount()).isEqualByComparingTo("11132.70");
+        assertThat(offers).allSatisfy(offer -> {
+            assertThat(offer.getApplicationId()).isNull();
+            assertThat(offer.getTerm()).isEqualTo(10);
+            assertThat(offer.getRequestedAmount()).isEqualByComparingTo("10000");
+        });
+    }
+
+    @Test
+    void shouldRejectRatesFinerThanBasisPoints() {
+        OfferEngineProperties properties = new OfferEngineProperties();
+        properties.setBaseRate(new BigDecimal("24.005"));
+
+        assertThatThrownBy(() -> new LocalOfferEngine(properties)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
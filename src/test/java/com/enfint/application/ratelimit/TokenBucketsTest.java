@@ -0,0 +1,58 @@
+package com.enfint.application.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketsTest {
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final TokenBuckets buckets = new TokenBuckets(2, 3, now::get);
+
+    @Test
+    void shouldAllowBurstThenReportWait() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(buckets.tryAcquire("a")).isZero();
+        }
+
+        assertThat(buckets.tryAcquire("a")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(buckets.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("a");
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertThat(buckets.tryAcquire("a")).isZero();
+        assertThat(buckets.tryAcquire("a")).isPositive();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 3; i++) {
+            assertThat(buckets.tryAcquire("a")).isZero();
+        }
+    }
+
+    @Test
+    void shouldEvictOnlyBucketsIdleLongEnough() {
+        buckets.tryAcquire("a");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        buckets.tryAcquire("b");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertThat(buckets.evictIdle(TimeUnit.SECONDS.toNanos(45))).isEqualTo(1);
+        assertThat(buckets.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNormalizeEmailKey() {
+        assertThat(RateLimiter.normalizeEmail(" Boitumelo+loans@Gmail.com ")).isEqualTo("boitumelo@gmail.com");
+        assertThat(RateLimiter.normalizeEmail("a+b+c@x.io")).isEqualTo("a@x.io");
+        assertThat(RateLimiter.normalizeEmail("plain@x.io")).isEqualTo("plain@x.io");
+        assertThat(RateLimiter.normalizeEmail(" ")).isNull();
+    }
+}
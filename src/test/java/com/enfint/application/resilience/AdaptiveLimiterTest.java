@@ -0,0 +1,79 @@
+package com.enfint.application.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimiterTest {
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private final AdaptiveLimiter limiter = new AdaptiveLimiter(properties());
+
+    @Test
+    void shouldRejectBeyondLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldGrowWhileFastAndBusy() {
+        fill(4);
+        limiter.onSuccess(FAST);
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotGrowWhenLimitIsBarelyUsed() {
+        fill(1);
+        limiter.onSuccess(FAST);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldShrinkOnSlowOrFailedCallsDownToMinimum() {
+        fill(2);
+        limiter.onSuccess(SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        limiter.onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldShrinkOnlyWhenTimedOutCallWasSlow() {
+        fill(4);
+        limiter.onTimedOut(FAST);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        limiter.onTimedOut(SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    private void fill(int calls) {
+        for (int i = 0; i < calls; i++) {
+            limiter.tryAcquire();
+        }
+    }
+
+    private static DealResilienceProperties.Limiter properties() {
+        DealResilienceProperties.Limiter properties = new DealResilienceProperties.Limiter();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(8);
+        properties.setLatencyThreshold(Duration.ofSeconds(1));
+        properties.setBackoffRatio(0.5);
+        return properties;
+    }
+}
@@ -0,0 +1,105 @@
+package com.enfint.application.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(properties(), now::get);
+
+    @Test
+    void shouldOpenOnceFailureRateReachesThreshold() {
+        call(true);
+        call(false);
+        call(true);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(circuitBreaker.remainingOpen()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void shouldForgetOutcomesOutsideWindow() {
+        call(true);
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+        call(true);
+        call(false);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulTrialCalls() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldReopenWhenTrialCallFails() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        call(true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void shouldNotCountReleasedTrialPermit() {
+        openBreaker();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.releasePermission();
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void call(boolean failure) {
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        if (failure) {
+            circuitBreaker.onError();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    private static DealResilienceProperties.CircuitBreaker properties() {
+        DealResilienceProperties.CircuitBreaker properties = new DealResilienceProperties.CircuitBreaker();
+        properties.setFailureRateThreshold(60);
+        properties.setMinimumCalls(4);
+        properties.setWindowSize(5);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenCalls(2);
+        return properties;
+    }
+}
@@ -0,0 +1,142 @@
+package com.enfint.application.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotentCallPolicyTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final DealResilienceProperties.Retry retry = new DealResilienceProperties.Retry();
+    private final DealResilienceProperties.Hedging hedging = new DealResilienceProperties.Hedging();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRetryRetryableFailure() {
+        retry.setInitialBackoff(Duration.ofMillis(1));
+        IdempotentCallPolicy policy = policy();
+
+        String result = policy.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("deal down");
+            }
+            return "offers";
+        }, e -> true);
+
+        assertThat(result).isEqualTo("offers");
+        assertThat(attempts).hasValue(2);
+        assertThat(policy.retries()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRetryNonRetryableFailure() {
+        IdempotentCallPolicy policy = policy();
+
+        assertThatThrownBy(() -> policy.call(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("bad request");
+        }, e -> false)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldStopRetryingWhenBudgetIsExhausted() {
+        retry.setMaxRetries(5);
+        retry.setInitialBackoff(Duration.ofMillis(1));
+        retry.setBudgetMinPerSecond(0);
+        retry.setBudgetRatio(2);
+        IdempotentCallPolicy policy = policy();
+
+        assertThatThrownBy(() -> policy.call(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("deal down");
+        }, e -> true)).isInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(3);
+        assertThat(policy.budgetExhausted()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAnswerWithHedgeWhenFirstAttemptIsSlow() {
+        hedging.setEnabled(true);
+        hedging.setInitialDelay(Duration.ofMillis(20));
+        retry.setBudgetRatio(1);
+        CountDownLatch slow = new CountDownLatch(1);
+        IdempotentCallPolicy policy = policy();
+
+        long start = System.nanoTime();
+        String result = policy.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(slow);
+                return "slow";
+            }
+            return "hedge";
+        }, e -> true);
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        assertThat(policy.hedges()).isEqualTo(1);
+        assertThat(policy.hedgeWins()).isEqualTo(1);
+        slow.countDown();
+    }
+
+    @Test
+    void shouldNotHedgeFastCalls() {
+        hedging.setEnabled(true);
+        retry.setBudgetRatio(1);
+        IdempotentCallPolicy policy = policy();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(policy.call(() -> "offers", e -> true)).isEqualTo("offers");
+        }
+
+        assertThat(policy.hedges()).isZero();
+    }
+
+    @Test
+    void shouldFailOnlyWhenBothAttemptsFail() {
+        hedging.setEnabled(true);
+        hedging.setInitialDelay(Duration.ofMillis(10));
+        retry.setMaxRetries(0);
+        retry.setBudgetRatio(1);
+        IdempotentCallPolicy policy = policy();
+
+        assertThatThrownBy(() -> policy.call(() -> {
+            sleep(50);
+            throw new IllegalStateException("attempt " + attempts.incrementAndGet());
+        }, e -> true)).isInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(2);
+    }
+
+    private IdempotentCallPolicy policy() {
+        return new IdempotentCallPolicy(retry, hedging, new RetryBudget(retry), executor);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
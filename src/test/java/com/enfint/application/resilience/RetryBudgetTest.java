@@ -0,0 +1,66 @@
+package com.enfint.application.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+    private long now;
+    private final RetryBudget budget = new RetryBudget(properties(), () -> now);
+
+    @Test
+    void shouldStartWithASecondOfFixedRate() {
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void shouldAllowRetriesInProportionToCalls() {
+        drain();
+        for (int i = 0; i < 20; i++) {
+            budget.onCall();
+        }
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void shouldRefillSlowlyWithoutTraffic() {
+        drain();
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        now += Duration.ofMillis(500).toNanos();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void shouldCapUnusedBalance() {
+        now += Duration.ofHours(1).toNanos();
+        for (int i = 0; i < 1000; i++) {
+            budget.onCall();
+        }
+        budget.tryWithdraw();
+
+        assertThat(budget.getBalance()).isEqualTo(2);
+    }
+
+    private void drain() {
+        while (budget.tryWithdraw()) {
+            // empty the initial balance
+        }
+    }
+
+    private static DealResilienceProperties.Retry properties() {
+        DealResilienceProperties.Retry properties = new DealResilienceProperties.Retry();
+        properties.setBudgetRatio(0.1);
+        properties.setBudgetMinPerSecond(2);
+        properties.setBudgetMaxBalance(3);
+        return properties;
+    }
+}
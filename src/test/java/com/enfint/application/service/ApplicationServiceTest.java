@@ -1,25 +1,43 @@
 package com.enfint.application.service;
 
+import com.enfint.application.cache.OfferCache;
+import com.enfint.application.cache.OfferCacheProperties;
 import com.enfint.application.dto.LoanApplicationRequestDTO;
 import com.enfint.application.dto.LoanOfferDTO;
+import com.enfint.application.duplicate.DuplicateApplicationIndex;
+import com.enfint.application.duplicate.DuplicateIndexProperties;
+import com.enfint.application.idempotency.IdempotencyProperties;
+import com.enfint.application.idempotency.IdempotencyStore;
+import com.enfint.application.exception.DealServiceUnavailableException;
+import com.enfint.application.exception.DuplicateApplicationException;
 import com.enfint.application.exception.PreScoringFailedException;
 import com.enfint.application.fiegnClient.DealClient;
+import com.enfint.application.fiegnClient.OffloadingDealClient;
+import com.enfint.application.journal.WriteBehindOfferUpdater;
+import com.enfint.application.offer.LocalOfferEngine;
+import com.enfint.application.offer.OfferEngineProperties;
+import com.enfint.application.validation.PreScoringResult;
+import com.enfint.application.validation.PreScoringValidator;
+import com.enfint.application.validation.PreScoringViolation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
-import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,14 +45,18 @@ class ApplicationServiceTest {
 
     @Mock
     private DealClient dealClient;
-    @InjectMocks
+    @Mock
+    private OffloadingDealClient offloadingDealClient;
     private ApplicationService underTest;
     private LoanApplicationRequestDTO loanApplicationRequest;
 
 
     @BeforeEach
     void setUp() {
-        underTest = new ApplicationService(dealClient);
+        underTest = new ApplicationService(dealClient, offloadingDealClient, new PreScoringValidator(),
+                new OfferCache(new OfferCacheProperties()), new DuplicateApplicationIndex(new DuplicateIndexProperties()),
+                new IdempotencyStore(new IdempotencyProperties()),
+                Optional.empty(), Optional.empty(), new SimpleMeterRegistry());
         loanApplicationRequest = LoanApplicationRequestDTO.builder()
                 .amount(BigDecimal.valueOf(10_000))
                 .term(10)
@@ -98,6 +120,114 @@ class ApplicationServiceTest {
         verify(dealClient).getLoanOffers(loanApplicationRequest);
     }
 
+    @Test
+    public void shouldServeRepeatedRequestFromCacheUntilOfferSelected() {
+        LoanOfferDTO offer = LoanOfferDTO.builder().applicationId(7L).term(10).build();
+        when(dealClient.getLoanOffers(any())).thenReturn(List.of(offer));
+
+        underTest.getLoanOfferDTOList(loanApplicationRequest);
+        loanApplicationRequest.setEmail("BoitumeloTshehl@Gmail.com");
+        underTest.getLoanOfferDTOList(loanApplicationRequest);
+        verify(dealClient, times(1)).getLoanOffers(any());
+
+        underTest.selectOffer(offer);
+        underTest.getLoanOfferDTOList(loanApplicationRequest);
+        verify(dealClient, times(2)).getLoanOffers(any());
+    }
+
+    @Test
+    public void shouldServeOffersCachedJustBeforeLeadingFlight() {
+        OfferCache offerCache = mock(OfferCache.class);
+        List<LoanOfferDTO> offers = List.of(LoanOfferDTO.builder().applicationId(7L).build());
+        when(offerCache.get(any())).thenReturn(null, offers);
+        underTest = new ApplicationService(dealClient, offloadingDealClient, new PreScoringValidator(),
+                offerCache, new DuplicateApplicationIndex(new DuplicateIndexProperties()),
+                new IdempotencyStore(new IdempotencyProperties()),
+                Optional.empty(), Optional.empty(), new SimpleMeterRegistry());
+
+        assertThat(underTest.getLoanOfferDTOList(loanApplicationRequest)).isSameAs(offers);
+        verifyNoInteractions(dealClient);
+    }
+
+    @Test
+    public void shouldRejectRepeatedApplicationBeforeCallingDeal() {
+        DuplicateIndexProperties duplicateProperties = new DuplicateIndexProperties();
+        duplicateProperties.setMode(DuplicateIndexProperties.Mode.REJECT);
+        OfferCacheProperties cacheProperties = new OfferCacheProperties();
+        cacheProperties.setEnabled(false);
+        underTest = new ApplicationService(dealClient, offloadingDealClient, new PreScoringValidator(),
+                new OfferCache(cacheProperties), new DuplicateApplicationIndex(duplicateProperties),
+                new IdempotencyStore(new IdempotencyProperties()),
+                Optional.empty(), Optional.empty(), new SimpleMeterRegistry());
+        when(dealClient.getLoanOffers(any())).thenReturn(List.of(LoanOfferDTO.builder().applicationId(7L).build()));
+
+        underTest.getLoanOfferDTOList(loanApplicationRequest);
+
+        assertThatThrownBy(() -> underTest.getLoanOfferDTOList(loanApplicationRequest))
+                .isInstanceOf(DuplicateApplicationException.class);
+        verify(dealClient, times(1)).getLoanOffers(any());
+    }
+
+    @Test
+    public void shouldAcceptRetryAfterDealFailedInRejectMode() {
+        DuplicateIndexProperties duplicateProperties = new DuplicateIndexProperties();
+        duplicateProperties.setMode(DuplicateIndexProperties.Mode.REJECT);
+        underTest = new ApplicationService(dealClient, offloadingDealClient, new PreScoringValidator(),
+                new OfferCache(new OfferCacheProperties()), new DuplicateApplicationIndex(duplicateProperties),
+                new IdempotencyStore(new IdempotencyProperties()),
+                Optional.empty(), Optional.empty(), new SimpleMeterRegistry());
+        when(dealClient.getLoanOffers(any()))
+                .thenThrow(new DealServiceUnavailableException("Deal service circuit is open", Duration.ofSeconds(1)))
+                .thenReturn(List.of(LoanOfferDTO.builder().applicationId(7L).build()));
+
+        assertThatThrownBy(() -> underTest.getLoanOfferDTOList(loanApplicationRequest))
+                .isInstanceOf(DealServiceUnavailableException.class);
+
+        assertThat(underTest.getLoanOfferDTOList(loanApplicationRequest))
+                .extracting(LoanOfferDTO::getApplicationId).containsExactly(7L);
+    }
+
+    @Test
+    public void shouldRejectRepeatedApplicationEvenWithLocalFallback() {
+        DuplicateIndexProperties duplicateProperties = new DuplicateIndexProperties();
+        duplicateProperties.setMode(DuplicateIndexProperties.Mode.REJECT);
+        OfferCacheProperties cacheProperties = new OfferCacheProperties();
+        cacheProperties.setEnabled(false);
+        OfferEngineProperties engineProperties = new OfferEngineProperties();
+        engineProperties.setEnabled(true);
+        engineProperties.setFallback(true);
+        underTest = new ApplicationService(dealClient, offloadingDealClient, new PreScoringValidator(),
+                new OfferCache(cacheProperties), new DuplicateApplicationIndex(duplicateProperties),
+                new IdempotencyStore(new IdempotencyProperties()),
+                Optional.empty(), Optional.of(new LocalOfferEngine(engineProperties)), new SimpleMeterRegistry());
+        when(dealClient.getLoanOffers(any())).thenReturn(List.of(LoanOfferDTO.builder().applicationId(7L).build()));
+
+        underTest.getLoanOfferDTOList(loanApplicationRequest);
+
+        assertThatThrownBy(() -> underTest.getLoanOfferDTOList(loanApplicationRequest))
+                .isInstanceOf(DuplicateApplicationException.class);
+    }
+
+    @Test
+    public void shouldAnswerWithLocalOffersWhenDealIsUnavailable() {
+        OfferEngineProperties engineProperties = new OfferEngineProperties();
+        engineProperties.setEnabled(true);
+        engineProperties.setFallback(true);
+        underTest = new ApplicationService(dealClient, offloadingDealClient, new PreScoringValidator(),
+                new OfferCache(new OfferCacheProperties()), new DuplicateApplicationIndex(new DuplicateIndexProperties()),
+                new IdempotencyStore(new IdempotencyProperties()),
+                Optional.empty(), Optional.of(new LocalOfferEngine(engineProperties)), new SimpleMeterRegistry());
+        when(dealClient.getLoanOffers(any()))
+                .thenThrow(new DealServiceUnavailableException("Deal service circuit is open", Duration.ofSeconds(1)))
+                .thenReturn(List.of(LoanOfferDTO.builder().applicationId(7L).build()));
+
+        List<LoanOfferDTO> fallback = underTest.getLoanOfferDTOList(loanApplicationRequest);
+        List<LoanOfferDTO> fromDeal = underTest.getLoanOfferDTOList(loanApplicationRequest);
+
+        assertThat(fallback).hasSize(4).allSatisfy(offer -> assertThat(offer.getApplicationId()).isNull());
+        assertThat(fromDeal).extracting(LoanOfferDTO::getApplicationId).containsExactly(7L);
+    }
+
     @Test
     public void shouldAcceptWhenLoanOfferIsValid(){
         //Given
@@ -118,6 +248,58 @@ class ApplicationServiceTest {
         verify(dealClient).updateApplication(loanOffer);
     }
 
+    @Test
+    public void shouldLeaveDealUpdateToJournalInWriteBehindMode() {
+        WriteBehindOfferUpdater writeBehind = mock(WriteBehindOfferUpdater.class);
+        underTest = new ApplicationService(dealClient, offloadingDealClient, new PreScoringValidator(),
+                new OfferCache(new OfferCacheProperties()), new DuplicateApplicationIndex(new DuplicateIndexProperties()),
+                new IdempotencyStore(new IdempotencyProperties()),
+                Optional.of(writeBehind), Optional.empty(), new SimpleMeterRegistry());
+        LoanOfferDTO loanOffer = LoanOfferDTO.builder().applicationId(1L).term(10).build();
+        when(writeBehind.submit(loanOffer)).thenReturn(true, false);
+
+        underTest.selectOffer(loanOffer);
+        verifyNoInteractions(dealClient);
+
+        underTest.selectOffer(loanOffer);
+        verify(dealClient).updateApplication(loanOffer);
+    }
+
+    @Test
+    public void shouldCollectEveryViolationWithoutThrowing() {
+        loanApplicationRequest.setAmount(BigDecimal.valueOf(100));
+        loanApplicationRequest.setEmail("@example.com");
+        loanApplicationRequest.setPassportSeries(null);
+
+        PreScoringResult result = underTest.preScore(loanApplicationRequest, new PreScoringResult());
+
+        assertThat(result.isAccepted()).isFalse();
+        assertThat(result.getViolations()).extracting(PreScoringViolation::getField)
+                .containsExactly("amount", "email", "passportSeries");
+        verifyNoInteractions(dealClient);
+    }
+
+    @Test
+    public void shouldReuseResultBetweenRequests() {
+        PreScoringResult result = new PreScoringResult();
+        loanApplicationRequest.setTerm(1);
+        underTest.preScore(loanApplicationRequest, result);
+        assertThat(result.size()).isEqualTo(1);
+
+        loanApplicationRequest.setTerm(10);
+        assertThat(underTest.preScore(loanApplicationRequest, result).isAccepted()).isTrue();
+    }
+
+    @Test
+    public void shouldKeepEarlierResultWhenPreScoringAgain() {
+        loanApplicationRequest.setTerm(1);
+        PreScoringResult rejected = underTest.preScore(loanApplicationRequest);
+
+        loanApplicationRequest.setTerm(10);
+        assertThat(underTest.preScore(loanApplicationRequest).isAccepted()).isTrue();
+        assertThat(rejected.size()).isEqualTo(1);
+    }
+
     @ParameterizedTest
     @ValueSource(doubles = {Double.MIN_VALUE, 0.00, -10_000, 5_000, 9_999, 100})
     public void shouldThrewARefusalExceptionWhenAmountIsNullOrInvalid(double amount) {
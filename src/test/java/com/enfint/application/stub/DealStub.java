@@ -0,0 +1,202 @@
+package com.enfint.application.stub;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the deal service serving {@code POST /deal/application} and {@code PUT /deal/offer}.
+ */
+public class DealStub implements AutoCloseable {
+    private static final String OFFERS = """
+            [{"applicationId":%1$d,"requestedAmount":10000,"totalAmount":11132.70,"term":10,"monthlyPayment":1113.27,"rate":24,"isInsuranceEnabled":false,"isSalaryClient":false},
+             {"applicationId":%1$d,"requestedAmount":10000,"totalAmount":10747.90,"term":10,"monthlyPayment":1074.79,"rate":16,"isInsuranceEnabled":false,"isSalaryClient":true},
+             {"applicationId":%1$d,"requestedAmount":10000,"totalAmount":10652.90,"term":10,"monthlyPayment":1065.29,"rate":14,"isInsuranceEnabled":true,"isSalaryClient":false},
+             {"applicationId":%1$d,"requestedAmount":10000,"totalAmount":10277.10,"term":10,"monthlyPayment":1027.71,"rate":6,"isInsuranceEnabled":true,"isSalaryClient":true}]""";
+
+    private static final String CBOR = "application/cbor";
+    private static final double Z_99 = 2.3263478740408408;
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private static final ObjectMapper CBOR_MAPPER = new CBORMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong applicationIds = new AtomicLong();
+    private final AtomicInteger offerRequests = new AtomicInteger();
+    private final AtomicInteger updateRequests = new AtomicInteger();
+    private volatile Latency latency = new Latency(0, 0);
+    private volatile double errorRate;
+    private volatile boolean cbor;
+    private volatile String lastContentType;
+
+    private DealStub(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static DealStub start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+            // Platform threads on purpose: the real deal service never shares carrier threads with us.
+            ExecutorService executor = Executors.newCachedThreadPool();
+            DealStub stub = new DealStub(server, executor);
+            server.createContext("/deal/application", stub::handleApplication);
+            server.createContext("/deal/offer", stub::handleOffer);
+            server.setExecutor(executor);
+            server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start deal stub", e);
+        }
+    }
+
+    public DealStub latency(Duration latency) {
+        return latency(latency, latency);
+    }
+
+    /**
+     * Log-normal latency with the given median and 99th percentile, the usual shape of a service's response times.
+     */
+    public DealStub latency(Duration median, Duration p99) {
+        if (p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("p99 " + p99 + " is below median " + median);
+        }
+        double sigma = median.isZero() ? 0 : Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+        this.latency = new Latency(median.toNanos(), sigma);
+        return this;
+    }
+
+    /**
+     * Fraction of calls answered with {@code 500}; {@code 1.0} fails every call.
+     */
+    public DealStub errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Accept CBOR request bodies and answer in CBOR when asked to; otherwise CBOR bodies get {@code 415}.
+     */
+    public DealStub cbor(boolean cbor) {
+        this.cbor = cbor;
+        return this;
+    }
+
+    public String lastContentType() {
+        return lastContentType;
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/deal";
+    }
+
+    public int offerRequests() {
+        return offerRequests.get();
+    }
+
+    public int updateRequests() {
+        return updateRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleApplication(HttpExchange exchange) throws IOException {
+        offerRequests.incrementAndGet();
+        drain(exchange);
+        pause();
+        if (fail(exchange) || rejectUnsupported(exchange)) {
+            return;
+        }
+        String json = String.format(OFFERS, applicationIds.incrementAndGet());
+        byte[] body;
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        if (cbor && accept != null && accept.contains(CBOR)) {
+            body = CBOR_MAPPER.writeValueAsBytes(JSON_MAPPER.readTree(json));
+            exchange.getResponseHeaders().add("Content-Type", CBOR);
+        } else {
+            body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private void handleOffer(HttpExchange exchange) throws IOException {
+        updateRequests.incrementAndGet();
+        drain(exchange);
+        pause();
+        if (fail(exchange) || rejectUnsupported(exchange)) {
+            return;
+        }
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+    }
+
+    private boolean rejectUnsupported(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        lastContentType = contentType;
+        if (cbor || contentType == null || !contentType.startsWith(CBOR)) {
+            return false;
+        }
+        exchange.sendResponseHeaders(415, -1);
+        exchange.close();
+        return true;
+    }
+
+    private boolean fail(HttpExchange exchange) throws IOException {
+        double rate = errorRate;
+        if (rate <= 0 || ThreadLocalRandom.current().nextDouble() >= rate) {
+            return false;
+        }
+        exchange.sendResponseHeaders(500, -1);
+        exchange.close();
+        return true;
+    }
+
+    private void pause() {
+        long nanos = latency.sample();
+        if (nanos > 0) {
+            try {
+                Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void drain(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private record Latency(long medianNanos, double sigma) {
+        long sample() {
+            if (sigma == 0) {
+                return medianNanos;
+            }
+            return (long) (medianNanos * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+        }
+    }
+}
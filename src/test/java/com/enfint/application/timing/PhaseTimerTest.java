@@ -0,0 +1,78 @@
+package com.enfint.application.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhaseTimerTest {
+
+    @AfterEach
+    void unbind() {
+        PhaseTimer.unbind();
+    }
+
+    @Test
+    void shouldRecordNothingOutsideOfTimedRequest() {
+        PhaseTimer timer = PhaseTimer.current();
+
+        PhaseTimer.time(RequestPhase.DEAL, () -> sleep(2));
+
+        assertThat(timer.isActive()).isFalse();
+        assertThat(timer.start()).isZero();
+        assertThat(timer.nanos(RequestPhase.DEAL)).isZero();
+        assertThat(timer.takeServerTiming()).isNull();
+    }
+
+    @Test
+    void shouldAccumulatePhasesEnteredMoreThanOnce() {
+        PhaseTimer timer = PhaseTimer.start(true);
+        PhaseTimer.bind(timer);
+
+        PhaseTimer.time(RequestPhase.DEAL, () -> sleep(2));
+        long once = timer.nanos(RequestPhase.DEAL);
+        PhaseTimer.time(RequestPhase.DEAL, () -> sleep(2));
+
+        assertThat(once).isGreaterThanOrEqualTo(2_000_000);
+        assertThat(timer.nanos(RequestPhase.DEAL)).isGreaterThanOrEqualTo(once + 2_000_000);
+    }
+
+    @Test
+    void shouldStopAsyncPhaseWhenFutureCompletes() {
+        PhaseTimer timer = PhaseTimer.start(true);
+        PhaseTimer.bind(timer);
+        CompletableFuture<String> deal = new CompletableFuture<>();
+
+        CompletableFuture<String> timed = PhaseTimer.timeAsync(RequestPhase.DEAL, () -> deal);
+        assertThat(timer.nanos(RequestPhase.DEAL)).isZero();
+        sleep(2);
+        CompletableFuture.runAsync(() -> deal.complete("offers")).join();
+
+        assertThat(timed.join()).isEqualTo("offers");
+        assertThat(timer.nanos(RequestPhase.DEAL)).isGreaterThanOrEqualTo(2_000_000);
+    }
+
+    @Test
+    void shouldFormatServerTimingInMillisecondsOnce() {
+        PhaseTimer timer = PhaseTimer.start(true);
+        timer.stop(RequestPhase.BINDING, timer.start() - 250_000);
+        timer.stop(RequestPhase.DEAL, timer.start() - 12_005_000);
+
+        String header = timer.serverTiming(timer.start() + 1);
+
+        assertThat(header).matches("bind;dur=0\\.25\\d, deal;dur=12\\.0\\d\\d, total;dur=\\d+\\.\\d{3}");
+        assertThat(timer.takeServerTiming()).isNotNull();
+        assertThat(timer.takeServerTiming()).isNull();
+        assertThat(PhaseTimer.start(false).takeServerTiming()).isNull();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.enfint.application.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldMatchersTest {
+
+    private static final String ALPHABET = "aZq09_.@#-éあ \t";
+
+    private final FieldMatchers.Shape name = FieldMatchers.shape("[a-zA-Z]{2,30}");
+    private final FieldMatchers.Shape email = FieldMatchers.shape("[\\w\\.]{2,50}@[\\w\\.]{2,20}");
+    private final FieldMatchers.Shape passportSeries = FieldMatchers.shape("\\d{4}");
+    private final FieldMatchers.Shape passportNumber = FieldMatchers.shape("\\d{6}");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "ab", "Boitumelo", "562", "jam#nmc", "hye1", "官话/官話", "Guānhuà",
+            "abcdefghijklmnopqrstuvwxyzabcd", "abcdefghijklmnopqrstuvwxyzabcde", "ab cd", "ab\n"})
+    void shouldMatchNameLikeRegex(String value) {
+        assertThat(name.matches(value)).isEqualTo(Pattern.matches("[a-zA-Z]{2,30}", value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "boitumelotshehla@gmail.com", "#@%^%#$@#$@#.com", "@example.com",
+            "あいうえお@example.com", "a@bc", "ab@c", "ab@cd", "ab@@cd", "ab@cd@ef", "a_b.c@d_e.f",
+            "ab@abcdefghijklmnopqrst", "ab@abcdefghijklmnopqrstu", "user name@mail.com", "ab@cd\n"})
+    void shouldMatchEmailLikeRegex(String value) {
+        assertThat(email.matches(value)).isEqualTo(Pattern.matches("[\\w\\.]{2,50}@[\\w\\.]{2,20}", value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "12", "4265", "twy32", "123456", "tr%$#", "١٢٣٤", "12 4", "698534", "1234567"})
+    void shouldMatchPassportLikeRegex(String value) {
+        assertThat(passportSeries.matches(value)).isEqualTo(Pattern.matches("\\d{4}", value));
+        assertThat(passportNumber.matches(value)).isEqualTo(Pattern.matches("\\d{6}", value));
+    }
+
+    @Test
+    void shouldAgreeWithRegexOnRandomInput() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            String value = randomString(random, random.nextInt(80));
+            assertThat(name.matches(value)).as(value).isEqualTo(Pattern.matches("[a-zA-Z]{2,30}", value));
+            assertThat(email.matches(value)).as(value).isEqualTo(Pattern.matches("[\\w\\.]{2,50}@[\\w\\.]{2,20}", value));
+            assertThat(passportSeries.matches(value)).as(value).isEqualTo(Pattern.matches("\\d{4}", value));
+            assertThat(passportNumber.matches(value)).as(value).isEqualTo(Pattern.matches("\\d{6}", value));
+        }
+    }
+
+    @Test
+    void shouldRejectNull() {
+        assertThat(name.matches(null)).isFalse();
+        assertThat(email.matches(null)).isFalse();
+        assertThat(passportSeries.matches(null)).isFalse();
+        assertThat(FieldMatchers.pattern("\\d+").matches(null)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[a-zA-Z]{2,30}", "[a-zA-Z]{3}", "\\d{4}", "[\\w\\.]{2,50}@[\\w\\.]{2,20}", "[A-Z]{2}\\d{6}"})
+    void shouldCompileConfiguredRegexToEquivalentMatcher(String regex) {
+        FieldMatchers.Shape shape = FieldMatchers.shape(regex);
+        FieldMatcher matcher = shape != null ? shape::matches : FieldMatchers.pattern(regex);
+        Random random = new Random(regex.hashCode());
+        for (int i = 0; i < 5_000; i++) {
+            String value = randomString(random, random.nextInt(12));
+            assertThat(matcher.matches(value)).as(value).isEqualTo(Pattern.matches(regex, value));
+        }
+        assertThat(shape != null).isEqualTo(!regex.startsWith("[A-Z]"));
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,142 @@
+package com.enfint.application.validation;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * The standard pre-scoring rules written out by hand, as they were before rule sets were configurable. Reference
+ * for {@link PreScoringRuleSets#standard()} in tests and baseline for the pre-scoring benchmarks.
+ */
+public class HardCodedPreScoringRules {
+    private static final BigDecimal MIN_AMOUNT = BigDecimal.valueOf(10_000);
+
+    private static final PreScoringViolation AMOUNT_NULL =
+            new PreScoringViolation("amount", "Pre-scoring failed amount is null");
+    private static final PreScoringViolation AMOUNT_TOO_LOW =
+            new PreScoringViolation("amount", "Pre-scoring failed amount is less than 10,000.00");
+    private static final PreScoringViolation BIRTHDATE_NULL =
+            new PreScoringViolation("birthdate", "Pre-scoring failed age is null");
+    private static final PreScoringViolation UNDERAGE =
+            new PreScoringViolation("birthdate", "Pre-scoring failed client younger than 18");
+    private static final PreScoringViolation FIRST_NAME_NULL =
+            new PreScoringViolation("firstName", "Pre-scoring failed name is null");
+    private static final PreScoringViolation FIRST_NAME_INVALID =
+            new PreScoringViolation("firstName", "Pre-scoring failed name is not valid");
+    private static final PreScoringViolation LAST_NAME_NULL =
+            new PreScoringViolation("lastName", "Pre-scoring failed name is null");
+    private static final PreScoringViolation LAST_NAME_INVALID =
+            new PreScoringViolation("lastName", "Pre-scoring failed name is not valid");
+    private static final PreScoringViolation MIDDLE_NAME_INVALID =
+            new PreScoringViolation("middleName", "Pre-scoring failed name is not valid");
+    private static final PreScoringViolation EMAIL_EMPTY =
+            new PreScoringViolation("email", "Pre-scoring failed email is empty");
+    private static final PreScoringViolation EMAIL_INVALID =
+            new PreScoringViolation("email", "Pre-scoring failed email is invalid");
+    private static final PreScoringViolation TERM_NULL =
+            new PreScoringViolation("term", "Pre-scoring failed term is null");
+    private static final PreScoringViolation TERM_TOO_SHORT =
+            new PreScoringViolation("term", "Pre-scoring failed term is less than 6 months");
+    private static final PreScoringViolation PASSPORT_NUMBER_NULL =
+            new PreScoringViolation("passportNumber", "Pre-scoring failed passport number is null");
+    private static final PreScoringViolation PASSPORT_NUMBER_INVALID =
+            new PreScoringViolation("passportNumber", "Pre-scoring failed passport number is invalid");
+    private static final PreScoringViolation PASSPORT_SERIES_NULL =
+            new PreScoringViolation("passportSeries", "Pre-scoring failed passport series is null");
+    private static final PreScoringViolation PASSPORT_SERIES_INVALID =
+            new PreScoringViolation("passportSeries", "Pre-scoring failed invalid passport series");
+
+    private final FieldMatchers.Shape name = FieldMatchers.shape("[a-zA-Z]{2,30}");
+    private final FieldMatchers.Shape email = FieldMatchers.shape("[\\w\\.]{2,50}@[\\w\\.]{2,20}");
+    private final FieldMatchers.Shape passportSeries = FieldMatchers.shape("\\d{4}");
+    private final FieldMatchers.Shape passportNumber = FieldMatchers.shape("\\d{6}");
+
+    /**
+     * Runs every rule in the order of {@link PreScoringRuleSets#standard()}.
+     */
+    public PreScoringResult validate(LoanApplicationRequestDTO request, PreScoringResult result) {
+        validateAmount(request.getAmount(), result);
+        validateAge(request.getBirthdate(), result);
+        validateFirstName(request.getFirstName(), result);
+        validateLastName(request.getLastName(), result);
+        blankMiddleNameCheck(request.getMiddleName(), result);
+        validateEmail(request.getEmail(), result);
+        validateLoanTerm(request.getTerm(), result);
+        passportNumberValidation(request.getPassportNumber(), result);
+        validatePassportSeries(request.getPassportSeries(), result);
+        return result;
+    }
+
+    public boolean validateFirstName(String value, PreScoringResult result) {
+        return validateName(value, FIRST_NAME_NULL, FIRST_NAME_INVALID, result);
+    }
+
+    public boolean validateLastName(String value, PreScoringResult result) {
+        return validateName(value, LAST_NAME_NULL, LAST_NAME_INVALID, result);
+    }
+
+    public boolean blankMiddleNameCheck(String value, PreScoringResult result) {
+        if (!StringUtils.hasLength(value)) {
+            return true;
+        }
+        return validateName(value, MIDDLE_NAME_INVALID, MIDDLE_NAME_INVALID, result);
+    }
+
+    public boolean validateEmail(String value, PreScoringResult result) {
+        if (!StringUtils.hasLength(value)) {
+            return reject(EMAIL_EMPTY, result);
+        }
+        return email.matches(value) || reject(EMAIL_INVALID, result);
+    }
+
+    public boolean validateLoanTerm(Integer term, PreScoringResult result) {
+        if (term == null) {
+            return reject(TERM_NULL, result);
+        }
+        return term > 6 || reject(TERM_TOO_SHORT, result);
+    }
+
+    public boolean validatePassportSeries(String value, PreScoringResult result) {
+        if (!StringUtils.hasLength(value)) {
+            return reject(PASSPORT_SERIES_NULL, result);
+        }
+        return passportSeries.matches(value) || reject(PASSPORT_SERIES_INVALID, result);
+    }
+
+    public boolean passportNumberValidation(String value, PreScoringResult result) {
+        if (!StringUtils.hasLength(value)) {
+            return reject(PASSPORT_NUMBER_NULL, result);
+        }
+        return passportNumber.matches(value) || reject(PASSPORT_NUMBER_INVALID, result);
+    }
+
+    public boolean validateAge(LocalDate dob, PreScoringResult result) {
+        if (dob == null) {
+            return reject(BIRTHDATE_NULL, result);
+        }
+        return Period.between(dob, LocalDate.now()).getYears() >= 18 || reject(UNDERAGE, result);
+    }
+
+    public boolean validateAmount(BigDecimal amount, PreScoringResult result) {
+        if (amount == null) {
+            return reject(AMOUNT_NULL, result);
+        }
+        return amount.compareTo(MIN_AMOUNT) >= 0 || reject(AMOUNT_TOO_LOW, result);
+    }
+
+    private boolean validateName(String value, PreScoringViolation ifEmpty, PreScoringViolation ifInvalid,
+                                 PreScoringResult result) {
+        if (!StringUtils.hasLength(value)) {
+            return reject(ifEmpty, result);
+        }
+        return name.matches(value) || reject(ifInvalid, result);
+    }
+
+    private static boolean reject(PreScoringViolation violation, PreScoringResult result) {
+        result.reject(violation);
+        return false;
+    }
+}
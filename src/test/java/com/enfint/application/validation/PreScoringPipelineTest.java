@@ -0,0 +1,138 @@
+package com.enfint.application.validation;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import com.enfint.application.validation.PreScoringProperties.Check;
+import com.enfint.application.validation.PreScoringProperties.Mode;
+import com.enfint.application.validation.PreScoringProperties.Rule;
+import com.enfint.application.validation.PreScoringProperties.RuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PreScoringPipelineTest {
+    private final HardCodedPreScoringRules hardCodedRules = new HardCodedPreScoringRules();
+
+    @Test
+    void shouldMatchHardCodedRulesForStandardRuleSet() {
+        PreScoringPipeline pipeline = PreScoringPipeline.compile("standard", PreScoringRuleSets.standard());
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            LoanApplicationRequestDTO request = randomRequest(random);
+            PreScoringResult compiled = new PreScoringResult();
+            pipeline.validate(request, compiled, PreScoringObserver.NONE);
+
+            assertThat(compiled.getViolations()).as(request.toString()).isEqualTo(hardCoded(request));
+        }
+    }
+
+    @Test
+    void shouldStopAtFirstViolationAndMoveSelectiveRulesFirst() {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setMode(Mode.FAIL_FAST);
+        ruleSet.setRules(List.of(
+                rule(PreScoringField.AMOUNT, Check.MIN, "10000", null),
+                rule(PreScoringField.PASSPORT_SERIES, Check.MATCHES, null, "\\d{4}"),
+                rule(PreScoringField.EMAIL, Check.MATCHES, null, "[a-z]+@bank\\.com")));
+        PreScoringPipeline pipeline = PreScoringPipeline.compile("partner", ruleSet);
+        assertThat(pipeline.order()).containsExactly("amount", "passportSeries", "email");
+
+        LoanApplicationRequestDTO request = LoanApplicationRequestDTO.builder()
+                .amount(BigDecimal.valueOf(20_000))
+                .passportSeries("4265")
+                .email("client@gmail.com")
+                .build();
+        PreScoringResult result = new PreScoringResult();
+        for (int i = 0; i < 2_000; i++) {
+            pipeline.validate(request, result.clear(), PreScoringObserver.NONE);
+        }
+        pipeline.reorder();
+
+        assertThat(pipeline.order()).containsExactly("email", "amount", "passportSeries");
+        request.setAmount(BigDecimal.ONE);
+        pipeline.validate(request, result.clear(), PreScoringObserver.NONE);
+        assertThat(result.getViolations()).extracting(PreScoringViolation::getField).containsExactly("email");
+    }
+
+    @Test
+    void shouldRoundIntegerBoundsExactly() {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setRules(List.of(rule(PreScoringField.TERM, Check.MIN, "6.5", null),
+                rule(PreScoringField.TERM, Check.MAX, "60", null)));
+        PreScoringPipeline pipeline = PreScoringPipeline.compile("term", ruleSet);
+        PreScoringResult result = new PreScoringResult();
+
+        for (int term : new int[]{6, 7, 60, 61}) {
+            pipeline.validate(LoanApplicationRequestDTO.builder().term(term).build(), result.clear(),
+                    PreScoringObserver.NONE);
+            assertThat(result.isAccepted()).as("term %d", term).isEqualTo(term == 7 || term == 60);
+        }
+    }
+
+    @Test
+    void shouldCheckAgeLikePeriodBetween() {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setRules(List.of(rule(PreScoringField.BIRTHDATE, Check.MIN_AGE, "18", null)));
+        PreScoringPipeline pipeline = PreScoringPipeline.compile("age", ruleSet);
+        PreScoringResult result = new PreScoringResult();
+        LocalDate today = LocalDate.now();
+
+        for (LocalDate birthdate = today.minusYears(19); birthdate.isBefore(today.minusYears(17));
+             birthdate = birthdate.plusDays(1)) {
+            pipeline.validate(LoanApplicationRequestDTO.builder().birthdate(birthdate).build(), result.clear(),
+                    PreScoringObserver.NONE);
+            assertThat(result.isAccepted()).as(birthdate.toString())
+                    .isEqualTo(Period.between(birthdate, today).getYears() >= 18);
+        }
+    }
+
+    @Test
+    void shouldRejectRulesThatDoNotFitTheirField() {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setRules(List.of(rule(PreScoringField.AMOUNT, Check.MATCHES, null, "\\d+")));
+        assertThatThrownBy(() -> PreScoringPipeline.compile("broken", ruleSet))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Pre-scoring rule set broken, rule 0: MATCHES does not apply to amount");
+
+        ruleSet.setRules(List.of(rule(PreScoringField.EMAIL, Check.MATCHES, null, "[a-z")));
+        assertThatThrownBy(() -> PreScoringPipeline.compile("broken", ruleSet))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        ruleSet.setRules(List.of(rule(PreScoringField.TERM, Check.MIN, null, null)));
+        assertThatThrownBy(() -> PreScoringPipeline.compile("broken", ruleSet))
+                .hasMessageEndingWith("value is required for MIN");
+    }
+
+    private List<PreScoringViolation> hardCoded(LoanApplicationRequestDTO request) {
+        return hardCodedRules.validate(request, new PreScoringResult()).getViolations();
+    }
+
+    private static LoanApplicationRequestDTO randomRequest(Random random) {
+        return LoanApplicationRequestDTO.builder()
+                .amount(pick(random, null, BigDecimal.valueOf(9_999.99), BigDecimal.valueOf(10_000)))
+                .term(pick(random, null, 6, 7))
+                .birthdate(pick(random, null, LocalDate.now().minusYears(18), LocalDate.now().minusYears(18).plusDays(1)))
+                .firstName(pick(random, null, "", "B", "Boitumelo", "Bo1"))
+                .lastName(pick(random, null, "", "Tshehla", "T-shehla"))
+                .middleName(pick(random, null, "", "K", "Karabo"))
+                .email(pick(random, null, "", "boitumelotshehla@gmail.com", "a@b.com", "user name@mail.com"))
+                .passportSeries(pick(random, null, "", "4265", "426"))
+                .passportNumber(pick(random, null, "", "698534", "69853a"))
+                .build();
+    }
+
+    @SafeVarargs
+    private static <T> T pick(Random random, T... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static Rule rule(PreScoringField field, Check check, String value, String regex) {
+        return new Rule(field, check, value == null ? null : new BigDecimal(value), regex, true, null, null);
+    }
+}
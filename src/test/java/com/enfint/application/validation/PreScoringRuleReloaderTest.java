@@ -0,0 +1,117 @@
+package com.enfint.application.validation;
+
+import com.enfint.application.dto.LoanApplicationRequestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreScoringRuleReloaderTest {
+    private final Map<String, Object> properties = new HashMap<>();
+    private final StandardEnvironment environment = new StandardEnvironment();
+    private final PreScoringValidator validator = new PreScoringValidator();
+    private final PreScoringRuleReloader reloader = new PreScoringRuleReloader(environment, validator);
+
+    PreScoringRuleReloaderTest() {
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+    }
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldSwapInReloadedRuleSet() {
+        LoanApplicationRequestDTO request = request(BigDecimal.valueOf(15_000));
+        assertThat(validator.validate(request, new PreScoringResult()).isAccepted()).isTrue();
+
+        properties.put("application.prescoring.default-rule-set", "strict");
+        properties.put("application.prescoring.rule-sets.strict.mode", "fail-fast");
+        properties.put("application.prescoring.rule-sets.strict.rules[0].field", "amount");
+        properties.put("application.prescoring.rule-sets.strict.rules[0].check", "min");
+        properties.put("application.prescoring.rule-sets.strict.rules[0].value", "20000");
+        properties.put("application.prescoring.rule-sets.strict.rules[0].message", "Pre-scoring failed amount is less than 20,000.00");
+        reload();
+
+        assertThat(validator.validate(request, new PreScoringResult()).getViolations())
+                .containsExactly(new PreScoringViolation("amount", "Pre-scoring failed amount is less than 20,000.00"));
+    }
+
+    @Test
+    void shouldKeepCurrentRuleSetsWhenReloadIsInvalid() {
+        properties.put("application.prescoring.rule-sets.strict.rules[0].field", "email");
+        properties.put("application.prescoring.rule-sets.strict.rules[0].check", "min");
+        properties.put("application.prescoring.rule-sets.strict.rules[0].value", "1");
+        reload();
+        properties.put("application.prescoring.rule-sets.strict.rules[0].check", "matches");
+        properties.put("application.prescoring.rule-sets.strict.rules[0].regex", "[a-z]+@bank\\.com");
+        properties.put("application.prescoring.default-rule-set", "missing");
+        reload();
+
+        assertThat(validator.pipeline("strict")).isNull();
+        assertThat(validator.validate(request(BigDecimal.valueOf(15_000)), new PreScoringResult()).isAccepted())
+                .isTrue();
+    }
+
+    @Test
+    void shouldSelectRuleSetByChannelHeader() {
+        properties.put("application.prescoring.channel-header", "X-Channel");
+        properties.put("application.prescoring.rule-sets.partner.rules[0].field", "amount");
+        properties.put("application.prescoring.rule-sets.partner.rules[0].check", "min");
+        properties.put("application.prescoring.rule-sets.partner.rules[0].value", "20000");
+        reload();
+        LoanApplicationRequestDTO request = request(BigDecimal.valueOf(15_000));
+
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        servletRequest.addHeader("X-Channel", "partner");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+        assertThat(validator.validate(request, new PreScoringResult()).getViolations())
+                .extracting(PreScoringViolation::getField).containsExactly("amount");
+
+        servletRequest.removeHeader("X-Channel");
+        assertThat(validator.validate(request, new PreScoringResult()).isAccepted()).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreChannelHeaderUnlessConfigured() {
+        properties.put("application.prescoring.rule-sets.lenient.rules[0].field", "amount");
+        properties.put("application.prescoring.rule-sets.lenient.rules[0].check", "min");
+        properties.put("application.prescoring.rule-sets.lenient.rules[0].value", "1");
+        reload();
+
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        servletRequest.addHeader("X-Channel", "lenient");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+        assertThat(validator.validate(request(BigDecimal.valueOf(5_000)), new PreScoringResult()).getViolations())
+                .extracting(PreScoringViolation::getField).containsExactly("amount");
+    }
+
+    private void reload() {
+        reloader.onEnvironmentChange(new EnvironmentChangeEvent(properties.keySet()));
+    }
+
+    private static LoanApplicationRequestDTO request(BigDecimal amount) {
+        return LoanApplicationRequestDTO.builder()
+                .amount(amount)
+                .term(10)
+                .firstName("Boitumelo")
+                .lastName("Tshehla")
+                .email("boitumelotshehla@gmail.com")
+                .birthdate(LocalDate.of(1999, 1, 21))
+                .passportSeries("4265")
+                .passportNumber("698534")
+                .build();
+    }
+}